@@ -9,19 +9,20 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import org.eclipse.microprofile.jwt.JsonWebToken;
 import io.quarkus.security.Authenticated;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 
 @Path("/api/auth")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
+@RunOnVirtualThread
 public class AuthResource {
 
     @Inject
     AuthService authService;
 
     @Inject
-    JsonWebToken jwt;
+    CurrentUser currentUser;
 
     @Inject
     UserRepository userRepository;
@@ -44,7 +45,7 @@ public class AuthResource {
     @Path("/me")
     @Authenticated
     public Response me() {
-        Long userId = Long.parseLong(jwt.getSubject());
+        Long userId = currentUser.id();
         User user = userRepository.findById(userId);
         if (user == null) {
             return Response.status(Response.Status.UNAUTHORIZED).build();
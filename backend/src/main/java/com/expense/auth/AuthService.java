@@ -5,33 +5,34 @@ import com.expense.common.ValidationException;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
-import org.wildfly.security.password.PasswordFactory;
-import org.wildfly.security.password.interfaces.BCryptPassword;
-import org.wildfly.security.password.util.ModularCrypt;
-import org.wildfly.security.password.Password;
-import org.wildfly.security.password.spec.EncryptablePasswordSpec;
-import org.wildfly.security.password.spec.ClearPasswordSpec;
-import java.security.spec.InvalidKeySpecException;
-import java.security.NoSuchAlgorithmException;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import org.jboss.logging.Logger;
 
 @ApplicationScoped
 public class AuthService {
 
+    private static final Logger LOG = Logger.getLogger(AuthService.class);
+
     @Inject
     UserRepository userRepository;
 
+    @Inject
+    PasswordHasher passwordHasher;
+
     @Inject
     JwtService jwtService;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
+        // Hashed before the first query, so no pooled connection is held while waiting for the hasher
+        String passwordHash = passwordHasher.hash(request.password);
         if (userRepository.findByEmail(request.email).isPresent()) {
             throw new ConflictException("An account with this email already exists");
         }
 
         User user = new User();
         user.email = request.email;
-        user.passwordHash = hashPassword(request.password);
+        user.passwordHash = passwordHash;
         user.name = request.name;
         userRepository.persist(user);
 
@@ -43,32 +44,28 @@ public class AuthService {
         User user = userRepository.findByEmail(request.email)
                 .orElseThrow(() -> new ValidationException("Invalid email or password"));
 
-        if (!verifyPassword(request.password, user.passwordHash)) {
+        if (!passwordHasher.verify(request.password, user.passwordHash)) {
             throw new ValidationException("Invalid email or password");
         }
+        if (passwordHasher.needsRehash(user.passwordHash)) {
+            rehashLater(user.id, request.password);
+        }
 
         String token = jwtService.generateToken(user);
         return new AuthResponse(token, user);
     }
 
-    private String hashPassword(String password) {
-        try {
-            PasswordFactory factory = PasswordFactory.getInstance(BCryptPassword.ALGORITHM_BCRYPT);
-            BCryptPassword bcrypt = (BCryptPassword) factory.generatePassword(
-                    new EncryptablePasswordSpec(password.toCharArray(), null));
-            return ModularCrypt.encodeAsString(bcrypt);
-        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
-            throw new RuntimeException("Error hashing password", e);
-        }
-    }
-
-    private boolean verifyPassword(String plainPassword, String hashedPassword) {
-        try {
-            PasswordFactory factory = PasswordFactory.getInstance(BCryptPassword.ALGORITHM_BCRYPT);
-            Password decoded = factory.translate(ModularCrypt.decode(hashedPassword));
-            return factory.verify(decoded, plainPassword.toCharArray());
-        } catch (Exception e) {
-            return false;
+    /**
+     * Stores the password again with the configured cost once a hashing thread
+     * is free; the login does not wait for it. Skipped when the hasher's queue
+     * is full, so a cost change never sheds or slows a login; it is retried on
+     * the user's next login.
+     */
+    private void rehashLater(Long userId, String password) {
+        boolean queued = passwordHasher.hashLater(password, hash -> QuarkusTransaction.requiringNew()
+                .run(() -> userRepository.update("passwordHash = ?1 where id = ?2", hash, userId)));
+        if (!queued) {
+            LOG.debugf("Skipped rehashing the password of user %d: hasher is saturated", userId);
         }
     }
 }
@@ -0,0 +1,35 @@
+package com.expense.auth;
+
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+
+/**
+ * The authenticated caller of the current request. The id comes from the
+ * verified JWT subject and is parsed once per request.
+ */
+@RequestScoped
+public class CurrentUser {
+
+    @Inject
+    JsonWebToken jwt;
+
+    @Inject
+    UserRepository userRepository;
+
+    private Long id;
+
+    public Long id() {
+        if (id == null) {
+            id = Long.parseLong(jwt.getSubject());
+        }
+        return id;
+    }
+
+    /**
+     * An uninitialized reference for associating new rows with the caller; no SELECT.
+     */
+    public User reference() {
+        return userRepository.reference(id());
+    }
+}
@@ -0,0 +1,177 @@
+package com.expense.auth;
+
+import com.expense.common.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.wildfly.security.password.Password;
+import org.wildfly.security.password.PasswordFactory;
+import org.wildfly.security.password.interfaces.BCryptPassword;
+import org.wildfly.security.password.spec.EncryptablePasswordSpec;
+import org.wildfly.security.password.spec.IteratedSaltedPasswordAlgorithmSpec;
+import org.wildfly.security.password.util.ModularCrypt;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs bcrypt on a fixed pool of {@code auth.hashing.threads} platform threads
+ * (one per CPU by default), so a burst of logins cannot take every request
+ * thread and CPU with it. At most {@code auth.hashing.queue-size} hashes wait
+ * for a thread; beyond that, or once a caller has waited
+ * {@code auth.hashing.max-wait}, the request is refused with 503.
+ * <p>
+ * New hashes use cost {@code auth.bcrypt.cost}; {@link #needsRehash} tells
+ * when a stored hash was made with another cost, and {@link #hashLater}
+ * replaces it without making the caller wait.
+ */
+@ApplicationScoped
+public class PasswordHasher {
+
+    private static final Logger LOG = Logger.getLogger(PasswordHasher.class);
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "auth.hashing.threads")
+    Optional<Integer> threads;
+
+    @ConfigProperty(name = "auth.hashing.queue-size", defaultValue = "64")
+    int queueSize;
+
+    @ConfigProperty(name = "auth.hashing.max-wait", defaultValue = "2s")
+    Duration maxWait;
+
+    @ConfigProperty(name = "auth.bcrypt.cost", defaultValue = "10")
+    int cost;
+
+    private final SecureRandom random = new SecureRandom();
+    // PasswordFactory keeps no per-call state, so one instance serves every thread
+    private PasswordFactory factory;
+    private ThreadPoolExecutor executor;
+    private Counter rejected;
+
+    @PostConstruct
+    void start() {
+        try {
+            factory = PasswordFactory.getInstance(BCryptPassword.ALGORITHM_BCRYPT);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("bcrypt is not available", e);
+        }
+        int size = threads.orElse(Runtime.getRuntime().availableProcessors());
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize), task -> {
+            Thread thread = new Thread(task, "password-hasher-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        registry.gauge("auth.hashing.queue.depth", executor, pool -> pool.getQueue().size());
+        rejected = registry.counter("auth.hashing.rejected");
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public String hash(String password) {
+        return run(() -> generate(password));
+    }
+
+    /**
+     * Queues a hash of {@code password} and returns at once; {@code then} gets
+     * the hash on the hashing thread. Returns false, queuing nothing, when the
+     * queue is full. Failures are logged, since no caller is waiting for them.
+     */
+    public boolean hashLater(String password, Consumer<String> then) {
+        try {
+            executor.execute(() -> {
+                try {
+                    then.accept(generate(password));
+                } catch (Exception e) {
+                    LOG.warn("Background password hash failed", e);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Whether {@code password} matches the stored hash; false for an unreadable hash.
+     */
+    public boolean verify(String password, String hash) {
+        Password decoded;
+        try {
+            decoded = factory.translate(ModularCrypt.decode(hash));
+        } catch (InvalidKeySpecException | InvalidKeyException e) {
+            return false;
+        }
+        return run(() -> factory.verify(decoded, password.toCharArray()));
+    }
+
+    /**
+     * Whether the stored hash was made with a cost other than {@code auth.bcrypt.cost}.
+     */
+    public boolean needsRehash(String hash) {
+        try {
+            return !(ModularCrypt.decode(hash) instanceof BCryptPassword bcrypt) || bcrypt.getIterationCount() != cost;
+        } catch (InvalidKeySpecException e) {
+            return true;
+        }
+    }
+
+    private String generate(String password) throws InvalidKeySpecException {
+        byte[] salt = new byte[BCryptPassword.BCRYPT_SALT_SIZE];
+        random.nextBytes(salt);
+        BCryptPassword bcrypt = (BCryptPassword) factory.generatePassword(
+                new EncryptablePasswordSpec(password.toCharArray(), new IteratedSaltedPasswordAlgorithmSpec(cost, salt)));
+        return ModularCrypt.encodeAsString(bcrypt);
+    }
+
+    private <T> T run(Callable<T> task) {
+        FutureTask<T> result = new FutureTask<>(task);
+        try {
+            executor.execute(result);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many sign-ins in progress; retry shortly");
+        }
+        try {
+            return result.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Still queued: cancelling keeps it from taking a thread, and removing it frees its queue slot
+            // at once; already running: it finishes unobserved
+            result.cancel(false);
+            executor.remove(result);
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many sign-ins in progress; retry shortly");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error hashing password", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            executor.remove(result);
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        }
+    }
+}
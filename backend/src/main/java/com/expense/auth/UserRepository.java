@@ -7,6 +7,14 @@ import java.util.Optional;
 @ApplicationScoped
 public class UserRepository implements PanacheRepository<User> {
 
+    /**
+     * An uninitialized reference for foreign keys. The id must come from a
+     * verified token; a missing row surfaces as a constraint violation on flush.
+     */
+    public User reference(Long id) {
+        return getEntityManager().getReference(User.class, id);
+    }
+
     public Optional<User> findByEmail(String email) {
         return find("email", email).firstResultOptional();
     }
@@ -1,9 +1,11 @@
 package com.expense.budget;
 
 import com.expense.auth.User;
+import com.expense.category.Category;
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -14,13 +16,18 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "budgets", uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "month", "year"}))
+@Table(name = "budgets", uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "year", "month", "category_id"}))
 public class Budget extends PanacheEntity {
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     public User user;
 
+    // Null for the month's overall budget
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id")
+    public Category category;
+
     @Column(nullable = false)
     public int month;
 
@@ -30,12 +37,24 @@ public class Budget extends PanacheEntity {
     @Column(nullable = false, precision = 10, scale = 2)
     public BigDecimal amount;
 
+    // Comma-separated percentages, see BudgetThresholds
+    @Column(name = "alert_thresholds", nullable = false, length = 100)
+    public String alertThresholds;
+
+    // Overall budgets only. Maintained by BudgetSpending with in-place updates; never written back from the entity
+    @Column(name = "spent_cents", nullable = false, updatable = false)
+    public long spentCents;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     public LocalDateTime createdAt;
 
     @Column(name = "updated_at", nullable = false)
     public LocalDateTime updatedAt;
 
+    // Position of the latest write in the user's change sequence (see ChangeSequence)
+    @Column(name = "change_seq", nullable = false)
+    public long changeSeq;
+
     @PrePersist
     public void prePersist() {
         createdAt = LocalDateTime.now();
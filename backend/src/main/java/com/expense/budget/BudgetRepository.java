@@ -2,12 +2,98 @@ package com.expense.budget;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.TypedQuery;
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 @ApplicationScoped
 public class BudgetRepository implements PanacheRepository<Budget> {
 
+    /**
+     * The budget row after an {@link #upsert}, and its amount and thresholds
+     * before it ({@code previousAmount} is null when the row was inserted).
+     */
+    public record Upserted(Long id, BigDecimal amount, String alertThresholds, long spentCents,
+                           BigDecimal previousAmount, String previousThresholds) {}
+
+    /**
+     * Creates or updates the month's overall budget ({@code categoryId} null) or
+     * category budget in one statement, arbitrated by
+     * idx_budgets_user_year_month_category. {@code alertThresholds} null keeps
+     * an existing row's thresholds, and a new row gets {@code defaultThresholds}.
+     * A new overall budget starts with the month's spending from the rollup.
+     */
+    @SuppressWarnings("unchecked")
+    public Upserted upsert(Long userId, int month, int year, Long categoryId, BigDecimal amount,
+                           String alertThresholds, String defaultThresholds, long changeSeq) {
+        List<Object[]> rows = getEntityManager().createNativeQuery(
+                        "WITH previous AS (" +
+                                "SELECT amount, alert_thresholds FROM budgets " +
+                                "WHERE user_id = :userId AND year = :year AND month = :month " +
+                                "AND category_id IS NOT DISTINCT FROM CAST(:categoryId AS BIGINT)) " +
+                                "INSERT INTO budgets (id, user_id, month, year, category_id, amount, alert_thresholds, spent_cents, change_seq, created_at, updated_at) " +
+                                "SELECT nextval('budgets_seq'), :userId, :month, :year, CAST(:categoryId AS BIGINT), :amount, " +
+                                "COALESCE(CAST(:thresholds AS VARCHAR), :defaultThresholds), " +
+                                "CASE WHEN CAST(:categoryId AS BIGINT) IS NULL THEN (SELECT COALESCE(SUM(r.sum_cents), 0) " +
+                                "FROM expense_monthly_rollups r WHERE r.user_id = :userId AND r.year = :year AND r.month = :month) ELSE 0 END, " +
+                                ":changeSeq, NOW(), NOW() " +
+                                "ON CONFLICT (user_id, year, month, category_id) DO UPDATE SET " +
+                                "amount = EXCLUDED.amount, " +
+                                "alert_thresholds = COALESCE(CAST(:thresholds AS VARCHAR), budgets.alert_thresholds), " +
+                                "change_seq = EXCLUDED.change_seq, " +
+                                "updated_at = EXCLUDED.updated_at " +
+                                "RETURNING id, amount, alert_thresholds, spent_cents, " +
+                                "(SELECT amount FROM previous), (SELECT alert_thresholds FROM previous)")
+                .setParameter("userId", userId)
+                .setParameter("month", month)
+                .setParameter("year", year)
+                .setParameter("categoryId", categoryId)
+                .setParameter("amount", amount)
+                .setParameter("thresholds", alertThresholds)
+                .setParameter("defaultThresholds", defaultThresholds)
+                .setParameter("changeSeq", changeSeq)
+                .getResultList();
+        Object[] row = rows.get(0);
+        return new Upserted(((Number) row[0]).longValue(), (BigDecimal) row[1], (String) row[2],
+                ((Number) row[3]).longValue(), (BigDecimal) row[4], (String) row[5]);
+    }
+
+    /**
+     * The month's overall budget.
+     */
     public Optional<Budget> findByUserIdAndMonthAndYear(Long userId, int month, int year) {
-        return find("user.id = ?1 and month = ?2 and year = ?3", userId, month, year).firstResultOptional();
+        return find("user.id = ?1 and month = ?2 and year = ?3 and category is null", userId, month, year).firstResultOptional();
+    }
+
+    /**
+     * Budgets of the year (or of one month, when {@code month} is given) with
+     * their spending, from one grouped aggregate of the rollup joined to the
+     * budget rows. Ordered by month, overall budget first, then by category name.
+     */
+    public List<BudgetSpend> findWithSpending(Long userId, int year, Integer month) {
+        TypedQuery<BudgetSpend> query = getEntityManager().createQuery(
+                "SELECT new com.expense.budget.BudgetSpend(b.id, b.month, c.id, c.name, c.icon, b.amount, b.alertThresholds, " +
+                        "COALESCE(SUM(r.sumCents), 0L)) " +
+                        "FROM Budget b LEFT JOIN b.category c " +
+                        "LEFT JOIN MonthlyRollup r ON r.userId = b.user.id AND r.year = b.year AND r.month = b.month " +
+                        "AND (c.id IS NULL OR r.categoryId = c.id) " +
+                        "WHERE b.user.id = :userId AND b.year = :year" + (month != null ? " AND b.month = :month" : "") +
+                        " GROUP BY b.id, b.month, c.id, c.name, c.icon, b.amount, b.alertThresholds " +
+                        "ORDER BY b.month, c.name NULLS FIRST, c.id", BudgetSpend.class)
+                .setParameter("userId", userId)
+                .setParameter("year", year);
+        if (month != null) {
+            query.setParameter("month", month);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Budgets written in ({@code after}, {@code upTo}] of the user's change sequence, oldest change first.
+     */
+    public List<Budget> findChanged(Long userId, long after, long upTo, int limit) {
+        return find("user.id = ?1 and changeSeq > ?2 and changeSeq <= ?3 order by changeSeq", userId, after, upTo)
+                .range(0, limit - 1).list();
     }
 }
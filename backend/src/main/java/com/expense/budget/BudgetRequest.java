@@ -4,7 +4,9 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import java.math.BigDecimal;
+import java.util.List;
 
 public class BudgetRequest {
 
@@ -18,7 +20,16 @@ public class BudgetRequest {
     @Max(value = 2100, message = "Year must be between 2000 and 2100")
     public Integer year;
 
+    /** Sets that category's budget instead of the month's overall budget. */
+    public Long categoryId;
+
     @NotNull(message = "Amount is required")
     @Positive(message = "Amount must be greater than 0")
     public BigDecimal amount;
+
+    /** Percentages of the amount that raise an alert; omitted keeps the current ones (or the defaults). Overall budgets only. */
+    @Size(max = 10, message = "At most 10 alert thresholds are allowed")
+    public List<@NotNull(message = "Alert thresholds must not be null")
+            @Min(value = 1, message = "Alert thresholds must be between 1 and 1000")
+            @Max(value = 1000, message = "Alert thresholds must be between 1 and 1000") Integer> alertThresholds;
 }
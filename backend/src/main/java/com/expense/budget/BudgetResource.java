@@ -1,5 +1,7 @@
 package com.expense.budget;
 
+import com.expense.auth.CurrentUser;
+import com.expense.report.ReportCache;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.Consumes;
@@ -9,38 +11,70 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
-import org.eclipse.microprofile.jwt.JsonWebToken;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
 import io.quarkus.security.Authenticated;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import java.time.LocalDate;
 
 @Path("/api/budgets")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 @Authenticated
+@RunOnVirtualThread
 public class BudgetResource {
 
     @Inject
     BudgetService budgetService;
 
     @Inject
-    JsonWebToken jwt;
+    ReportCache reportCache;
+
+    @Inject
+    CurrentUser currentUser;
+
+    @GET
+    public Response getBudgets(
+            @QueryParam("month") Integer month,
+            @QueryParam("year") Integer year,
+            @Context Request request) {
+        Long userId = currentUser.id();
+        int m = month != null ? month : LocalDate.now().getMonthValue();
+        int y = year != null ? year : LocalDate.now().getYear();
+        return reportCache.respond(request, userId, "budgets", m, y,
+                () -> budgetService.getBudgets(userId, m, y));
+    }
+
+    @GET
+    @Path("/year")
+    public Response getYearBudgets(
+            @QueryParam("year") Integer year,
+            @Context Request request) {
+        Long userId = currentUser.id();
+        int y = year != null ? year : LocalDate.now().getYear();
+        return reportCache.respond(request, userId, "budgets-year", 0, y,
+                () -> budgetService.getYearBudgets(userId, y));
+    }
 
     @GET
     @Path("/monthly")
-    public BudgetResponse getMonthlyBudget(
+    public Response getMonthlyBudget(
             @QueryParam("month") Integer month,
-            @QueryParam("year") Integer year) {
-        Long userId = Long.parseLong(jwt.getSubject());
-        if (month == null) month = LocalDate.now().getMonthValue();
-        if (year == null) year = LocalDate.now().getYear();
-        return budgetService.getMonthlyBudget(userId, month, year);
+            @QueryParam("year") Integer year,
+            @Context Request request) {
+        Long userId = currentUser.id();
+        int m = month != null ? month : LocalDate.now().getMonthValue();
+        int y = year != null ? year : LocalDate.now().getYear();
+        return reportCache.respond(request, userId, "budget", m, y,
+                () -> budgetService.getMonthlyBudget(userId, m, y));
     }
 
     @PUT
     @Path("/monthly")
     public BudgetResponse setMonthlyBudget(@Valid BudgetRequest request) {
-        Long userId = Long.parseLong(jwt.getSubject());
+        Long userId = currentUser.id();
         return budgetService.setMonthlyBudget(userId, request);
     }
 }
@@ -1,14 +1,40 @@
 package com.expense.budget;
 
-import java.math.BigDecimal;
+import com.expense.common.Money;
+import com.expense.report.CategoryBreakdownResponse;
+import java.util.List;
 
 public class BudgetResponse {
     public Long id;
     public int month;
     public int year;
-    public BigDecimal amount;
-    public BigDecimal spent;
-    public BigDecimal remaining;
+    public Money amount;
+    public Money spent;
+    public Money remaining;
+    public List<Integer> alertThresholds;
+    /** Set on per-category budgets only. */
+    public CategoryBreakdownResponse.CategoryInfo category;
 
     public BudgetResponse() {}
+
+    public BudgetResponse(int month, int year, Budget budget, Money spent) {
+        this(month, year, budget != null ? budget.id : null, budget != null ? Money.of(budget.amount) : null, spent);
+        if (budget != null) {
+            this.alertThresholds = BudgetThresholds.parse(budget.alertThresholds);
+        }
+    }
+
+    /**
+     * {@code budgetId} and {@code amount} are null when the month has no budget.
+     */
+    public BudgetResponse(int month, int year, Long budgetId, Money amount, Money spent) {
+        this.month = month;
+        this.year = year;
+        this.spent = spent;
+        if (amount != null) {
+            this.id = budgetId;
+            this.amount = amount;
+            this.remaining = amount.minus(spent);
+        }
+    }
 }
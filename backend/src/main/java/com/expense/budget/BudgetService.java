@@ -1,15 +1,28 @@
 package com.expense.budget;
 
-import com.expense.auth.User;
-import com.expense.auth.UserRepository;
+import com.expense.category.CategoryCatalog;
+import com.expense.category.CategoryEntry;
+import com.expense.common.Money;
 import com.expense.common.NotFoundException;
-import com.expense.expense.Expense;
+import com.expense.common.UserDataChangedEvent;
+import com.expense.common.ValidationException;
+import com.expense.notification.NotificationService;
+import com.expense.report.CategoryBreakdownResponse;
+import com.expense.report.MonthTotal;
+import com.expense.report.MonthlyRollupRepository;
+import com.expense.report.ReportCache;
+import com.expense.sync.ChangeSequence;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
-import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
-import java.math.BigDecimal;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class BudgetService {
@@ -18,70 +31,140 @@ public class BudgetService {
     BudgetRepository budgetRepository;
 
     @Inject
-    UserRepository userRepository;
+    MonthlyRollupRepository rollupRepository;
 
     @Inject
-    EntityManager entityManager;
+    ReportCache reportCache;
 
-    public BudgetResponse getMonthlyBudget(Long userId, int month, int year) {
-        Optional<Budget> budgetOpt = budgetRepository.findByUserIdAndMonthAndYear(userId, month, year);
-        BigDecimal spent = calculateSpent(userId, month, year);
+    @Inject
+    ChangeSequence changeSequence;
 
-        BudgetResponse response = new BudgetResponse();
-        response.month = month;
-        response.year = year;
-        response.spent = spent;
+    @Inject
+    NotificationService notificationService;
 
-        if (budgetOpt.isPresent()) {
-            Budget budget = budgetOpt.get();
-            response.id = budget.id;
-            response.amount = budget.amount;
-            response.remaining = budget.amount.subtract(spent);
-        }
+    @Inject
+    CategoryCatalog categoryCatalog;
 
-        return response;
+    @Inject
+    Event<UserDataChangedEvent> dataChanged;
+
+    @ConfigProperty(name = "budgets.alert-thresholds", defaultValue = "50,80,100")
+    List<Integer> defaultThresholds;
+
+    public BudgetResponse getMonthlyBudget(Long userId, int month, int year) {
+        return reportCache.get(userId, "budget", month, year, () -> {
+            Optional<Budget> budgetOpt = budgetRepository.findByUserIdAndMonthAndYear(userId, month, year);
+            // A budget carries its month's running total; without one, sum the rollup
+            Money spent = budgetOpt.map(budget -> Money.ofCents(budget.spentCents))
+                    .orElseGet(() -> calculateSpent(userId, month, year));
+            return new BudgetResponse(month, year, budgetOpt.orElse(null), spent);
+        });
+    }
+
+    /**
+     * The month's overall budget and its per-category budgets, each with its spending.
+     */
+    public MonthBudgetsResponse getBudgets(Long userId, int month, int year) {
+        return reportCache.get(userId, "budgets", month, year, () -> {
+            List<BudgetSpend> rows = budgetRepository.findWithSpending(userId, year, month);
+            // Without an overall budget there is no row carrying the month's total
+            boolean hasOverall = !rows.isEmpty() && rows.get(0).categoryId() == null;
+            long monthCents = hasOverall ? rows.get(0).spentCents() : rollupRepository.sumCents(userId, year, month);
+            return monthBudgets(month, year, rows, monthCents);
+        });
+    }
+
+    /**
+     * All twelve months of {@link #getBudgets} for one year, from two queries.
+     */
+    public List<MonthBudgetsResponse> getYearBudgets(Long userId, int year) {
+        return reportCache.get(userId, "budgets-year", 0, year, () -> {
+            Map<Integer, List<BudgetSpend>> byMonth = budgetRepository.findWithSpending(userId, year, null).stream()
+                    .collect(Collectors.groupingBy(BudgetSpend::month));
+            Map<Integer, Long> monthCents = new HashMap<>();
+            for (MonthTotal total : rollupRepository.findMonthTotals(userId, year)) {
+                monthCents.put(total.month(), total.cents());
+            }
+            List<MonthBudgetsResponse> months = new ArrayList<>(12);
+            for (int month = 1; month <= 12; month++) {
+                months.add(monthBudgets(month, year, byMonth.getOrDefault(month, List.of()), monthCents.getOrDefault(month, 0L)));
+            }
+            return months;
+        });
     }
 
+    /**
+     * Sets the month's overall budget, or with {@code categoryId} the budget of
+     * one category, in a single upsert.
+     */
     @Transactional
     public BudgetResponse setMonthlyBudget(Long userId, BudgetRequest request) {
-        User user = userRepository.findById(userId);
-        if (user == null) {
-            throw new NotFoundException("User not found");
+        CategoryEntry category = null;
+        if (request.categoryId != null) {
+            category = categoryCatalog.findAccessible(userId, request.categoryId)
+                    .orElseThrow(() -> new NotFoundException("Category not found"));
+            if (request.alertThresholds != null) {
+                throw new ValidationException("Alert thresholds can only be set on the overall monthly budget");
+            }
         }
+        // Also holds off this user's expense writers, so spent_cents cannot move until commit
+        long changeSeq = changeSequence.next(userId);
+        String thresholds = request.alertThresholds != null ? BudgetThresholds.format(request.alertThresholds) : null;
+        BudgetRepository.Upserted budget = budgetRepository.upsert(userId, request.month, request.year, request.categoryId,
+                request.amount, thresholds, category == null ? BudgetThresholds.format(defaultThresholds) : "", changeSeq);
+        dataChanged.fire(new UserDataChangedEvent(userId, changeSeq, List.of()));
 
-        Optional<Budget> existing = budgetRepository.findByUserIdAndMonthAndYear(userId, request.month, request.year);
-        Budget budget;
-        if (existing.isPresent()) {
-            budget = existing.get();
-            budget.amount = request.amount;
-        } else {
-            budget = new Budget();
-            budget.user = user;
-            budget.month = request.month;
-            budget.year = request.year;
-            budget.amount = request.amount;
-            budgetRepository.persist(budget);
+        if (category != null) {
+            long spentCents = rollupRepository.sumCents(userId, request.year, request.month, category.id());
+            BudgetResponse response = new BudgetResponse(request.month, request.year, budget.id(), Money.of(budget.amount()), Money.ofCents(spentCents));
+            response.category = categoryInfo(category.id(), category.name(), category.icon());
+            return response;
         }
 
-        BigDecimal spent = calculateSpent(userId, request.month, request.year);
-        BudgetResponse response = new BudgetResponse();
-        response.id = budget.id;
-        response.month = budget.month;
-        response.year = budget.year;
-        response.amount = budget.amount;
-        response.spent = spent;
-        response.remaining = budget.amount.subtract(spent);
+        // A lower amount or a new threshold can put spending past a threshold without any expense write
+        long previousAmount = budget.previousAmount() != null ? Money.centsOf(budget.previousAmount()) : 0;
+        List<Integer> previousThresholds = BudgetThresholds.parse(budget.previousThresholds());
+        long amount = Money.centsOf(budget.amount());
+        List<Integer> current = BudgetThresholds.parse(budget.alertThresholds());
+        for (int threshold : current) {
+            boolean wasReached = previousThresholds.contains(threshold) && BudgetThresholds.reached(budget.spentCents(), previousAmount, threshold);
+            if (!wasReached && BudgetThresholds.reached(budget.spentCents(), amount, threshold)) {
+                notificationService.budgetThresholdCrossed(userId, budget.id(), request.month, request.year, threshold);
+            }
+        }
+
+        BudgetResponse response = new BudgetResponse(request.month, request.year, budget.id(), Money.of(budget.amount()), Money.ofCents(budget.spentCents()));
+        response.alertThresholds = current;
         return response;
     }
 
-    private BigDecimal calculateSpent(Long userId, int month, int year) {
-        Object result = entityManager.createQuery(
-                        "SELECT COALESCE(SUM(e.amount), 0) FROM Expense e WHERE e.user.id = :userId " +
-                                "AND EXTRACT(MONTH FROM e.date) = :month AND EXTRACT(YEAR FROM e.date) = :year")
-                .setParameter("userId", userId)
-                .setParameter("month", month)
-                .setParameter("year", year)
-                .getSingleResult();
-        return (BigDecimal) result;
+    private static MonthBudgetsResponse monthBudgets(int month, int year, List<BudgetSpend> rows, long monthCents) {
+        MonthBudgetsResponse response = new MonthBudgetsResponse();
+        response.month = month;
+        response.year = year;
+        response.overall = new BudgetResponse(month, year, null, null, Money.ofCents(monthCents));
+        for (BudgetSpend row : rows) {
+            BudgetResponse budget = new BudgetResponse(month, year, row.id(), Money.of(row.amount()), Money.ofCents(row.spentCents()));
+            if (row.categoryId() == null) {
+                budget.alertThresholds = BudgetThresholds.parse(row.alertThresholds());
+                response.overall = budget;
+            } else {
+                budget.category = categoryInfo(row.categoryId(), row.categoryName(), row.categoryIcon());
+                response.categories.add(budget);
+            }
+        }
+        return response;
+    }
+
+    private static CategoryBreakdownResponse.CategoryInfo categoryInfo(Long id, String name, String icon) {
+        CategoryBreakdownResponse.CategoryInfo info = new CategoryBreakdownResponse.CategoryInfo();
+        info.id = id;
+        info.name = name;
+        info.icon = icon;
+        return info;
+    }
+
+    private Money calculateSpent(Long userId, int month, int year) {
+        return Money.ofCents(rollupRepository.sumCents(userId, year, month));
     }
 }
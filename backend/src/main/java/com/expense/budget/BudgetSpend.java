@@ -0,0 +1,10 @@
+package com.expense.budget;
+
+import java.math.BigDecimal;
+
+/**
+ * A budget and the spending it covers: the whole month for an overall budget
+ * ({@code categoryId} null), the one category otherwise.
+ */
+public record BudgetSpend(Long id, Integer month, Long categoryId, String categoryName, String categoryIcon,
+                          BigDecimal amount, String alertThresholds, Long spentCents) {}
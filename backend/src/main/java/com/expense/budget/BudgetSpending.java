@@ -0,0 +1,58 @@
+package com.expense.budget;
+
+import com.expense.common.Money;
+import com.expense.notification.NotificationService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Keeps budgets.spent_cents of overall monthly budgets in step with expense
+ * writes and raises threshold alerts. Writers pass the same per-month deltas they apply to the rollup, so
+ * each change costs one indexed UPDATE of the budget row and no aggregate.
+ * The row lock on the budget orders concurrent writers, which is what makes
+ * each upward crossing visible to exactly one of them.
+ */
+@ApplicationScoped
+public class BudgetSpending {
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    NotificationService notificationService;
+
+    /**
+     * Adds {@code deltaCents} to the month's overall budget, if the user has one, and
+     * raises an alert for every threshold the change crosses upward.
+     */
+    @SuppressWarnings("unchecked")
+    public void add(Long userId, YearMonth month, long deltaCents) {
+        if (deltaCents == 0) {
+            return;
+        }
+        List<Object[]> rows = entityManager.createNativeQuery(
+                        "UPDATE budgets SET spent_cents = spent_cents + :delta " +
+                                "WHERE user_id = :userId AND year = :year AND month = :month AND category_id IS NULL " +
+                                "RETURNING id, amount, spent_cents, alert_thresholds")
+                .setParameter("delta", deltaCents)
+                .setParameter("userId", userId)
+                .setParameter("year", month.getYear())
+                .setParameter("month", month.getMonthValue())
+                .getResultList();
+        for (Object[] row : rows) {
+            Long budgetId = ((Number) row[0]).longValue();
+            long amountCents = Money.centsOf((BigDecimal) row[1]);
+            long after = ((Number) row[2]).longValue();
+            long before = after - deltaCents;
+            for (int threshold : BudgetThresholds.parse((String) row[3])) {
+                if (!BudgetThresholds.reached(before, amountCents, threshold) && BudgetThresholds.reached(after, amountCents, threshold)) {
+                    notificationService.budgetThresholdCrossed(userId, budgetId, month.getMonthValue(), month.getYear(), threshold);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.expense.budget;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Alert thresholds are stored on the budget as a comma-separated list of
+ * percentages, e.g. "50,80,100".
+ */
+final class BudgetThresholds {
+
+    private BudgetThresholds() {}
+
+    static List<Integer> parse(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(",")).map(String::trim).map(Integer::valueOf).toList();
+    }
+
+    /**
+     * Sorted, without duplicates.
+     */
+    static String format(Collection<Integer> thresholds) {
+        return thresholds.stream().distinct().sorted().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    /**
+     * Whether spending has reached {@code threshold} percent of the budget.
+     */
+    static boolean reached(long spentCents, long amountCents, int threshold) {
+        return amountCents > 0 && spentCents * 100 >= amountCents * threshold;
+    }
+}
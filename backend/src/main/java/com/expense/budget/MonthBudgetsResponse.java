@@ -0,0 +1,14 @@
+package com.expense.budget;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MonthBudgetsResponse {
+    public int month;
+    public int year;
+    /** Always present; {@code id} and {@code amount} are omitted when the month has no overall budget. */
+    public BudgetResponse overall;
+    public List<BudgetResponse> categories = new ArrayList<>();
+
+    public MonthBudgetsResponse() {}
+}
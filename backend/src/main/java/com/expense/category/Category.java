@@ -4,6 +4,7 @@ import com.expense.auth.User;
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -23,13 +24,17 @@ public class Category extends PanacheEntity {
     @Column(name = "is_default", nullable = false)
     public boolean isDefault = false;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     public User user;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     public LocalDateTime createdAt;
 
+    // Position of the latest write in the user's change sequence (see ChangeSequence)
+    @Column(name = "change_seq", nullable = false)
+    public long changeSeq;
+
     @PrePersist
     public void prePersist() {
         createdAt = LocalDateTime.now();
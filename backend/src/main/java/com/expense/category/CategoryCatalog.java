@@ -0,0 +1,181 @@
+package com.expense.category;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory view of the categories each user can see. Default categories are
+ * loaded once at startup and never change at runtime; a user's custom
+ * categories are loaded on first use and extended when the user creates one
+ * (after the creating transaction commits). Categories are never renamed or
+ * deleted, so entries never turn wrong, only incomplete.
+ * <p>
+ * Categories created through another instance are not announced here. A
+ * lookup that misses the snapshot therefore checks the database before
+ * answering that the category does not exist, and snapshots are reloaded
+ * after {@code categories.catalog.ttl} so lists catch up. At most
+ * {@code categories.catalog.max-users} snapshots are kept, least recently
+ * used first out.
+ */
+@ApplicationScoped
+public class CategoryCatalog {
+
+    @Inject
+    CategoryRepository categoryRepository;
+
+    @ConfigProperty(name = "categories.catalog.max-users", defaultValue = "100000")
+    int maxUsers;
+
+    @ConfigProperty(name = "categories.catalog.ttl", defaultValue = "60s")
+    Duration ttl;
+
+    private volatile Snapshot defaults;
+    private final LinkedHashMap<Long, Custom> customByUser = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Custom> eldest) {
+            return size() > maxUsers;
+        }
+    };
+    private final ReentrantLock lock = new ReentrantLock();
+    // Bumped before every onCreated so a load that raced a creation can tell
+    private final AtomicLong creations = new AtomicLong();
+
+    private record Custom(Snapshot snapshot, long loadedAt) {}
+
+    /**
+     * Categories indexed by id and by lower-cased name; immutable once built.
+     */
+    private record Snapshot(List<CategoryEntry> ordered, Map<Long, CategoryEntry> byId, Map<String, CategoryEntry> byName) {
+
+        static Snapshot of(List<CategoryEntry> entries) {
+            List<CategoryEntry> ordered = new ArrayList<>(entries);
+            ordered.sort(Comparator.comparing(CategoryEntry::id));
+            Map<Long, CategoryEntry> byId = new HashMap<>();
+            Map<String, CategoryEntry> byName = new HashMap<>();
+            for (CategoryEntry entry : ordered) {
+                byId.put(entry.id(), entry);
+                byName.put(entry.name().toLowerCase(Locale.ROOT), entry);
+            }
+            return new Snapshot(List.copyOf(ordered), Map.copyOf(byId), Map.copyOf(byName));
+        }
+
+        Snapshot with(CategoryEntry entry) {
+            if (byId.containsKey(entry.id())) {
+                return this;
+            }
+            List<CategoryEntry> entries = new ArrayList<>(ordered);
+            entries.add(entry);
+            return of(entries);
+        }
+    }
+
+    @Transactional
+    void loadDefaults(@Observes StartupEvent event) {
+        defaults = Snapshot.of(categoryRepository.findDefaults().stream().map(CategoryEntry::of).toList());
+    }
+
+    public List<CategoryEntry> listDefaults() {
+        return defaults.ordered();
+    }
+
+    /**
+     * Defaults followed by the user's own categories, each in id order.
+     */
+    public List<CategoryEntry> listForUser(Long userId) {
+        List<CategoryEntry> all = new ArrayList<>(defaults.ordered());
+        all.addAll(custom(userId).ordered());
+        return all;
+    }
+
+    /**
+     * The category if it is a default or belongs to the user; empty for a null id.
+     */
+    public Optional<CategoryEntry> findAccessible(Long userId, Long categoryId) {
+        if (categoryId == null) {
+            // The snapshots are immutable maps, whose get(null) throws
+            return Optional.empty();
+        }
+        CategoryEntry entry = defaults.byId().get(categoryId);
+        if (entry == null) {
+            entry = custom(userId).byId().get(categoryId);
+        }
+        if (entry == null) {
+            // May have been created through another instance since the snapshot was loaded
+            entry = categoryRepository.findByIdAndUserId(categoryId, userId).map(CategoryEntry::of).orElse(null);
+            if (entry != null) {
+                extend(userId, entry);
+            }
+        }
+        return Optional.ofNullable(entry);
+    }
+
+    /**
+     * Whether a default category has this name, ignoring case. Clashes among a
+     * user's own categories are left to the unique index.
+     */
+    public boolean isDefaultName(String name) {
+        return defaults.byName().containsKey(name.toLowerCase(Locale.ROOT));
+    }
+
+    void onCreated(@Observes(during = TransactionPhase.AFTER_SUCCESS) CategoryCreatedEvent event) {
+        creations.incrementAndGet();
+        extend(event.userId, event.category);
+    }
+
+    /**
+     * Adds the entry to an already loaded snapshot; an absent one is loaded with it later.
+     */
+    private void extend(Long userId, CategoryEntry entry) {
+        lock.lock();
+        try {
+            Custom custom = customByUser.get(userId);
+            if (custom != null) {
+                customByUser.put(userId, new Custom(custom.snapshot().with(entry), custom.loadedAt()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Snapshot custom(Long userId) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            Custom custom = customByUser.get(userId);
+            if (custom != null && now - custom.loadedAt() < ttl.toNanos()) {
+                return custom.snapshot();
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Query outside the lock, so one slow load does not hold up every other user's lookups
+        long seen = creations.get();
+        Snapshot loaded = Snapshot.of(categoryRepository.findByUserId(userId).stream().map(CategoryEntry::of).toList());
+        lock.lock();
+        try {
+            if (creations.get() == seen) {
+                customByUser.put(userId, new Custom(loaded, now));
+            }
+            // Otherwise a category committed during the load may be missing; answer with it but let the next call reload
+        } finally {
+            lock.unlock();
+        }
+        return loaded;
+    }
+}
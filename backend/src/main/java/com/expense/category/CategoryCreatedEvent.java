@@ -0,0 +1,11 @@
+package com.expense.category;
+
+public class CategoryCreatedEvent {
+    public final Long userId;
+    public final CategoryEntry category;
+
+    public CategoryCreatedEvent(Long userId, CategoryEntry category) {
+        this.userId = userId;
+        this.category = category;
+    }
+}
@@ -0,0 +1,20 @@
+package com.expense.category;
+
+/**
+ * Immutable copy of the category fields the API exposes, as held by {@link CategoryCatalog}.
+ */
+public record CategoryEntry(Long id, String name, String icon, boolean isDefault) {
+
+    static CategoryEntry of(Category category) {
+        return new CategoryEntry(category.id, category.name, category.icon, category.isDefault);
+    }
+
+    public CategoryResponse toResponse() {
+        CategoryResponse response = new CategoryResponse();
+        response.id = id;
+        response.name = name;
+        response.icon = icon;
+        response.isDefault = isDefault;
+        return response;
+    }
+}
@@ -16,11 +16,35 @@ public class CategoryRepository implements PanacheRepository<Category> {
         return list("user.id", userId);
     }
 
-    public Optional<Category> findByNameAndUserId(String name, Long userId) {
-        return find("name = ?1 and user.id = ?2", name, userId).firstResultOptional();
+    public Optional<Category> findByIdAndUserId(Long id, Long userId) {
+        return find("id = ?1 and user.id = ?2", id, userId).firstResultOptional();
     }
 
-    public Optional<Category> findDefaultByName(String name) {
-        return find("name = ?1 and isDefault = true", name).firstResultOptional();
+    /**
+     * The user's own categories written in ({@code after}, {@code upTo}] of their
+     * change sequence, oldest change first. Defaults are not tracked.
+     */
+    public List<Category> findChanged(Long userId, long after, long upTo, int limit) {
+        return find("user.id = ?1 and changeSeq > ?2 and changeSeq <= ?3 order by changeSeq", userId, after, upTo)
+                .range(0, limit - 1).list();
+    }
+
+    /**
+     * Inserts a custom category unless the user already has one with the same
+     * name in any case (idx_categories_user_lower_name); empty in that case.
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<CategoryEntry> insertCustom(Long userId, String name, String icon, long changeSeq) {
+        List<Number> ids = getEntityManager().createNativeQuery(
+                        "INSERT INTO categories (id, name, icon, is_default, user_id, created_at, change_seq) " +
+                                "VALUES (nextval('categories_seq'), :name, :icon, FALSE, :userId, NOW(), :changeSeq) " +
+                                "ON CONFLICT (user_id, LOWER(name)) WHERE user_id IS NOT NULL DO NOTHING " +
+                                "RETURNING id")
+                .setParameter("name", name)
+                .setParameter("icon", icon)
+                .setParameter("userId", userId)
+                .setParameter("changeSeq", changeSeq)
+                .getResultList();
+        return ids.stream().findFirst().map(id -> new CategoryEntry(id.longValue(), name, icon, false));
     }
 }
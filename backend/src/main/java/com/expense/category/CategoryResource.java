@@ -1,5 +1,6 @@
 package com.expense.category;
 
+import com.expense.auth.CurrentUser;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.Consumes;
@@ -9,31 +10,32 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import org.eclipse.microprofile.jwt.JsonWebToken;
 import io.quarkus.security.Authenticated;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import java.util.List;
 
 @Path("/api/categories")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 @Authenticated
+@RunOnVirtualThread
 public class CategoryResource {
 
     @Inject
     CategoryService categoryService;
 
     @Inject
-    JsonWebToken jwt;
+    CurrentUser currentUser;
 
     @GET
     public List<CategoryResponse> getCategories() {
-        Long userId = Long.parseLong(jwt.getSubject());
+        Long userId = currentUser.id();
         return categoryService.getAllForUser(userId);
     }
 
     @POST
     public Response createCategory(@Valid CreateCategoryRequest request) {
-        Long userId = Long.parseLong(jwt.getSubject());
+        Long userId = currentUser.id();
         CategoryResponse response = categoryService.createCustomCategory(userId, request);
         return Response.status(Response.Status.CREATED).entity(response).build();
     }
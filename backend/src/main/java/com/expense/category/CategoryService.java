@@ -1,13 +1,11 @@
 package com.expense.category;
 
 import com.expense.common.ConflictException;
-import com.expense.common.NotFoundException;
-import com.expense.auth.User;
-import com.expense.auth.UserRepository;
+import com.expense.sync.ChangeSequence;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,39 +16,29 @@ public class CategoryService {
     CategoryRepository categoryRepository;
 
     @Inject
-    UserRepository userRepository;
+    CategoryCatalog categoryCatalog;
+
+    @Inject
+    ChangeSequence changeSequence;
+
+    @Inject
+    Event<CategoryCreatedEvent> categoryCreated;
 
     public List<CategoryResponse> getAllForUser(Long userId) {
-        List<Category> defaults = categoryRepository.findDefaults();
-        List<Category> custom = categoryRepository.findByUserId(userId);
-        List<Category> all = new ArrayList<>(defaults);
-        all.addAll(custom);
-        return all.stream().map(CategoryResponse::new).collect(Collectors.toList());
+        return categoryCatalog.listForUser(userId).stream().map(CategoryEntry::toResponse).collect(Collectors.toList());
     }
 
     @Transactional
     public CategoryResponse createCustomCategory(Long userId, CreateCategoryRequest request) {
-        // Check uniqueness among user's custom categories
-        if (categoryRepository.findByNameAndUserId(request.name, userId).isPresent()) {
+        // Names must be unique, ignoring case, among the defaults and the user's own categories
+        if (categoryCatalog.isDefaultName(request.name)) {
             throw new ConflictException("A category with this name already exists");
         }
-        // Also check against default categories
-        if (categoryRepository.findDefaultByName(request.name).isPresent()) {
-            throw new ConflictException("A category with this name already exists");
-        }
-
-        User user = userRepository.findById(userId);
-        if (user == null) {
-            throw new NotFoundException("User not found");
-        }
-
-        Category category = new Category();
-        category.name = request.name;
-        category.icon = request.icon;
-        category.isDefault = false;
-        category.user = user;
-        categoryRepository.persist(category);
+        long changeSeq = changeSequence.next(userId);
+        CategoryEntry category = categoryRepository.insertCustom(userId, request.name, request.icon, changeSeq)
+                .orElseThrow(() -> new ConflictException("A category with this name already exists"));
+        categoryCreated.fire(new CategoryCreatedEvent(userId, category));
 
-        return new CategoryResponse(category);
+        return category.toResponse();
     }
 }
@@ -0,0 +1,30 @@
+package com.expense.common;
+
+import java.util.Locale;
+
+/**
+ * How a paginated list computes {@code totalElements}.
+ */
+public enum CountMode {
+    /** Exact total, computed in the same statement as the page where possible. */
+    EXACT,
+    /** Approximate total from precomputed per-month counts; no scan of the rows. */
+    ESTIMATE,
+    /** No total; only whether another page follows. */
+    NONE;
+
+    public static CountMode parse(String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("count must be one of exact, estimate, none");
+        }
+    }
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
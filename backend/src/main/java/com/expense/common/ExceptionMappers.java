@@ -25,4 +25,19 @@ public class ExceptionMappers {
                 .entity(new ErrorResponse("CONFLICT", e.getMessage()))
                 .build();
     }
+
+    @ServerExceptionMapper
+    public Response mapServiceUnavailableException(ServiceUnavailableException e) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .entity(new ErrorResponse("SERVICE_UNAVAILABLE", e.getMessage()))
+                .build();
+    }
+
+    @ServerExceptionMapper
+    public Response mapTooManyRequestsException(TooManyRequestsException e) {
+        return Response.status(Response.Status.TOO_MANY_REQUESTS)
+                .entity(new ErrorResponse("TOO_MANY_REQUESTS", e.getMessage()))
+                .build();
+    }
 }
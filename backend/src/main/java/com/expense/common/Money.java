@@ -0,0 +1,86 @@
+package com.expense.common;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount in minor units (cents). Aggregation and arithmetic stay in
+ * {@code long}; conversion to and from {@link BigDecimal} happens only at the
+ * JSON and database-entity boundaries, where amounts have two decimal places.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    @JsonCreator
+    public static Money of(BigDecimal amount) {
+        return ofCents(centsOf(amount));
+    }
+
+    /**
+     * Rounds to cents the same way a DECIMAL(10,2) column does.
+     */
+    public static long centsOf(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public long cents() {
+        return cents;
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    /**
+     * This amount as a percentage of {@code total}, rounded half up to one decimal.
+     */
+    public double percentOf(Money total) {
+        if (total.cents <= 0) {
+            return 0.0;
+        }
+        long tenths = (cents * 1000 + total.cents / 2) / total.cents;
+        return tenths / 10.0;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && other.cents == cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -6,16 +6,29 @@ public class PaginatedResponse<T> {
     public List<T> content;
     public int page;
     public int size;
-    public long totalElements;
-    public int totalPages;
+    public Long totalElements;
+    public Integer totalPages;
+    public String countMode;
+    public boolean hasNext;
+    public String nextCursor;
 
     public PaginatedResponse() {}
 
     public PaginatedResponse(List<T> content, int page, int size, long totalElements) {
+        this(content, page, size, totalElements, CountMode.EXACT, (long) (page + 1) * size < totalElements);
+    }
+
+    /**
+     * {@code totalElements} is null when {@code countMode} is {@link CountMode#NONE}.
+     */
+    public PaginatedResponse(List<T> content, int page, int size, Long totalElements, CountMode countMode, boolean hasNext) {
         this.content = content;
         this.page = page;
         this.size = size;
         this.totalElements = totalElements;
-        this.totalPages = size > 0 ? (int) Math.ceil((double) totalElements / size) : 0;
+        this.totalPages = totalElements == null ? null
+                : size > 0 ? (int) Math.ceil((double) totalElements / size) : 0;
+        this.countMode = countMode.label();
+        this.hasNext = hasNext;
     }
 }
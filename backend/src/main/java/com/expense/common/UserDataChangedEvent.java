@@ -0,0 +1,33 @@
+package com.expense.common;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Fired by services whenever a user's expenses or budgets change. Observers
+ * interested in committed state should use {@code TransactionPhase.AFTER_SUCCESS}.
+ * <p>
+ * Expense writes also say what changed: the net change per (date, category)
+ * and the highest change position they took. Other writes leave
+ * {@code expenseDeltas} empty when no expense changed, or null when expenses
+ * changed in ways not itemised (imports), in which case anything derived from
+ * the user's expenses must be rebuilt.
+ */
+public class UserDataChangedEvent {
+    public final Long userId;
+    public final long changeSeq;
+    public final List<ExpenseDelta> expenseDeltas;
+
+    /** Net change of one day's expenses in one category. */
+    public record ExpenseDelta(LocalDate date, Long categoryId, long cents, long count) {}
+
+    public UserDataChangedEvent(Long userId) {
+        this(userId, 0, null);
+    }
+
+    public UserDataChangedEvent(Long userId, long changeSeq, List<ExpenseDelta> expenseDeltas) {
+        this.userId = userId;
+        this.changeSeq = changeSeq;
+        this.expenseDeltas = expenseDeltas;
+    }
+}
@@ -0,0 +1,27 @@
+package com.expense.common;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user counter bumped after every committed change to the user's data.
+ * Anything derived from a user's data can be keyed or tagged with this version
+ * and is valid for as long as the version does not move.
+ */
+@ApplicationScoped
+public class UserDataVersions {
+
+    private final ConcurrentHashMap<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public long current(Long userId) {
+        AtomicLong version = versions.get(userId);
+        return version == null ? 0 : version.get();
+    }
+
+    void onChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) UserDataChangedEvent event) {
+        versions.computeIfAbsent(event.userId, id -> new AtomicLong()).incrementAndGet();
+    }
+}
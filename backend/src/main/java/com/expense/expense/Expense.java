@@ -5,6 +5,7 @@ import com.expense.category.Category;
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -18,11 +19,11 @@ import java.time.LocalDateTime;
 @Table(name = "expenses")
 public class Expense extends PanacheEntity {
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     public User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     public Category category;
 
@@ -41,6 +42,10 @@ public class Expense extends PanacheEntity {
     @Column(name = "updated_at", nullable = false)
     public LocalDateTime updatedAt;
 
+    // Position of the latest write in the user's change sequence (see ChangeSequence)
+    @Column(name = "change_seq", nullable = false)
+    public long changeSeq;
+
     @PrePersist
     public void prePersist() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,8 @@
+package com.expense.expense;
+
+/**
+ * One expense as the columnar report store holds it. {@code asOfSeq} is the
+ * user's change position read in the same statement as the row, so the rows
+ * of one read reflect exactly the writes up to that position.
+ */
+public record ExpenseAmount(int epochDay, long cents, long categoryId, long asOfSeq) {}
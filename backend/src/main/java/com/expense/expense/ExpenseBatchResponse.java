@@ -0,0 +1,46 @@
+package com.expense.expense;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a batch request, one item per request element in the same order.
+ * Valid items are applied even when others fail.
+ */
+public class ExpenseBatchResponse {
+    public List<Item> results = new ArrayList<>();
+    public int succeeded;
+    public int failed;
+
+    public ExpenseBatchResponse() {}
+
+    public static class Item {
+        public int index;
+        public int status;
+        public Long id;
+        public ExpenseResponse expense;
+        public String error;
+        public String message;
+    }
+
+    void success(int index, int status, Long id, ExpenseResponse expense) {
+        Item item = new Item();
+        item.index = index;
+        item.status = status;
+        item.id = id;
+        item.expense = expense;
+        results.add(item);
+        succeeded++;
+    }
+
+    void failure(int index, int status, Long id, String error, String message) {
+        Item item = new Item();
+        item.index = index;
+        item.status = status;
+        item.id = id;
+        item.error = error;
+        item.message = message;
+        results.add(item);
+        failed++;
+    }
+}
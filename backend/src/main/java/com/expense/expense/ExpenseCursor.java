@@ -0,0 +1,40 @@
+package com.expense.expense;
+
+import com.expense.common.ValidationException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the expense list ordering (date desc, id desc), exchanged with
+ * clients as an opaque URL-safe token.
+ */
+public class ExpenseCursor {
+    public final LocalDate date;
+    public final Long id;
+
+    public ExpenseCursor(LocalDate date, Long id) {
+        this.date = date;
+        this.id = id;
+    }
+
+    public static ExpenseCursor after(Expense expense) {
+        return new ExpenseCursor(expense.date, expense.id);
+    }
+
+    public String encode() {
+        String raw = date + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ExpenseCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new ExpenseCursor(LocalDate.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+}
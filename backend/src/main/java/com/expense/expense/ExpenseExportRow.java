@@ -0,0 +1,8 @@
+package com.expense.expense;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record ExpenseExportRow(Long id, LocalDate date, BigDecimal amount, Long categoryId, String category,
+                               String description, LocalDateTime createdAt, LocalDateTime updatedAt) {}
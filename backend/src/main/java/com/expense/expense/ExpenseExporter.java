@@ -0,0 +1,108 @@
+package com.expense.expense;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.quarkus.narayana.jta.runtime.TransactionConfiguration;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a user's expenses straight from a database cursor to the response.
+ * Rows are fetched in bounded chunks and written through a small buffer, so
+ * memory use does not depend on the size of the history; a slow client blocks
+ * the write, which in turn stops further fetching.
+ * <p>
+ * Descriptions and category names are user input; in CSV, one that a
+ * spreadsheet would read as a formula is written with a leading {@code '}.
+ */
+@ApplicationScoped
+public class ExpenseExporter {
+
+    private static final String CSV_HEADER = "id,date,amount,category_id,category,description,created_at,updated_at";
+
+    @Inject
+    ExpenseRepository expenseRepository;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    /**
+     * Must run inside the transaction so the cursor stays open while streaming.
+     * The transaction lasts as long as the download, so it is given
+     * {@code expenses.export.timeout} rather than the default timeout.
+     */
+    @Transactional
+    @TransactionConfiguration(timeoutFromConfigProperty = "expenses.export.timeout")
+    public void export(Long userId, Long categoryId, LocalDate startDate, LocalDate endDate,
+                       ExportFormat format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 16 * 1024);
+        try (Stream<ExpenseExportRow> rows = expenseRepository.streamForExport(userId, categoryId, startDate, endDate)) {
+            Iterator<ExpenseExportRow> it = rows.iterator();
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write("\r\n");
+                while (it.hasNext()) {
+                    writeCsv(writer, it.next());
+                }
+            } else {
+                ObjectWriter rowWriter = objectMapper.writerFor(ExpenseExportRow.class);
+                while (it.hasNext()) {
+                    writer.write(rowWriter.writeValueAsString(it.next()));
+                    writer.write('\n');
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private static void writeCsv(Writer writer, ExpenseExportRow row) throws IOException {
+        writer.write(String.valueOf(row.id()));
+        writer.write(',');
+        writer.write(row.date().toString());
+        writer.write(',');
+        writer.write(row.amount().toPlainString());
+        writer.write(',');
+        writer.write(String.valueOf(row.categoryId()));
+        writer.write(',');
+        writeCsvField(writer, row.category());
+        writer.write(',');
+        writeCsvField(writer, row.description());
+        writer.write(',');
+        writer.write(row.createdAt().toString());
+        writer.write(',');
+        writer.write(row.updatedAt().toString());
+        writer.write("\r\n");
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!value.isEmpty() && isFormulaStart(value.charAt(0))) {
+            value = "'" + value;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    static boolean isFormulaStart(char c) {
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+}
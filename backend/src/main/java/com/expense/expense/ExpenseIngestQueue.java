@@ -0,0 +1,276 @@
+package com.expense.expense;
+
+import com.expense.category.CategoryCatalog;
+import com.expense.category.CategoryEntry;
+import com.expense.common.NotFoundException;
+import com.expense.common.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Group commit for single expense creates. With {@code expenses.ingest.enabled},
+ * {@code POST /api/expenses} enqueues the create and waits; one writer thread
+ * takes whatever has queued within {@code expenses.ingest.window} (up to
+ * {@code expenses.ingest.max-batch} items, from any users), writes it in one
+ * transaction and then releases every waiting caller. A burst of creates costs
+ * one commit per batch instead of one per row, and callers still answer 201
+ * only once their row is durable.
+ * <p>
+ * The queue is bounded; creates beyond {@code expenses.ingest.capacity} are
+ * refused with 503 rather than queued. If a batch fails, its items are retried
+ * one transaction each, so one bad row only fails its own caller.
+ * <p>
+ * A caller still queued after {@code expenses.ingest.max-wait} is taken off the
+ * queue and gets 503, which is safe to retry since nothing was written. A
+ * caller whose item the writer has already taken waits for that batch's
+ * outcome instead, so a 503 never hides a row that later commits.
+ * If the writer thread dies, the queue stops taking creates and fails those
+ * still waiting, rather than leaving them blocked.
+ */
+@ApplicationScoped
+public class ExpenseIngestQueue {
+
+    private static final Logger LOG = Logger.getLogger(ExpenseIngestQueue.class);
+
+    @Inject
+    ExpenseService expenseService;
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "expenses.ingest.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "expenses.ingest.capacity", defaultValue = "10000")
+    int capacity;
+
+    @ConfigProperty(name = "expenses.ingest.max-batch", defaultValue = "500")
+    int maxBatch;
+
+    @ConfigProperty(name = "expenses.ingest.window", defaultValue = "10ms")
+    Duration window;
+
+    @ConfigProperty(name = "expenses.ingest.max-wait", defaultValue = "5s")
+    Duration maxWait;
+
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    // ConcurrentLinkedQueue.size() walks the queue, so the depth is counted separately
+    private final AtomicInteger depth = new AtomicInteger();
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    private DistributionSummary batchSize;
+    private Timer commitTimer;
+    private Counter rejected;
+
+    record Pending(Long userId, CategoryEntry category, CreateExpenseRequest request, CompletableFuture<ExpenseResponse> result) {}
+
+    void start(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        registry.gauge("expenses.ingest.queue.depth", depth);
+        batchSize = DistributionSummary.builder("expenses.ingest.batch.size").publishPercentileHistogram().register(registry);
+        commitTimer = Timer.builder("expenses.ingest.commit").publishPercentileHistogram().register(registry);
+        rejected = registry.counter("expenses.ingest.rejected");
+        running = true;
+        writer = new Thread(this::drain, "expense-ingest");
+        writer.start();
+    }
+
+    void stop(@Observes ShutdownEvent event) {
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failQueued("Server is shutting down");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues the create and blocks until its batch has committed.
+     */
+    public ExpenseResponse create(Long userId, CreateExpenseRequest request) {
+        // Resolved here so an unknown category fails its own request, not the batch
+        CategoryEntry category = categoryCatalog.findAccessible(userId, request.categoryId)
+                .orElseThrow(() -> new NotFoundException("Category not found"));
+
+        if (!running || depth.incrementAndGet() > capacity) {
+            if (running) {
+                depth.decrementAndGet();
+            }
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many expenses are waiting to be written; retry shortly");
+        }
+        Pending pending = new Pending(userId, category, request, new CompletableFuture<>());
+        queue.offer(pending);
+        if (!running && queue.remove(pending)) {
+            // Shutdown began after the check above and nothing will drain the queue any more
+            depth.decrementAndGet();
+            throw new ServiceUnavailableException("Server is shutting down");
+        }
+        LockSupport.unpark(writer);
+
+        try {
+            return pending.result.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (queue.remove(pending)) {
+                // Never handed to the writer, so nothing was written and a retry cannot duplicate it
+                depth.decrementAndGet();
+                rejected.increment();
+                throw new ServiceUnavailableException("Timed out waiting for the expense to be written; retry shortly");
+            }
+            // Already in a batch being written: answer with that batch's outcome, bounded by its transaction timeout
+            return awaitWritten(pending);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (queue.remove(pending)) {
+                depth.decrementAndGet();
+            }
+            throw new IllegalStateException("Interrupted while waiting for a queued expense", e);
+        }
+    }
+
+    private static ExpenseResponse awaitWritten(Pending pending) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return pending.result.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw unwrap(e);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+            return cause;
+        }
+        return new IllegalStateException("Error writing queued expense", e.getCause());
+    }
+
+    private void drain() {
+        try {
+            drainLoop();
+        } finally {
+            if (running) {
+                // Only reached if the loop itself broke; refuse new creates rather than queue them for nobody
+                running = false;
+                LOG.error("Expense ingest writer stopped unexpectedly; queued creates are refused until restart");
+                failQueued("Expense ingest is unavailable");
+            }
+        }
+    }
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            Pending first = queue.poll();
+            if (first == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            batch.add(first);
+            // Keep collecting until the window closes or the batch is full; producers unpark us on every offer
+            long deadline = System.nanoTime() + window.toNanos();
+            while (batch.size() < maxBatch) {
+                Pending next = queue.poll();
+                if (next != null) {
+                    batch.add(next);
+                    continue;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !running) {
+                    break;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+            depth.addAndGet(-batch.size());
+            try {
+                write(batch);
+            } catch (Throwable e) {
+                // Fail this batch's callers and keep the writer going for the next one
+                LOG.errorf(e, "Batch of %d queued expenses could not be written", batch.size());
+                for (Pending pending : batch) {
+                    pending.result.completeExceptionally(new ServiceUnavailableException("Expense could not be written; retry shortly"));
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private void failQueued(String message) {
+        Pending left;
+        while ((left = queue.poll()) != null) {
+            depth.decrementAndGet();
+            left.result.completeExceptionally(new ServiceUnavailableException(message));
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        batchSize.record(batch.size());
+        long start = System.nanoTime();
+        List<ExpenseResponse> responses;
+        try {
+            responses = QuarkusTransaction.requiringNew().call(() -> expenseService.createQueued(batch));
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Batch of %d queued expenses failed, retrying them one by one", batch.size());
+            for (Pending pending : batch) {
+                try {
+                    List<ExpenseResponse> one = QuarkusTransaction.requiringNew().call(() -> expenseService.createQueued(List.of(pending)));
+                    pending.result.complete(one.get(0));
+                } catch (RuntimeException itemFailure) {
+                    pending.result.completeExceptionally(itemFailure);
+                }
+            }
+            return;
+        }
+        commitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result.complete(responses.get(i));
+        }
+    }
+}
@@ -1,53 +1,201 @@
 package com.expense.expense;
 
+import com.expense.report.CategoryTotal;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
-import io.quarkus.panache.common.Page;
 import io.quarkus.panache.common.Parameters;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class ExpenseRepository implements PanacheRepository<Expense> {
 
+    /**
+     * Entity reads that build ExpenseResponse fetch the category in the same
+     * statement; the user is never loaded (filters use the user_id column).
+     */
+    private static final String FETCH_CATEGORY = "from Expense e join fetch e.category where ";
+
+    /**
+     * One page in (date desc, id desc) order plus the first row of the next page,
+     * if any, so callers can tell whether another page follows without counting.
+     */
     public List<Expense> findFiltered(Long userId, Long categoryId, LocalDate startDate, LocalDate endDate, int page, int size) {
-        StringBuilder query = new StringBuilder("user.id = :userId");
         Parameters params = Parameters.with("userId", userId);
+        String query = FETCH_CATEGORY + filter("e.", categoryId, startDate, endDate, params) + " order by e.date desc, e.id desc";
+        int first = page * size;
+        return find(query, params).range(first, first + size).list();
+    }
+
+    /**
+     * Like {@link #findFiltered}, with each row paired with the total number of
+     * matching expenses computed by a window function in the same statement.
+     */
+    public List<Object[]> findFilteredWithTotal(Long userId, Long categoryId, LocalDate startDate, LocalDate endDate, int page, int size) {
+        Parameters params = Parameters.with("userId", userId);
+        String query = "select e, count(*) over () " + FETCH_CATEGORY
+                + filter("e.", categoryId, startDate, endDate, params) + " order by e.date desc, e.id desc";
+        TypedQuery<Object[]> rows = getEntityManager().createQuery(query, Object[].class)
+                .setFirstResult(page * size)
+                .setMaxResults(size + 1);
+        params.map().forEach(rows::setParameter);
+        return rows.getResultList();
+    }
+
+    /**
+     * Up to {@code limit} expenses that sort after {@code after} in (date desc, id desc)
+     * order. Seeks on idx_expenses_user_date_id instead of skipping an offset, so
+     * deep pages cost the same as the first.
+     */
+    public List<Expense> findAfter(Long userId, Long categoryId, LocalDate startDate, LocalDate endDate, ExpenseCursor after, int limit) {
+        Parameters params = Parameters.with("userId", userId);
+        String query = FETCH_CATEGORY + filter("e.", categoryId, startDate, endDate, params);
+        if (after != null) {
+            query += " and (e.date, e.id) < (:cursorDate, :cursorId)";
+            params.and("cursorDate", after.date).and("cursorId", after.id);
+        }
+        query += " order by e.date desc, e.id desc";
+        return find(query, params).range(0, limit - 1).list();
+    }
 
+    /**
+     * Ids of one page of full-text matches, best rank first (ties newest first),
+     * plus the first id of the next page. With {@code withTotal} each row also
+     * carries the number of matches as its second column.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Object[]> searchIds(Long userId, Long categoryId, LocalDate startDate, LocalDate endDate,
+                                    String tsQuery, int page, int size, boolean withTotal) {
+        StringBuilder sql = new StringBuilder("SELECT e.id, ")
+                .append(withTotal ? "COUNT(*) OVER ()" : "0")
+                .append(" FROM expenses e WHERE e.user_id = :userId AND e.search_vector @@ to_tsquery('simple', :query)");
         if (categoryId != null) {
-            query.append(" and category.id = :categoryId");
-            params.and("categoryId", categoryId);
+            sql.append(" AND e.category_id = :categoryId");
         }
         if (startDate != null) {
-            query.append(" and date >= :startDate");
-            params.and("startDate", startDate);
+            sql.append(" AND e.date >= :startDate");
         }
         if (endDate != null) {
-            query.append(" and date <= :endDate");
-            params.and("endDate", endDate);
+            sql.append(" AND e.date <= :endDate");
         }
-        query.append(" order by date desc, id desc");
+        sql.append(" ORDER BY ts_rank(e.search_vector, to_tsquery('simple', :query)) DESC, e.date DESC, e.id DESC");
 
-        return find(query.toString(), params).page(Page.of(page, size)).list();
+        Query query = getEntityManager().createNativeQuery(sql.toString())
+                .setParameter("userId", userId)
+                .setParameter("query", tsQuery)
+                .setFirstResult(page * size)
+                .setMaxResults(size + 1);
+        if (categoryId != null) {
+            query.setParameter("categoryId", categoryId);
+        }
+        if (startDate != null) {
+            query.setParameter("startDate", startDate);
+        }
+        if (endDate != null) {
+            query.setParameter("endDate", endDate);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Expenses written in ({@code after}, {@code upTo}] of the user's change
+     * sequence, oldest change first.
+     */
+    public List<Expense> findChanged(Long userId, long after, long upTo, int limit) {
+        return find(FETCH_CATEGORY + "e.user.id = ?1 and e.changeSeq > ?2 and e.changeSeq <= ?3 order by e.changeSeq",
+                userId, after, upTo).range(0, limit - 1).list();
+    }
+
+    public List<Expense> findByIdsWithCategory(Collection<Long> ids) {
+        return list("from Expense e join fetch e.category where e.id in ?1", ids);
     }
 
     public long countFiltered(Long userId, Long categoryId, LocalDate startDate, LocalDate endDate) {
-        StringBuilder query = new StringBuilder("user.id = :userId");
         Parameters params = Parameters.with("userId", userId);
+        return count(filter("", categoryId, startDate, endDate, params), params);
+    }
 
+    private static String filter(String alias, Long categoryId, LocalDate startDate, LocalDate endDate, Parameters params) {
+        StringBuilder query = new StringBuilder(alias + "user.id = :userId");
         if (categoryId != null) {
-            query.append(" and category.id = :categoryId");
+            query.append(" and ").append(alias).append("category.id = :categoryId");
             params.and("categoryId", categoryId);
         }
         if (startDate != null) {
-            query.append(" and date >= :startDate");
+            query.append(" and ").append(alias).append("date >= :startDate");
             params.and("startDate", startDate);
         }
         if (endDate != null) {
-            query.append(" and date <= :endDate");
+            query.append(" and ").append(alias).append("date <= :endDate");
             params.and("endDate", endDate);
         }
+        return query.toString();
+    }
+
+    public Optional<Expense> findByIdAndUserId(Long id, Long userId) {
+        return find(FETCH_CATEGORY + "e.id = ?1 and e.user.id = ?2", id, userId).firstResultOptional();
+    }
+
+    public List<Expense> findByUserIdAndIds(Long userId, Collection<Long> ids) {
+        return list("user.id = ?1 and id in ?2", userId, ids);
+    }
+
+    /**
+     * All of a user's expense amounts, oldest first, each with the change position the read reflects.
+     */
+    public Stream<ExpenseAmount> streamAmounts(Long userId) {
+        // Native for the scalar subquery: users.change_seq is not mapped, and one statement sees one snapshot
+        Stream<?> rows = getEntityManager().createNativeQuery(
+                        "SELECT CAST(e.date - DATE '1970-01-01' AS integer), CAST(e.amount * 100 AS bigint), e.category_id, " +
+                                "(SELECT u.change_seq FROM users u WHERE u.id = :userId) " +
+                                "FROM expenses e WHERE e.user_id = :userId ORDER BY e.date")
+                .setParameter("userId", userId)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, 1000)
+                .getResultStream();
+        return rows.map(row -> {
+            Object[] columns = (Object[]) row;
+            return new ExpenseAmount(((Number) columns[0]).intValue(), ((Number) columns[1]).longValue(),
+                    ((Number) columns[2]).longValue(), ((Number) columns[3]).longValue());
+        });
+    }
+
+    /**
+     * Filtered expenses in list order as flat rows, read through a server-side
+     * cursor (the fetch size bounds how many rows are held at once). Needs an
+     * open transaction for as long as the stream is consumed.
+     */
+    public Stream<ExpenseExportRow> streamForExport(Long userId, Long categoryId, LocalDate startDate, LocalDate endDate) {
+        Parameters params = Parameters.with("userId", userId);
+        String query = "SELECT new com.expense.expense.ExpenseExportRow(e.id, e.date, e.amount, c.id, c.name, " +
+                "e.description, e.createdAt, e.updatedAt) FROM Expense e JOIN e.category c WHERE " +
+                filter("e.", categoryId, startDate, endDate, params) + " ORDER BY e.date DESC, e.id DESC";
+        TypedQuery<ExpenseExportRow> rows = getEntityManager().createQuery(query, ExpenseExportRow.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, 500)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        params.map().forEach(rows::setParameter);
+        return rows.getResultStream();
+    }
 
-        return count(query.toString(), params);
+    /**
+     * Category totals for dates in [start, end), largest first. Reads only
+     * columns of idx_expenses_user_date_category, so it is an index-only scan.
+     */
+    public List<CategoryTotal> sumByCategory(Long userId, LocalDate start, LocalDate end) {
+        return getEntityManager().createQuery(
+                        "SELECT new com.expense.report.CategoryTotal(c.id, c.name, c.icon, CAST(SUM(e.amount) * 100 AS Long), COUNT(*)) " +
+                                "FROM Expense e JOIN e.category c " +
+                                "WHERE e.user.id = :userId AND e.date >= :start AND e.date < :end " +
+                                "GROUP BY c.id, c.name, c.icon ORDER BY SUM(e.amount) DESC, c.id",
+                        CategoryTotal.class)
+                .setParameter("userId", userId)
+                .setParameter("start", start)
+                .setParameter("end", end)
+                .getResultList();
     }
 }
@@ -1,5 +1,7 @@
 package com.expense.expense;
 
+import com.expense.auth.CurrentUser;
+import com.expense.common.CountMode;
 import com.expense.common.PaginatedResponse;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
@@ -15,21 +17,30 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import org.eclipse.microprofile.jwt.JsonWebToken;
+import jakarta.ws.rs.core.StreamingOutput;
 import io.quarkus.security.Authenticated;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import java.time.LocalDate;
+import java.util.List;
 
 @Path("/api/expenses")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 @Authenticated
+@RunOnVirtualThread
 public class ExpenseResource {
 
     @Inject
     ExpenseService expenseService;
 
     @Inject
-    JsonWebToken jwt;
+    ExpenseExporter expenseExporter;
+
+    @Inject
+    ExpenseIngestQueue ingestQueue;
+
+    @Inject
+    CurrentUser currentUser;
 
     @GET
     public PaginatedResponse<ExpenseResponse> getExpenses(
@@ -37,37 +48,78 @@ public class ExpenseResource {
             @QueryParam("startDate") LocalDate startDate,
             @QueryParam("endDate") LocalDate endDate,
             @QueryParam("page") @DefaultValue("0") int page,
-            @QueryParam("size") @DefaultValue("20") int size) {
-        Long userId = Long.parseLong(jwt.getSubject());
+            @QueryParam("size") @DefaultValue("20") int size,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("count") String count,
+            @QueryParam("q") String q) {
+        Long userId = currentUser.id();
         if (size > 100) size = 100;
-        return expenseService.getExpenses(userId, categoryId, startDate, endDate, page, size);
+        return expenseService.getExpenses(userId, categoryId, startDate, endDate, page, size, cursor, CountMode.parse(count), q);
+    }
+
+    @GET
+    @Path("/export")
+    public Response exportExpenses(
+            @QueryParam("format") String format,
+            @QueryParam("category") Long categoryId,
+            @QueryParam("startDate") LocalDate startDate,
+            @QueryParam("endDate") LocalDate endDate) {
+        Long userId = currentUser.id();
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        StreamingOutput body = output -> expenseExporter.export(userId, categoryId, startDate, endDate, exportFormat, output);
+        return Response.ok(body, exportFormat.mediaType)
+                .header("Content-Disposition", "attachment; filename=\"expenses." + exportFormat.extension + "\"")
+                .build();
     }
 
     @POST
     public Response createExpense(@Valid CreateExpenseRequest request) {
-        Long userId = Long.parseLong(jwt.getSubject());
-        ExpenseResponse response = expenseService.createExpense(userId, request);
+        Long userId = currentUser.id();
+        ExpenseResponse response = ingestQueue.isEnabled()
+                ? ingestQueue.create(userId, request)
+                : expenseService.createExpense(userId, request);
         return Response.status(Response.Status.CREATED).entity(response).build();
     }
 
+    @POST
+    @Path("/batch")
+    public ExpenseBatchResponse createExpenses(List<CreateExpenseRequest> requests) {
+        Long userId = currentUser.id();
+        return expenseService.createExpenses(userId, requests);
+    }
+
+    @PUT
+    @Path("/batch")
+    public ExpenseBatchResponse updateExpenses(List<UpdateExpenseBatchItem> items) {
+        Long userId = currentUser.id();
+        return expenseService.updateExpenses(userId, items);
+    }
+
+    @DELETE
+    @Path("/batch")
+    public ExpenseBatchResponse deleteExpenses(List<Long> ids) {
+        Long userId = currentUser.id();
+        return expenseService.deleteExpenses(userId, ids);
+    }
+
     @GET
     @Path("/{id}")
     public ExpenseResponse getExpense(@PathParam("id") Long id) {
-        Long userId = Long.parseLong(jwt.getSubject());
+        Long userId = currentUser.id();
         return expenseService.getExpense(userId, id);
     }
 
     @PUT
     @Path("/{id}")
     public ExpenseResponse updateExpense(@PathParam("id") Long id, @Valid CreateExpenseRequest request) {
-        Long userId = Long.parseLong(jwt.getSubject());
+        Long userId = currentUser.id();
         return expenseService.updateExpense(userId, id, request);
     }
 
     @DELETE
     @Path("/{id}")
     public Response deleteExpense(@PathParam("id") Long id) {
-        Long userId = Long.parseLong(jwt.getSubject());
+        Long userId = currentUser.id();
         expenseService.deleteExpense(userId, id);
         return Response.noContent().build();
     }
@@ -1,13 +1,13 @@
 package com.expense.expense;
 
 import com.expense.category.CategoryResponse;
-import java.math.BigDecimal;
+import com.expense.common.Money;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 public class ExpenseResponse {
     public Long id;
-    public BigDecimal amount;
+    public Money amount;
     public CategoryResponse category;
     public LocalDate date;
     public String description;
@@ -17,9 +17,16 @@ public class ExpenseResponse {
     public ExpenseResponse() {}
 
     public ExpenseResponse(Expense expense) {
+        this(expense, new CategoryResponse(expense.category));
+    }
+
+    /**
+     * For writes, where {@code expense.category} is an uninitialized reference.
+     */
+    public ExpenseResponse(Expense expense, CategoryResponse category) {
         this.id = expense.id;
-        this.amount = expense.amount;
-        this.category = new CategoryResponse(expense.category);
+        this.amount = Money.of(expense.amount);
+        this.category = category;
         this.date = expense.date;
         this.description = expense.description;
         this.createdAt = expense.createdAt;
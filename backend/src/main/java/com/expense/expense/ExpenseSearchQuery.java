@@ -0,0 +1,32 @@
+package com.expense.expense;
+
+import com.expense.common.ValidationException;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * Turns free text into a PostgreSQL tsquery in which every word must match as a
+ * prefix ({@code coff sho} becomes {@code coff:* & sho:*}). Only letters and digits are
+ * kept, so user input never reaches the tsquery parser as operators.
+ */
+final class ExpenseSearchQuery {
+
+    private static final int MAX_TERMS = 8;
+
+    private ExpenseSearchQuery() {}
+
+    static String prefixQuery(String text) {
+        StringJoiner query = new StringJoiner(" & ");
+        int terms = 0;
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty() && terms < MAX_TERMS) {
+                query.add(word + ":*");
+                terms++;
+            }
+        }
+        if (terms == 0) {
+            throw new ValidationException("q must contain at least one letter or digit");
+        }
+        return query.toString();
+    }
+}
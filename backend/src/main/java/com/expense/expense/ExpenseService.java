@@ -2,20 +2,47 @@ package com.expense.expense;
 
 import com.expense.auth.User;
 import com.expense.auth.UserRepository;
+import com.expense.budget.BudgetSpending;
 import com.expense.category.Category;
+import com.expense.category.CategoryCatalog;
+import com.expense.category.CategoryEntry;
 import com.expense.category.CategoryRepository;
+import com.expense.common.CountMode;
+import com.expense.common.Money;
 import com.expense.common.NotFoundException;
 import com.expense.common.PaginatedResponse;
+import com.expense.common.UserDataChangedEvent;
+import com.expense.common.ValidationException;
+import com.expense.report.MonthlyRollupRepository;
+import com.expense.sync.ChangeSequence;
+import com.expense.sync.Tombstone;
+import com.expense.sync.TombstoneRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class ExpenseService {
 
+    static final int MAX_BATCH_SIZE = 500;
+
     @Inject
     ExpenseRepository expenseRepository;
 
@@ -25,78 +52,449 @@ public class ExpenseService {
     @Inject
     CategoryRepository categoryRepository;
 
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    @Inject
+    MonthlyRollupRepository rollupRepository;
+
+    @Inject
+    BudgetSpending budgetSpending;
+
+    @Inject
+    ChangeSequence changeSequence;
+
+    @Inject
+    TombstoneRepository tombstoneRepository;
+
+    @Inject
+    Validator validator;
+
+    @Inject
+    Event<UserDataChangedEvent> dataChanged;
+
     @Transactional
     public ExpenseResponse createExpense(Long userId, CreateExpenseRequest request) {
-        User user = userRepository.findById(userId);
-        if (user == null) {
-            throw new NotFoundException("User not found");
-        }
 
-        Category category = categoryRepository.findById(request.categoryId);
-        if (category == null) {
-            throw new NotFoundException("Category not found");
-        }
-        // Verify category is accessible: must be default or owned by this user
-        if (!category.isDefault && (category.user == null || !category.user.id.equals(userId))) {
-            throw new NotFoundException("Category not found");
-        }
+        // Must be a default category or one owned by this user
+        CategoryEntry category = categoryCatalog.findAccessible(userId, request.categoryId)
+                .orElseThrow(() -> new NotFoundException("Category not found"));
 
         Expense expense = new Expense();
-        expense.user = user;
-        expense.category = category;
+        expense.changeSeq = changeSequence.next(userId);
+        expense.user = userRepository.reference(userId);
+        expense.category = reference(category);
         expense.amount = request.amount;
         expense.date = request.date;
         expense.description = request.description;
         expenseRepository.persist(expense);
+        Map<DayBucket, long[]> deltas = new HashMap<>();
+        addDelta(deltas, expense.date, category.id(), Money.centsOf(expense.amount), 1);
+        applyDeltas(userId, expense.changeSeq, deltas);
 
-        return new ExpenseResponse(expense);
+        return new ExpenseResponse(expense, category.toResponse());
     }
 
-    public ExpenseResponse getExpense(Long userId, Long expenseId) {
-        Expense expense = expenseRepository.findById(expenseId);
-        if (expense == null || !expense.user.id.equals(userId)) {
-            throw new NotFoundException("Expense not found");
+    /**
+     * Writes creates queued by {@link ExpenseIngestQueue}, from any number of
+     * users, in the caller's transaction: one change-sequence reservation and
+     * one set of rollup upserts per user. Categories were resolved at enqueue
+     * time. Responses are in item order.
+     */
+    @Transactional
+    List<ExpenseResponse> createQueued(List<ExpenseIngestQueue.Pending> items) {
+        // Users in id order so concurrent batches lock user rows in the same order
+        Map<Long, List<Integer>> byUser = new TreeMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            byUser.computeIfAbsent(items.get(i).userId(), userId -> new ArrayList<>()).add(i);
         }
+
+        ExpenseResponse[] responses = new ExpenseResponse[items.size()];
+        byUser.forEach((userId, indexes) -> {
+            long firstSeq = changeSequence.reserve(userId, indexes.size());
+            User user = userRepository.reference(userId);
+            Map<DayBucket, long[]> deltas = new HashMap<>();
+            for (int n = 0; n < indexes.size(); n++) {
+                ExpenseIngestQueue.Pending item = items.get(indexes.get(n));
+                Expense expense = new Expense();
+                expense.changeSeq = firstSeq + n;
+                expense.user = user;
+                expense.category = reference(item.category());
+                expense.amount = item.request().amount;
+                expense.date = item.request().date;
+                expense.description = item.request().description;
+                expenseRepository.persist(expense);
+                addDelta(deltas, expense.date, item.category().id(), Money.centsOf(expense.amount), 1);
+                responses[indexes.get(n)] = new ExpenseResponse(expense, item.category().toResponse());
+            }
+            applyDeltas(userId, firstSeq + indexes.size() - 1, deltas);
+        });
+        return Arrays.asList(responses);
+    }
+
+    public ExpenseResponse getExpense(Long userId, Long expenseId) {
+        Expense expense = expenseRepository.findByIdAndUserId(expenseId, userId)
+                .orElseThrow(() -> new NotFoundException("Expense not found"));
         return new ExpenseResponse(expense);
     }
 
-    public PaginatedResponse<ExpenseResponse> getExpenses(Long userId, Long categoryId, LocalDate startDate, LocalDate endDate, int page, int size) {
-        List<Expense> expenses = expenseRepository.findFiltered(userId, categoryId, startDate, endDate, page, size);
-        long total = expenseRepository.countFiltered(userId, categoryId, startDate, endDate);
+    public PaginatedResponse<ExpenseResponse> getExpenses(Long userId, Long categoryId, LocalDate startDate, LocalDate endDate,
+                                                          int page, int size, String cursor, CountMode countMode, String q) {
+        if (q != null && !q.isBlank()) {
+            if (cursor != null) {
+                throw new ValidationException("cursor cannot be combined with q; search results are paged by page number");
+            }
+            return searchExpenses(userId, categoryId, startDate, endDate, page, size, countMode, ExpenseSearchQuery.prefixQuery(q));
+        }
+
+        // Every read fetches one row past the page to learn whether another page follows
+        List<Expense> expenses;
+        Long total = null;
+        if (cursor != null) {
+            expenses = expenseRepository.findAfter(userId, categoryId, startDate, endDate, ExpenseCursor.decode(cursor), size + 1);
+        } else if (countMode == CountMode.EXACT) {
+            List<Object[]> rows = expenseRepository.findFilteredWithTotal(userId, categoryId, startDate, endDate, page, size);
+            expenses = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                expenses.add((Expense) row[0]);
+            }
+            if (!rows.isEmpty()) {
+                total = ((Number) rows.get(0)[1]).longValue();
+            } else if (page == 0) {
+                total = 0L;
+            }
+        } else {
+            expenses = expenseRepository.findFiltered(userId, categoryId, startDate, endDate, page, size);
+        }
+
+        boolean hasNext = expenses.size() > size;
+        if (hasNext) {
+            expenses = expenses.subList(0, size);
+        }
+
+        if (countMode == CountMode.EXACT && total == null) {
+            // Cursor pages, or an offset past the end, see no window total for the whole filter
+            total = expenseRepository.countFiltered(userId, categoryId, startDate, endDate);
+        } else if (countMode == CountMode.ESTIMATE) {
+            long seen = (cursor == null ? (long) page * size : 0) + expenses.size() + (hasNext ? 1 : 0);
+            total = Math.max(seen, rollupRepository.countExpenses(userId, categoryId, startDate, endDate));
+        }
+
         List<ExpenseResponse> content = expenses.stream().map(ExpenseResponse::new).collect(Collectors.toList());
-        return new PaginatedResponse<>(content, page, size, total);
+        PaginatedResponse<ExpenseResponse> response = new PaginatedResponse<>(content, page, size, total, countMode, hasNext);
+        if (hasNext) {
+            response.nextCursor = ExpenseCursor.after(expenses.get(expenses.size() - 1)).encode();
+        }
+        return response;
     }
 
-    @Transactional
-    public ExpenseResponse updateExpense(Long userId, Long expenseId, CreateExpenseRequest request) {
-        Expense expense = expenseRepository.findById(expenseId);
-        if (expense == null || !expense.user.id.equals(userId)) {
-            throw new NotFoundException("Expense not found");
+    /**
+     * Ranked full-text results: one native query picks the page of ids (and the
+     * total, in exact mode), a second loads those expenses with their categories.
+     * The rollup cannot estimate text matches, so estimate mode counts exactly.
+     */
+    private PaginatedResponse<ExpenseResponse> searchExpenses(Long userId, Long categoryId, LocalDate startDate, LocalDate endDate,
+                                                              int page, int size, CountMode countMode, String tsQuery) {
+        CountMode mode = countMode == CountMode.ESTIMATE ? CountMode.EXACT : countMode;
+        boolean withTotal = mode == CountMode.EXACT;
+        List<Object[]> rows = expenseRepository.searchIds(userId, categoryId, startDate, endDate, tsQuery, page, size, withTotal);
+
+        boolean hasNext = rows.size() > size;
+        List<Long> ids = new ArrayList<>(Math.min(rows.size(), size));
+        for (int i = 0; i < rows.size() && i < size; i++) {
+            ids.add(((Number) rows.get(i)[0]).longValue());
+        }
+
+        Long total = null;
+        if (withTotal) {
+            if (!rows.isEmpty()) {
+                total = ((Number) rows.get(0)[1]).longValue();
+            } else {
+                List<Object[]> first = page == 0 ? rows
+                        : expenseRepository.searchIds(userId, categoryId, startDate, endDate, tsQuery, 0, 0, true);
+                total = first.isEmpty() ? 0L : ((Number) first.get(0)[1]).longValue();
+            }
         }
 
-        Category category = categoryRepository.findById(request.categoryId);
-        if (category == null) {
-            throw new NotFoundException("Category not found");
+        Map<Long, Expense> byId = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Expense expense : expenseRepository.findByIdsWithCategory(ids)) {
+                byId.put(expense.id, expense);
+            }
         }
-        if (!category.isDefault && (category.user == null || !category.user.id.equals(userId))) {
-            throw new NotFoundException("Category not found");
+        List<ExpenseResponse> content = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Expense expense = byId.get(id);
+            if (expense != null) {
+                content.add(new ExpenseResponse(expense));
+            }
         }
+        return new PaginatedResponse<>(content, page, size, total, mode, hasNext);
+    }
 
-        expense.category = category;
+    @Transactional
+    public ExpenseResponse updateExpense(Long userId, Long expenseId, CreateExpenseRequest request) {
+        // Taking the position locks the user row, so a concurrent write to this expense
+        // waits here and then reads the amount this one leaves behind
+        long changeSeq = changeSequence.next(userId);
+        Expense expense = expenseRepository.findByIdAndUserId(expenseId, userId)
+                .orElseThrow(() -> new NotFoundException("Expense not found"));
+
+        CategoryEntry category = categoryCatalog.findAccessible(userId, request.categoryId)
+                .orElseThrow(() -> new NotFoundException("Category not found"));
+
+        expense.changeSeq = changeSeq;
+
+        // Move the old amount out of its rollup bucket and into the new one; a change within one bucket nets out
+        Map<DayBucket, long[]> deltas = new HashMap<>();
+        addDelta(deltas, expense.date, expense.category.id, -Money.centsOf(expense.amount), -1);
+
+        expense.category = reference(category);
         expense.amount = request.amount;
         expense.date = request.date;
         expense.description = request.description;
         expenseRepository.persist(expense);
+        addDelta(deltas, expense.date, category.id(), Money.centsOf(expense.amount), 1);
+        applyDeltas(userId, changeSeq, deltas);
 
-        return new ExpenseResponse(expense);
+        return new ExpenseResponse(expense, category.toResponse());
     }
 
     @Transactional
     public void deleteExpense(Long userId, Long expenseId) {
-        Expense expense = expenseRepository.findById(expenseId);
-        if (expense == null || !expense.user.id.equals(userId)) {
-            throw new NotFoundException("Expense not found");
-        }
+        // Locks the user row before the read, as in updateExpense
+        long changeSeq = changeSequence.next(userId);
+        Expense expense = expenseRepository.findByIdAndUserId(expenseId, userId)
+                .orElseThrow(() -> new NotFoundException("Expense not found"));
+        tombstoneRepository.persist(new Tombstone(userId, Tombstone.EXPENSE, expense.id, changeSeq));
         expenseRepository.delete(expense);
+        Map<DayBucket, long[]> deltas = new HashMap<>();
+        addDelta(deltas, expense.date, expense.category.id, -Money.centsOf(expense.amount), -1);
+        applyDeltas(userId, changeSeq, deltas);
+    }
+
+    @Transactional
+    public ExpenseBatchResponse createExpenses(Long userId, List<CreateExpenseRequest> requests) {
+        checkBatchSize(requests);
+        // One position per item; those of failed items go unused
+        long firstSeq = changeSequence.reserve(userId, requests.size());
+        User user = userRepository.reference(userId);
+        Map<Long, CategoryEntry> categories = accessibleCategories(userId, requests);
+        Map<DayBucket, long[]> deltas = new HashMap<>();
+        ExpenseBatchResponse response = new ExpenseBatchResponse();
+
+        for (int i = 0; i < requests.size(); i++) {
+            CreateExpenseRequest request = requests.get(i);
+            String invalid = validate(request);
+            if (invalid != null) {
+                response.failure(i, 400, null, "VALIDATION_ERROR", invalid);
+                continue;
+            }
+            CategoryEntry category = categories.get(request.categoryId);
+            if (category == null) {
+                response.failure(i, 404, null, "NOT_FOUND", "Category not found");
+                continue;
+            }
+
+            Expense expense = new Expense();
+            expense.changeSeq = firstSeq + i;
+            expense.user = user;
+            expense.category = reference(category);
+            expense.amount = request.amount;
+            expense.date = request.date;
+            expense.description = request.description;
+            // Ids come from the pooled sequence allocation; the inserts are sent as JDBC batches at flush
+            expenseRepository.persist(expense);
+            addDelta(deltas, expense.date, category.id(), Money.centsOf(expense.amount), 1);
+            response.success(i, 201, expense.id, new ExpenseResponse(expense, category.toResponse()));
+        }
+
+        applyDeltas(userId, firstSeq + requests.size() - 1, deltas);
+        return response;
+    }
+
+    @Transactional
+    public ExpenseBatchResponse updateExpenses(Long userId, List<UpdateExpenseBatchItem> items) {
+        checkBatchSize(items);
+        long firstSeq = changeSequence.reserve(userId, items.size());
+        Map<Long, Expense> expenses = ownedExpenses(userId, items.stream().filter(Objects::nonNull).map(item -> item.id).toList());
+        Map<Long, CategoryEntry> categories = accessibleCategories(userId, items);
+        Map<DayBucket, long[]> deltas = new HashMap<>();
+        Set<Long> seen = new HashSet<>();
+        Map<Integer, Expense> updated = new LinkedHashMap<>();
+        Map<Integer, CategoryEntry> updatedCategories = new HashMap<>();
+        ExpenseBatchResponse response = new ExpenseBatchResponse();
+
+        for (int i = 0; i < items.size(); i++) {
+            UpdateExpenseBatchItem item = items.get(i);
+            String invalid = validate(item);
+            if (invalid != null) {
+                response.failure(i, 400, item == null ? null : item.id, "VALIDATION_ERROR", invalid);
+                continue;
+            }
+            if (!seen.add(item.id)) {
+                response.failure(i, 400, item.id, "VALIDATION_ERROR", "Duplicate expense ID in batch");
+                continue;
+            }
+            Expense expense = expenses.get(item.id);
+            if (expense == null) {
+                response.failure(i, 404, item.id, "NOT_FOUND", "Expense not found");
+                continue;
+            }
+            CategoryEntry category = categories.get(item.categoryId);
+            if (category == null) {
+                response.failure(i, 404, item.id, "NOT_FOUND", "Category not found");
+                continue;
+            }
+
+            addDelta(deltas, expense.date, expense.category.id, -Money.centsOf(expense.amount), -1);
+            expense.changeSeq = firstSeq + i;
+            expense.category = reference(category);
+            expense.amount = item.amount;
+            expense.date = item.date;
+            expense.description = item.description;
+            addDelta(deltas, expense.date, category.id(), Money.centsOf(expense.amount), 1);
+            updated.put(i, expense);
+            updatedCategories.put(i, category);
+        }
+
+        // Flush first so the responses carry the updatedAt set by the batched UPDATEs
+        expenseRepository.flush();
+        updated.forEach((index, expense) -> response.success(index, 200, expense.id,
+                new ExpenseResponse(expense, updatedCategories.get(index).toResponse())));
+        response.results.sort(Comparator.comparingInt(result -> result.index));
+
+        applyDeltas(userId, firstSeq + items.size() - 1, deltas);
+        return response;
+    }
+
+    @Transactional
+    public ExpenseBatchResponse deleteExpenses(Long userId, List<Long> ids) {
+        checkBatchSize(ids);
+        long firstSeq = changeSequence.reserve(userId, ids.size());
+        Map<Long, Expense> expenses = ownedExpenses(userId, ids.stream().filter(Objects::nonNull).toList());
+        Map<DayBucket, long[]> deltas = new HashMap<>();
+        Set<Long> seen = new HashSet<>();
+        List<Long> deleted = new ArrayList<>();
+        ExpenseBatchResponse response = new ExpenseBatchResponse();
+
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                response.failure(i, 400, null, "VALIDATION_ERROR", "ID is required");
+                continue;
+            }
+            if (!seen.add(id)) {
+                response.failure(i, 400, id, "VALIDATION_ERROR", "Duplicate expense ID in batch");
+                continue;
+            }
+            Expense expense = expenses.get(id);
+            if (expense == null) {
+                response.failure(i, 404, id, "NOT_FOUND", "Expense not found");
+                continue;
+            }
+            addDelta(deltas, expense.date, expense.category.id, -Money.centsOf(expense.amount), -1);
+            deleted.add(id);
+            tombstoneRepository.persist(new Tombstone(userId, Tombstone.EXPENSE, id, firstSeq + i));
+            response.success(i, 204, id, null);
+        }
+
+        if (!deleted.isEmpty()) {
+            expenseRepository.delete("user.id = ?1 and id in ?2", userId, deleted);
+        }
+        applyDeltas(userId, firstSeq + ids.size() - 1, deltas);
+        return response;
     }
+
+    private void checkBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new ValidationException("Batch must contain at least one item");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Batch must contain at most " + MAX_BATCH_SIZE + " items");
+        }
+    }
+
+    private String validate(CreateExpenseRequest request) {
+        if (request == null) {
+            return "Item is required";
+        }
+        Set<ConstraintViolation<CreateExpenseRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Resolves every category referenced by the batch against the catalog.
+     */
+    private Map<Long, CategoryEntry> accessibleCategories(Long userId, List<? extends CreateExpenseRequest> requests) {
+        Map<Long, CategoryEntry> categories = new HashMap<>();
+        for (CreateExpenseRequest request : requests) {
+            if (request != null && request.categoryId != null && !categories.containsKey(request.categoryId)) {
+                categoryCatalog.findAccessible(userId, request.categoryId)
+                        .ifPresent(category -> categories.put(category.id(), category));
+            }
+        }
+        return categories;
+    }
+
+    /**
+     * An uninitialized reference for the foreign key; the catalog already vouched for the row.
+     */
+    private Category reference(CategoryEntry category) {
+        return categoryRepository.getEntityManager().getReference(Category.class, category.id());
+    }
+
+    private Map<Long, Expense> ownedExpenses(Long userId, List<Long> ids) {
+        Map<Long, Expense> expenses = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Expense expense : expenseRepository.findByUserIdAndIds(userId, new HashSet<>(ids))) {
+                expenses.put(expense.id, expense);
+            }
+        }
+        return expenses;
+    }
+
+    private record DayBucket(LocalDate date, Long categoryId) {}
+
+    private static void addDelta(Map<DayBucket, long[]> deltas, LocalDate date, Long categoryId, long cents, long count) {
+        long[] delta = deltas.computeIfAbsent(new DayBucket(date, categoryId), bucket -> new long[2]);
+        delta[0] += cents;
+        delta[1] += count;
+    }
+
+    /**
+     * Applies rollup changes with one upsert per touched (month, category) rather
+     * than one per item, then moves each touched month's budget total by the net
+     * change of that month. The per-day changes go out with the event, stamped
+     * with {@code changeSeq}, the highest change position the write took.
+     */
+    private void applyDeltas(Long userId, long changeSeq, Map<DayBucket, long[]> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Map<RollupBucket, long[]> rollups = new HashMap<>();
+        List<UserDataChangedEvent.ExpenseDelta> changes = new ArrayList<>();
+        deltas.forEach((bucket, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                long[] rollup = rollups.computeIfAbsent(new RollupBucket(YearMonth.from(bucket.date()), bucket.categoryId()), key -> new long[2]);
+                rollup[0] += delta[0];
+                rollup[1] += delta[1];
+                changes.add(new UserDataChangedEvent.ExpenseDelta(bucket.date(), bucket.categoryId(), delta[0], delta[1]));
+            }
+        });
+        Map<YearMonth, Long> monthCents = new TreeMap<>();
+        rollups.forEach((bucket, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                rollupRepository.add(userId, bucket.month().atDay(1), bucket.categoryId(), delta[0], delta[1]);
+                monthCents.merge(bucket.month(), delta[0], Long::sum);
+            }
+        });
+        monthCents.forEach((month, cents) -> budgetSpending.add(userId, month, cents));
+        dataChanged.fire(new UserDataChangedEvent(userId, changeSeq, changes));
+    }
+
+    private record RollupBucket(YearMonth month, Long categoryId) {}
 }
@@ -0,0 +1,9 @@
+package com.expense.expense;
+
+import jakarta.validation.constraints.NotNull;
+
+public class UpdateExpenseBatchItem extends CreateExpenseRequest {
+
+    @NotNull(message = "ID is required")
+    public Long id;
+}
@@ -0,0 +1,57 @@
+package com.expense.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Splits CSV input into records, joining physical lines while a quoted field
+ * is open. Fields are not split here; that is left to the parallel parsers.
+ */
+final class CsvRecordReader {
+
+    /** A record with an unterminated quote stops growing here and is rejected by the parser. */
+    private static final int MAX_RECORD_LENGTH = 16 * 1024;
+
+    record CsvRecord(long lineNumber, String text) {}
+
+    private final BufferedReader in;
+    private long lineNumber;
+
+    CsvRecordReader(BufferedReader in) {
+        this.in = in;
+    }
+
+    CsvRecord next() throws IOException {
+        String line = in.readLine();
+        if (line == null) {
+            return null;
+        }
+        long start = ++lineNumber;
+        if (quoteCount(line) % 2 == 0) {
+            return new CsvRecord(start, line);
+        }
+
+        StringBuilder record = new StringBuilder(line);
+        int quotes = quoteCount(line);
+        while (quotes % 2 != 0 && record.length() < MAX_RECORD_LENGTH) {
+            String more = in.readLine();
+            if (more == null) {
+                break;
+            }
+            lineNumber++;
+            record.append('\n').append(more);
+            quotes += quoteCount(more);
+        }
+        return new CsvRecord(start, record.toString());
+    }
+
+    private static int quoteCount(String line) {
+        int count = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,214 @@
+package com.expense.imports;
+
+import com.expense.common.ValidationException;
+import com.expense.imports.CsvRecordReader.CsvRecord;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Validates CSV records and turns them into COPY input for the staging table.
+ * Columns are located by header name (date, amount, category, description;
+ * others are ignored), so files produced by the export can be imported back.
+ * Immutable and safe to share between parser threads.
+ */
+final class ExpenseCsvParser {
+
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("99999999.99");
+
+    record Reject(long lineNumber, String reason) {}
+
+    record ParsedChunk(int records, int stagedRows, String staging, List<Reject> rejects) {}
+
+    private final int dateColumn;
+    private final int amountColumn;
+    private final int categoryColumn;
+    private final int descriptionColumn;
+    private final Map<String, Long> categoryIds;
+
+    private ExpenseCsvParser(int dateColumn, int amountColumn, int categoryColumn, int descriptionColumn,
+                             Map<String, Long> categoryIds) {
+        this.dateColumn = dateColumn;
+        this.amountColumn = amountColumn;
+        this.categoryColumn = categoryColumn;
+        this.descriptionColumn = descriptionColumn;
+        this.categoryIds = categoryIds;
+    }
+
+    /**
+     * @param categoryIds ids keyed by {@link #categoryKey(String)} of the category name
+     */
+    static ExpenseCsvParser forHeader(String header, Map<String, Long> categoryIds) {
+        List<String> columns = splitFields(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        if (columns == null) {
+            throw new ValidationException("CSV header is malformed");
+        }
+        int date = -1, amount = -1, category = -1, description = -1;
+        for (int i = 0; i < columns.size(); i++) {
+            switch (columns.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "date" -> date = i;
+                case "amount" -> amount = i;
+                case "category" -> category = i;
+                case "description" -> description = i;
+                default -> { }
+            }
+        }
+        if (date < 0 || amount < 0 || category < 0) {
+            throw new ValidationException("CSV header must contain date, amount and category columns");
+        }
+        return new ExpenseCsvParser(date, amount, category, description, categoryIds);
+    }
+
+    static String categoryKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    ParsedChunk parse(long jobId, List<CsvRecord> records) {
+        StringBuilder staging = new StringBuilder(records.size() * 64);
+        List<Reject> rejects = new ArrayList<>();
+        int staged = 0;
+        for (CsvRecord record : records) {
+            if (record.text().isBlank()) {
+                continue;
+            }
+            String reason = stage(jobId, record, staging);
+            if (reason == null) {
+                staged++;
+            } else {
+                rejects.add(new Reject(record.lineNumber(), ImportJobRepository.truncate(reason)));
+            }
+        }
+        return new ParsedChunk(records.size(), staged, staging.toString(), rejects);
+    }
+
+    /**
+     * Appends one staging line for a valid record, or returns why it was rejected.
+     */
+    private String stage(long jobId, CsvRecord record, StringBuilder staging) {
+        List<String> fields = splitFields(record.text());
+        if (fields == null) {
+            return "Unterminated quoted field";
+        }
+        int required = Math.max(dateColumn, Math.max(amountColumn, categoryColumn)) + 1;
+        if (fields.size() < required) {
+            return "Expected at least " + required + " columns, found " + fields.size();
+        }
+
+        LocalDate date;
+        try {
+            date = LocalDate.parse(fields.get(dateColumn).trim());
+        } catch (DateTimeParseException e) {
+            return "Invalid date '" + fields.get(dateColumn) + "' (expected YYYY-MM-DD)";
+        }
+
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(fields.get(amountColumn).trim()).setScale(2, RoundingMode.HALF_UP);
+        } catch (NumberFormatException e) {
+            return "Invalid amount '" + fields.get(amountColumn) + "'";
+        }
+        if (amount.signum() <= 0) {
+            return "Amount must be greater than 0";
+        }
+        if (amount.compareTo(MAX_AMOUNT) > 0) {
+            return "Amount is too large";
+        }
+
+        String categoryName = unescapeFormula(fields.get(categoryColumn));
+        if (categoryName.isBlank()) {
+            return "Category is required";
+        }
+        Long categoryId = categoryIds.get(categoryKey(categoryName));
+        if (categoryId == null) {
+            return "Unknown category '" + categoryName.trim() + "'";
+        }
+
+        String description = descriptionColumn >= 0 && descriptionColumn < fields.size()
+                ? unescapeFormula(fields.get(descriptionColumn)) : null;
+        if (description != null && description.isEmpty()) {
+            description = null;
+        }
+        if (description != null && description.length() > 500) {
+            return "Description must be at most 500 characters";
+        }
+
+        staging.append(jobId).append(',')
+                .append(record.lineNumber()).append(',')
+                .append(date).append(',')
+                .append(amount.toPlainString()).append(',')
+                .append(categoryId).append(',');
+        if (description != null) {
+            appendQuoted(staging, description);
+        }
+        staging.append('\n');
+        return null;
+    }
+
+    /**
+     * Drops the {@code '} the export puts before a value a spreadsheet would read as a formula.
+     */
+    static String unescapeFormula(String value) {
+        if (value.length() > 1 && value.charAt(0) == '\'') {
+            char next = value.charAt(1);
+            if (next == '=' || next == '+' || next == '-' || next == '@' || next == '\t' || next == '\r') {
+                return value.substring(1);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * RFC 4180 field splitting; returns null if a quoted field is not closed.
+     */
+    static List<String> splitFields(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (i < record.length()) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+            i++;
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    static void appendQuoted(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+}
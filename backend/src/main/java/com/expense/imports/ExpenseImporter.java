@@ -0,0 +1,349 @@
+package com.expense.imports;
+
+import com.expense.budget.BudgetSpending;
+import com.expense.category.CategoryCatalog;
+import com.expense.category.CategoryEntry;
+import com.expense.common.UserDataChangedEvent;
+import com.expense.imports.CsvRecordReader.CsvRecord;
+import com.expense.imports.ExpenseCsvParser.ParsedChunk;
+import com.expense.imports.ExpenseCsvParser.Reject;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs CSV import jobs in the background, one at a time:
+ * <ol>
+ * <li>records are read sequentially and handed to a parser pool in chunks;</li>
+ * <li>each parsed chunk is loaded in file order with COPY into
+ * expense_import_staging (and its rejects into import_rejects), with the job's
+ * progress counters updated after every chunk;</li>
+ * <li>one transaction then inserts every staged row into expenses, using ids
+ * from expenses_seq blocks, and folds them into the monthly rollup.</li>
+ * </ol>
+ * Nothing reaches expenses unless the whole file was read; a failed job leaves
+ * only its rejects behind.
+ */
+@ApplicationScoped
+public class ExpenseImporter {
+
+    private static final Logger LOG = Logger.getLogger(ExpenseImporter.class);
+
+    /** Matches the allocation size of the expenses_seq pooled generator. */
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private static final String COPY_STAGING =
+            "COPY expense_import_staging (job_id, line_number, date, amount, category_id, description) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_REJECTS =
+            "COPY import_rejects (job_id, line_number, reason) FROM STDIN WITH (FORMAT csv)";
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    @Inject
+    ImportJobRepository importJobRepository;
+
+    @Inject
+    BudgetSpending budgetSpending;
+
+    @Inject
+    Event<UserDataChangedEvent> dataChanged;
+
+    @ConfigProperty(name = "imports.parser-threads", defaultValue = "4")
+    int parserThreads;
+
+    @ConfigProperty(name = "imports.chunk-size", defaultValue = "5000")
+    int chunkSize;
+
+    @ConfigProperty(name = "imports.max-stored-rejects", defaultValue = "10000")
+    int maxStoredRejects;
+
+    private ExecutorService jobExecutor;
+    private ExecutorService parserExecutor;
+
+    @PostConstruct
+    void start() {
+        jobExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "expense-import"));
+        parserExecutor = Executors.newFixedThreadPool(parserThreads, runnable -> new Thread(runnable, "expense-import-parser"));
+    }
+
+    @PreDestroy
+    void stop() {
+        jobExecutor.shutdownNow();
+        parserExecutor.shutdownNow();
+    }
+
+    /**
+     * Queues the job; {@code file} is owned by the importer from here on and deleted when the job ends.
+     */
+    public void submit(Long jobId, Long userId, Path file) {
+        jobExecutor.submit(() -> run(jobId, userId, file));
+    }
+
+    private void run(Long jobId, Long userId, Path file) {
+        try {
+            QuarkusTransaction.requiringNew().run(() -> importJobRepository.update(
+                    "status = ?1 where id = ?2", ImportStatus.RUNNING, jobId));
+            Map<String, Long> categoryIds = QuarkusTransaction.requiringNew().call(() -> categoryIds(userId));
+            load(jobId, file, categoryIds);
+            QuarkusTransaction.requiringNew().run(() -> publish(jobId, userId));
+        } catch (Exception e) {
+            LOG.errorf(e, "Import job %d failed", jobId);
+            String message = e instanceof ExecutionException && e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+            QuarkusTransaction.requiringNew().run(() -> {
+                importJobRepository.deleteStaging(jobId);
+                importJobRepository.markFailed(jobId, message != null ? message : e.getClass().getSimpleName());
+            });
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOG.warnf(e, "Could not delete import upload %s", file);
+            }
+        }
+    }
+
+    /**
+     * Every category the user can assign, keyed case-insensitively by name.
+     */
+    private Map<String, Long> categoryIds(Long userId) {
+        Map<String, Long> ids = new HashMap<>();
+        for (CategoryEntry category : categoryCatalog.listForUser(userId)) {
+            ids.putIfAbsent(ExpenseCsvParser.categoryKey(category.name()), category.id());
+        }
+        return ids;
+    }
+
+    private void load(Long jobId, Path file, Map<String, Long> categoryIds)
+            throws IOException, SQLException, InterruptedException, ExecutionException {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             Connection connection = dataSource.getConnection()) {
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+            CsvRecordReader records = new CsvRecordReader(in);
+            CsvRecord header = records.next();
+            if (header == null) {
+                throw new IllegalArgumentException("The file is empty");
+            }
+            ExpenseCsvParser parser = ExpenseCsvParser.forHeader(header.text(), categoryIds);
+
+            // Parse up to parserThreads chunks ahead of the loader, loading strictly in file order
+            Progress progress = new Progress();
+            Deque<Future<ParsedChunk>> inFlight = new ArrayDeque<>();
+            List<CsvRecord> chunk = new ArrayList<>(chunkSize);
+            CsvRecord record;
+            while ((record = records.next()) != null) {
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    List<CsvRecord> parsed = chunk;
+                    inFlight.add(parserExecutor.submit(() -> parser.parse(jobId, parsed)));
+                    chunk = new ArrayList<>(chunkSize);
+                    if (inFlight.size() > parserThreads) {
+                        store(connection, copy, jobId, inFlight.poll().get(), progress);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                List<CsvRecord> parsed = chunk;
+                inFlight.add(parserExecutor.submit(() -> parser.parse(jobId, parsed)));
+            }
+            while (!inFlight.isEmpty()) {
+                store(connection, copy, jobId, inFlight.poll().get(), progress);
+            }
+        }
+    }
+
+    private void store(Connection connection, CopyManager copy, Long jobId, ParsedChunk chunk, Progress progress)
+            throws SQLException, IOException {
+        if (chunk.stagedRows() > 0) {
+            copy.copyIn(COPY_STAGING, new StringReader(chunk.staging()));
+        }
+
+        long stored = Math.min(progress.rejected, maxStoredRejects);
+        int room = (int) Math.min(chunk.rejects().size(), maxStoredRejects - stored);
+        if (room > 0) {
+            StringBuilder rejects = new StringBuilder();
+            for (Reject reject : chunk.rejects().subList(0, room)) {
+                rejects.append(jobId).append(',').append(reject.lineNumber()).append(',');
+                ExpenseCsvParser.appendQuoted(rejects, reject.reason());
+                rejects.append('\n');
+            }
+            copy.copyIn(COPY_REJECTS, new StringReader(rejects.toString()));
+        }
+
+        progress.processed += chunk.records();
+        progress.rejected += chunk.rejects().size();
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE import_jobs SET processed_rows = ?, rejected_rows = ? WHERE id = ?")) {
+            update.setLong(1, progress.processed);
+            update.setLong(2, progress.rejected);
+            update.setLong(3, jobId);
+            update.executeUpdate();
+        }
+    }
+
+    /**
+     * Moves the staged rows into expenses and the rollup. Runs in one transaction.
+     */
+    private void publish(Long jobId, Long userId) {
+        Map<YearMonth, Long> monthCents = new TreeMap<>();
+        long imported = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            long rows = countStaged(connection, jobId);
+            if (rows > 0) {
+                // Reserved first, like every other writer, so the user row is locked before the rollup rows
+                long firstSeq = reserveChangeSeq(connection, userId, rows);
+                insertExpenses(connection, jobId, userId, idBlocks(connection, (rows + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE), firstSeq);
+                addToRollup(connection, jobId, userId);
+                monthCents.putAll(monthTotals(connection, jobId));
+            }
+            return rows;
+        });
+        monthCents.forEach((month, cents) -> budgetSpending.add(userId, month, cents));
+        importJobRepository.deleteStaging(jobId);
+        importJobRepository.update("status = ?1, importedRows = ?2, finishedAt = ?3 where id = ?4",
+                ImportStatus.COMPLETED, imported, LocalDateTime.now(), jobId);
+        if (imported > 0) {
+            dataChanged.fire(new UserDataChangedEvent(userId));
+        }
+    }
+
+    private static long countStaged(Connection connection, Long jobId) throws SQLException {
+        try (PreparedStatement count = connection.prepareStatement(
+                "SELECT COUNT(*) FROM expense_import_staging WHERE job_id = ?")) {
+            count.setLong(1, jobId);
+            try (ResultSet rs = count.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    /**
+     * Reserves id blocks the same way the pooled optimizer does: a sequence value
+     * v owns ids (v - 49 .. v). The sequence's initial value is skipped because
+     * Hibernate treats that one specially.
+     */
+    private static Long[] idBlocks(Connection connection, long blocks) throws SQLException {
+        List<Long> ends = new ArrayList<>();
+        try (PreparedStatement next = connection.prepareStatement(
+                "SELECT nextval('expenses_seq') FROM generate_series(1, ?)")) {
+            while (ends.size() < blocks) {
+                next.setLong(1, blocks - ends.size());
+                try (ResultSet rs = next.executeQuery()) {
+                    while (rs.next()) {
+                        long end = rs.getLong(1);
+                        if (end >= ID_BLOCK_SIZE) {
+                            ends.add(end);
+                        }
+                    }
+                }
+            }
+        }
+        return ends.toArray(new Long[0]);
+    }
+
+    /**
+     * The JDBC form of {@link com.expense.sync.ChangeSequence#reserve}: one position per staged row.
+     */
+    private static long reserveChangeSeq(Connection connection, Long userId, long rows) throws SQLException {
+        try (PreparedStatement reserve = connection.prepareStatement(
+                "UPDATE users SET change_seq = change_seq + ? WHERE id = ? RETURNING change_seq")) {
+            reserve.setLong(1, rows);
+            reserve.setLong(2, userId);
+            try (ResultSet rs = reserve.executeQuery()) {
+                rs.next();
+                return rs.getLong(1) - rows + 1;
+            }
+        }
+    }
+
+    private static void insertExpenses(Connection connection, Long jobId, Long userId, Long[] blockEnds, long firstSeq) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO expenses (id, user_id, category_id, amount, date, description, change_seq, created_at, updated_at) " +
+                        "SELECT (CAST(? AS bigint[]))[rn / " + ID_BLOCK_SIZE + " + 1] - " + (ID_BLOCK_SIZE - 1) +
+                        " + rn % " + ID_BLOCK_SIZE + ", ?, category_id, amount, date, description, ? + rn, NOW(), NOW() " +
+                        "FROM (SELECT s.*, ROW_NUMBER() OVER (ORDER BY line_number) - 1 AS rn " +
+                        "FROM expense_import_staging s WHERE job_id = ?) staged")) {
+            insert.setArray(1, connection.createArrayOf("bigint", blockEnds));
+            insert.setLong(2, userId);
+            insert.setLong(3, firstSeq);
+            insert.setLong(4, jobId);
+            insert.executeUpdate();
+        }
+    }
+
+    private static void addToRollup(Connection connection, Long jobId, Long userId) throws SQLException {
+        try (PreparedStatement upsert = connection.prepareStatement(
+                "INSERT INTO expense_monthly_rollups (user_id, year, month, category_id, sum_cents, expense_count) " +
+                        "SELECT ?, CAST(EXTRACT(YEAR FROM date) AS integer), CAST(EXTRACT(MONTH FROM date) AS integer), " +
+                        "category_id, CAST(SUM(amount * 100) AS bigint), COUNT(*) " +
+                        "FROM expense_import_staging WHERE job_id = ? " +
+                        "GROUP BY EXTRACT(YEAR FROM date), EXTRACT(MONTH FROM date), category_id " +
+                        "ON CONFLICT (user_id, year, month, category_id) DO UPDATE SET " +
+                        "sum_cents = expense_monthly_rollups.sum_cents + EXCLUDED.sum_cents, " +
+                        "expense_count = expense_monthly_rollups.expense_count + EXCLUDED.expense_count")) {
+            upsert.setLong(1, userId);
+            upsert.setLong(2, jobId);
+            upsert.executeUpdate();
+        }
+    }
+
+    private static Map<YearMonth, Long> monthTotals(Connection connection, Long jobId) throws SQLException {
+        Map<YearMonth, Long> totals = new TreeMap<>();
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT CAST(EXTRACT(YEAR FROM date) AS integer), CAST(EXTRACT(MONTH FROM date) AS integer), " +
+                        "CAST(SUM(amount * 100) AS bigint) FROM expense_import_staging WHERE job_id = ? " +
+                        "GROUP BY EXTRACT(YEAR FROM date), EXTRACT(MONTH FROM date)")) {
+            select.setLong(1, jobId);
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    totals.put(YearMonth.of(rs.getInt(1), rs.getInt(2)), rs.getLong(3));
+                }
+            }
+        }
+        return totals;
+    }
+
+    private static final class Progress {
+        long processed;
+        long rejected;
+    }
+}
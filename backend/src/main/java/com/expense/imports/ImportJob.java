@@ -0,0 +1,48 @@
+package com.expense.imports;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "import_jobs")
+public class ImportJob extends PanacheEntity {
+
+    @Column(name = "user_id", nullable = false)
+    public Long userId;
+
+    @Column(name = "file_name", length = 255)
+    public String fileName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    public ImportStatus status;
+
+    @Column(name = "processed_rows", nullable = false)
+    public long processedRows;
+
+    @Column(name = "imported_rows", nullable = false)
+    public long importedRows;
+
+    @Column(name = "rejected_rows", nullable = false)
+    public long rejectedRows;
+
+    @Column(name = "error_message", length = 500)
+    public String errorMessage;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    public LocalDateTime createdAt;
+
+    @Column(name = "finished_at")
+    public LocalDateTime finishedAt;
+
+    @PrePersist
+    public void prePersist() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,74 @@
+package com.expense.imports;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@ApplicationScoped
+public class ImportJobRepository implements PanacheRepository<ImportJob> {
+
+    public Optional<ImportJob> findByIdAndUserId(Long id, Long userId) {
+        return find("id = ?1 and userId = ?2", id, userId).firstResultOptional();
+    }
+
+    /**
+     * Inserts a queued job unless the user already has a queued or running one
+     * (idx_import_jobs_one_active); returns the new id, empty in that case.
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<Long> insertQueued(Long userId, String fileName) {
+        List<Number> ids = getEntityManager().createNativeQuery(
+                        "INSERT INTO import_jobs (id, user_id, file_name, status, created_at) " +
+                                "VALUES (nextval('import_jobs_seq'), :userId, :fileName, 'QUEUED', NOW()) " +
+                                "ON CONFLICT (user_id) WHERE status IN ('QUEUED', 'RUNNING') DO NOTHING " +
+                                "RETURNING id")
+                .setParameter("userId", userId)
+                .setParameter("fileName", fileName)
+                .getResultList();
+        return ids.stream().findFirst().map(Number::longValue);
+    }
+
+    public List<ImportJob> findActive() {
+        return list("status in ?1", List.of(ImportStatus.QUEUED, ImportStatus.RUNNING));
+    }
+
+    public void markFailed(Long id, String message) {
+        update("status = ?1, errorMessage = ?2, finishedAt = ?3 where id = ?4",
+                ImportStatus.FAILED, truncate(message), LocalDateTime.now(), id);
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<ImportRejectResponse> findRejects(Long jobId, int page, int size) {
+        List<Object[]> rows = getEntityManager().createNativeQuery(
+                        "SELECT line_number, reason FROM import_rejects WHERE job_id = :jobId ORDER BY line_number")
+                .setParameter("jobId", jobId)
+                .setFirstResult(page * size)
+                .setMaxResults(size)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new ImportRejectResponse(((Number) row[0]).longValue(), (String) row[1]))
+                .toList();
+    }
+
+    public long countRejects(Long jobId) {
+        return ((Number) getEntityManager().createNativeQuery(
+                        "SELECT COUNT(*) FROM import_rejects WHERE job_id = :jobId")
+                .setParameter("jobId", jobId)
+                .getSingleResult()).longValue();
+    }
+
+    public void deleteStaging(Long jobId) {
+        getEntityManager().createNativeQuery("DELETE FROM expense_import_staging WHERE job_id = :jobId")
+                .setParameter("jobId", jobId)
+                .executeUpdate();
+    }
+
+    static String truncate(String message) {
+        if (message == null || message.length() <= 500) {
+            return message;
+        }
+        return message.substring(0, 497) + "...";
+    }
+}
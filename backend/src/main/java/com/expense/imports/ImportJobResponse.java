@@ -0,0 +1,29 @@
+package com.expense.imports;
+
+import java.time.LocalDateTime;
+
+public class ImportJobResponse {
+    public Long id;
+    public String fileName;
+    public ImportStatus status;
+    public long processedRows;
+    public long importedRows;
+    public long rejectedRows;
+    public String errorMessage;
+    public LocalDateTime createdAt;
+    public LocalDateTime finishedAt;
+
+    public ImportJobResponse() {}
+
+    public ImportJobResponse(ImportJob job) {
+        this.id = job.id;
+        this.fileName = job.fileName;
+        this.status = job.status;
+        this.processedRows = job.processedRows;
+        this.importedRows = job.importedRows;
+        this.rejectedRows = job.rejectedRows;
+        this.errorMessage = job.errorMessage;
+        this.createdAt = job.createdAt;
+        this.finishedAt = job.finishedAt;
+    }
+}
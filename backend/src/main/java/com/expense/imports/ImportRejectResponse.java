@@ -0,0 +1,13 @@
+package com.expense.imports;
+
+public class ImportRejectResponse {
+    public long lineNumber;
+    public String reason;
+
+    public ImportRejectResponse() {}
+
+    public ImportRejectResponse(long lineNumber, String reason) {
+        this.lineNumber = lineNumber;
+        this.reason = reason;
+    }
+}
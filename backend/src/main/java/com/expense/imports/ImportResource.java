@@ -0,0 +1,63 @@
+package com.expense.imports;
+
+import com.expense.auth.CurrentUser;
+import com.expense.common.PaginatedResponse;
+import com.expense.common.ValidationException;
+import io.quarkus.security.Authenticated;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.jboss.resteasy.reactive.RestForm;
+import org.jboss.resteasy.reactive.multipart.FileUpload;
+import java.net.URI;
+
+@Path("/api/imports")
+@Produces(MediaType.APPLICATION_JSON)
+@Authenticated
+@RunOnVirtualThread
+public class ImportResource {
+
+    @Inject
+    ImportService importService;
+
+    @Inject
+    CurrentUser currentUser;
+
+    @POST
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    public Response startImport(@RestForm("file") FileUpload file) {
+        Long userId = currentUser.id();
+        if (file == null) {
+            throw new ValidationException("A CSV file is required");
+        }
+        ImportJobResponse job = importService.startImport(userId, file.fileName(), file.uploadedFile());
+        return Response.accepted(job).location(URI.create("/api/imports/" + job.id)).build();
+    }
+
+    @GET
+    @Path("/{id}")
+    public ImportJobResponse getImport(@PathParam("id") Long id) {
+        Long userId = currentUser.id();
+        return importService.getJob(userId, id);
+    }
+
+    @GET
+    @Path("/{id}/rejects")
+    public PaginatedResponse<ImportRejectResponse> getRejects(
+            @PathParam("id") Long id,
+            @QueryParam("page") @DefaultValue("0") int page,
+            @QueryParam("size") @DefaultValue("100") int size) {
+        Long userId = currentUser.id();
+        if (size > 1000) size = 1000;
+        return importService.getRejects(userId, id, page, size);
+    }
+}
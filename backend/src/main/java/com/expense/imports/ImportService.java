@@ -0,0 +1,93 @@
+package com.expense.imports;
+
+import com.expense.common.ConflictException;
+import com.expense.common.NotFoundException;
+import com.expense.common.PaginatedResponse;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+@ApplicationScoped
+public class ImportService {
+
+    @Inject
+    ImportJobRepository importJobRepository;
+
+    @Inject
+    ExpenseImporter expenseImporter;
+
+    /**
+     * Records the job and queues it. The upload is copied first because the
+     * HTTP layer deletes it when the request ends.
+     */
+    public ImportJobResponse startImport(Long userId, String fileName, Path upload) {
+        Path file;
+        try {
+            file = Files.createTempFile("expense-import-", ".csv");
+            Files.copy(upload, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ImportJob job;
+        try {
+            job = QuarkusTransaction.requiringNew().call(() -> createJob(userId, fileName));
+        } catch (RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+        expenseImporter.submit(job.id, userId, file);
+        return new ImportJobResponse(job);
+    }
+
+    private ImportJob createJob(Long userId, String fileName) {
+        String name = fileName != null && fileName.length() > 255 ? fileName.substring(0, 255) : fileName;
+        // A check-then-insert would let two concurrent uploads both start; the unique index decides instead
+        Long jobId = importJobRepository.insertQueued(userId, name)
+                .orElseThrow(() -> new ConflictException("An import is already in progress"));
+        return importJobRepository.findById(jobId);
+    }
+
+    public ImportJobResponse getJob(Long userId, Long jobId) {
+        return new ImportJobResponse(findJob(userId, jobId));
+    }
+
+    public PaginatedResponse<ImportRejectResponse> getRejects(Long userId, Long jobId, int page, int size) {
+        ImportJob job = findJob(userId, jobId);
+        List<ImportRejectResponse> rejects = importJobRepository.findRejects(job.id, page, size);
+        return new PaginatedResponse<>(rejects, page, size, importJobRepository.countRejects(job.id));
+    }
+
+    private ImportJob findJob(Long userId, Long jobId) {
+        return importJobRepository.findByIdAndUserId(jobId, userId)
+                .orElseThrow(() -> new NotFoundException("Import not found"));
+    }
+
+    /**
+     * Jobs do not survive a restart; fail the ones that were queued or running.
+     */
+    @Transactional
+    void failInterruptedJobs(@Observes StartupEvent event) {
+        for (ImportJob job : importJobRepository.findActive()) {
+            importJobRepository.deleteStaging(job.id);
+            importJobRepository.markFailed(job.id, "Interrupted by a server restart");
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // Temp file; the OS cleans it up eventually
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.expense.imports;
+
+public enum ImportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
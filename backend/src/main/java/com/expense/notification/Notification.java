@@ -0,0 +1,45 @@
+package com.expense.notification;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notifications")
+public class Notification extends PanacheEntity {
+
+    @Column(name = "user_id", nullable = false)
+    public Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    public NotificationType type;
+
+    @Column(name = "budget_id")
+    public Long budgetId;
+
+    public Integer month;
+
+    public Integer year;
+
+    public Integer threshold;
+
+    @Column(nullable = false, length = 255)
+    public String message;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    public LocalDateTime createdAt;
+
+    @Column(name = "read_at")
+    public LocalDateTime readAt;
+
+    @PrePersist
+    public void prePersist() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,32 @@
+package com.expense.notification;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Sort;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@ApplicationScoped
+public class NotificationRepository implements PanacheRepository<Notification> {
+
+    /**
+     * Newest first.
+     */
+    public List<Notification> findByUserId(Long userId, boolean unreadOnly, int page, int size) {
+        String query = unreadOnly ? "userId = ?1 and readAt is null" : "userId = ?1";
+        return find(query, Sort.descending("id"), userId).page(page, size).list();
+    }
+
+    public long countByUserId(Long userId, boolean unreadOnly) {
+        return count(unreadOnly ? "userId = ?1 and readAt is null" : "userId = ?1", userId);
+    }
+
+    public Optional<Notification> findByIdAndUserId(Long id, Long userId) {
+        return find("id = ?1 and userId = ?2", id, userId).firstResultOptional();
+    }
+
+    public int markAllRead(Long userId) {
+        return update("readAt = ?1 where userId = ?2 and readAt is null", LocalDateTime.now(), userId);
+    }
+}
@@ -0,0 +1,57 @@
+package com.expense.notification;
+
+import com.expense.auth.CurrentUser;
+import com.expense.common.PaginatedResponse;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import io.quarkus.security.Authenticated;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+
+@Path("/api/notifications")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@Authenticated
+@RunOnVirtualThread
+public class NotificationResource {
+
+    @Inject
+    NotificationService notificationService;
+
+    @Inject
+    CurrentUser currentUser;
+
+    @GET
+    public PaginatedResponse<NotificationResponse> getNotifications(
+            @QueryParam("unread") @DefaultValue("false") boolean unreadOnly,
+            @QueryParam("page") @DefaultValue("0") int page,
+            @QueryParam("size") @DefaultValue("20") int size) {
+        Long userId = currentUser.id();
+        if (size > 100) size = 100;
+        return notificationService.getNotifications(userId, unreadOnly, page, size);
+    }
+
+    @POST
+    @Path("/{id}/read")
+    public Response markRead(@PathParam("id") Long id) {
+        Long userId = currentUser.id();
+        notificationService.markRead(userId, id);
+        return Response.noContent().build();
+    }
+
+    @POST
+    @Path("/read")
+    public Response markAllRead() {
+        Long userId = currentUser.id();
+        notificationService.markAllRead(userId);
+        return Response.noContent().build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.expense.notification;
+
+import java.time.LocalDateTime;
+
+public class NotificationResponse {
+    public Long id;
+    public NotificationType type;
+    public Long budgetId;
+    public Integer month;
+    public Integer year;
+    public Integer threshold;
+    public String message;
+    public LocalDateTime createdAt;
+    public LocalDateTime readAt;
+
+    public NotificationResponse() {}
+
+    public NotificationResponse(Notification notification) {
+        this.id = notification.id;
+        this.type = notification.type;
+        this.budgetId = notification.budgetId;
+        this.month = notification.month;
+        this.year = notification.year;
+        this.threshold = notification.threshold;
+        this.message = notification.message;
+        this.createdAt = notification.createdAt;
+        this.readAt = notification.readAt;
+    }
+}
@@ -0,0 +1,55 @@
+package com.expense.notification;
+
+import com.expense.common.NotFoundException;
+import com.expense.common.PaginatedResponse;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@ApplicationScoped
+public class NotificationService {
+
+    @Inject
+    NotificationRepository notificationRepository;
+
+    public PaginatedResponse<NotificationResponse> getNotifications(Long userId, boolean unreadOnly, int page, int size) {
+        List<NotificationResponse> content = notificationRepository.findByUserId(userId, unreadOnly, page, size).stream()
+                .map(NotificationResponse::new)
+                .toList();
+        return new PaginatedResponse<>(content, page, size, notificationRepository.countByUserId(userId, unreadOnly));
+    }
+
+    @Transactional
+    public void markRead(Long userId, Long id) {
+        Notification notification = notificationRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new NotFoundException("Notification not found"));
+        if (notification.readAt == null) {
+            notification.readAt = LocalDateTime.now();
+        }
+    }
+
+    @Transactional
+    public void markAllRead(Long userId) {
+        notificationRepository.markAllRead(userId);
+    }
+
+    /**
+     * Records that spending in a budget's month has crossed {@code threshold}
+     * percent. Runs in the caller's transaction, so the alert exists exactly
+     * when the write that caused it commits.
+     */
+    @Transactional
+    public void budgetThresholdCrossed(Long userId, Long budgetId, int month, int year, int threshold) {
+        Notification notification = new Notification();
+        notification.userId = userId;
+        notification.type = NotificationType.BUDGET_THRESHOLD;
+        notification.budgetId = budgetId;
+        notification.month = month;
+        notification.year = year;
+        notification.threshold = threshold;
+        notification.message = String.format("Spending for %d/%d has reached %d%% of your budget", month, year, threshold);
+        notificationRepository.persist(notification);
+    }
+}
@@ -0,0 +1,5 @@
+package com.expense.notification;
+
+public enum NotificationType {
+    BUDGET_THRESHOLD
+}
@@ -1,10 +1,10 @@
 package com.expense.report;
 
-import java.math.BigDecimal;
+import com.expense.common.Money;
 
 public class CategoryBreakdownResponse {
     public CategoryInfo category;
-    public BigDecimal totalAmount;
+    public Money totalAmount;
     public long transactionCount;
     public double percentage;
 
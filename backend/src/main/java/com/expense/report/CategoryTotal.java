@@ -0,0 +1,6 @@
+package com.expense.report;
+
+/**
+ * Spending of one category over some period.
+ */
+public record CategoryTotal(Long categoryId, String name, String icon, Long cents, Long count) {}
@@ -0,0 +1,156 @@
+package com.expense.report;
+
+import com.expense.common.UserDataChangedEvent;
+import com.expense.expense.ExpenseAmount;
+import com.expense.expense.ExpenseRepository;
+import com.expense.sync.ChangeSequence;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Holds {@link ExpenseColumns} for recently active users, least recently used
+ * first out once the configured memory budget is exceeded. A user's columns
+ * are loaded from the database once and then kept in sync by the expense write
+ * path: each committed write's per-day changes are folded in, so a write costs
+ * a copy of the columns rather than a reload. Budget writes leave them alone;
+ * imports, which do not itemise their changes, drop them.
+ * <p>
+ * Writers commit in change-sequence order, and the columns remember the
+ * position they were read at, so a change is applied only if the read did not
+ * already include it, whatever order the commit events arrive in.
+ */
+@ApplicationScoped
+public class ColumnarExpenseStore {
+
+    @Inject
+    ExpenseRepository expenseRepository;
+
+    @Inject
+    ChangeSequence changeSequence;
+
+    @ConfigProperty(name = "reports.columnar.memory-budget-mb", defaultValue = "64")
+    long memoryBudgetMb;
+
+    private final LinkedHashMap<Long, ExpenseColumns> columnsByUser = new LinkedHashMap<>(16, 0.75f, true);
+    // Changes committed while a load is running, per load, applied once it is stored
+    private final Map<Long, List<List<UserDataChangedEvent>>> loading = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long usedBytes;
+
+    public ExpenseColumns columns(Long userId) {
+        List<UserDataChangedEvent> missed = new ArrayList<>();
+        lock.lock();
+        try {
+            ExpenseColumns cached = columnsByUser.get(userId);
+            if (cached != null) {
+                return cached;
+            }
+            loading.computeIfAbsent(userId, id -> new ArrayList<>()).add(missed);
+        } finally {
+            lock.unlock();
+        }
+
+        ExpenseColumns loaded = null;
+        try {
+            loaded = load(userId);
+        } finally {
+            lock.lock();
+            try {
+                List<List<UserDataChangedEvent>> loads = loading.get(userId);
+                loads.remove(missed);
+                if (loads.isEmpty()) {
+                    loading.remove(userId);
+                }
+                // Under the lock, so no change can fall between the buffer and the stored columns
+                if (loaded != null) {
+                    loaded = catchUp(userId, loaded, missed);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return loaded;
+    }
+
+    private ExpenseColumns catchUp(Long userId, ExpenseColumns loaded, List<UserDataChangedEvent> missed) {
+        for (UserDataChangedEvent event : missed) {
+            if (event.expenseDeltas == null) {
+                // Answer from what was read, but do not keep it
+                return loaded;
+            }
+            loaded = apply(loaded, event);
+        }
+        put(userId, loaded);
+        return loaded;
+    }
+
+    void onChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) UserDataChangedEvent event) {
+        if (event.expenseDeltas != null && event.expenseDeltas.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            List<List<UserDataChangedEvent>> loads = loading.get(event.userId);
+            if (loads != null) {
+                loads.forEach(missed -> missed.add(event));
+            }
+            ExpenseColumns cached = columnsByUser.get(event.userId);
+            if (cached == null) {
+                return;
+            }
+            if (event.expenseDeltas == null) {
+                columnsByUser.remove(event.userId);
+                usedBytes -= cached.estimatedBytes();
+                return;
+            }
+            put(event.userId, apply(cached, event));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static ExpenseColumns apply(ExpenseColumns columns, UserDataChangedEvent event) {
+        return event.changeSeq > columns.asOfSeq ? columns.withDeltas(event.expenseDeltas) : columns;
+    }
+
+    private ExpenseColumns load(Long userId) {
+        // Used only if the user has no expenses; otherwise each row carries the position of its own read
+        ExpenseColumns.Builder builder = new ExpenseColumns.Builder(changeSequence.state(userId).current());
+        try (Stream<ExpenseAmount> rows = expenseRepository.streamAmounts(userId)) {
+            rows.forEach(row -> {
+                builder.asOf(row.asOfSeq());
+                builder.add(row.epochDay(), row.cents(), row.categoryId());
+            });
+        }
+        return builder.build();
+    }
+
+    private void put(Long userId, ExpenseColumns columns) {
+        long budgetBytes = memoryBudgetMb * 1024 * 1024;
+        ExpenseColumns previous = columnsByUser.remove(userId);
+        if (previous != null) {
+            usedBytes -= previous.estimatedBytes();
+        }
+        if (columns.estimatedBytes() > budgetBytes) {
+            return;
+        }
+        Iterator<Map.Entry<Long, ExpenseColumns>> eldest = columnsByUser.entrySet().iterator();
+        while (usedBytes + columns.estimatedBytes() > budgetBytes && eldest.hasNext()) {
+            usedBytes -= eldest.next().getValue().estimatedBytes();
+            eldest.remove();
+        }
+        columnsByUser.put(userId, columns);
+        usedBytes += columns.estimatedBytes();
+    }
+}
@@ -0,0 +1,13 @@
+package com.expense.report;
+
+import com.expense.budget.BudgetResponse;
+import java.util.List;
+
+public class DashboardResponse {
+    public MonthlySummaryResponse summary;
+    public List<CategoryBreakdownResponse> byCategory;
+    public List<MonthlyTrendResponse> monthlyTrend;
+    public BudgetResponse budget;
+
+    public DashboardResponse() {}
+}
@@ -0,0 +1,243 @@
+package com.expense.report;
+
+import com.expense.common.UserDataChangedEvent.ExpenseDelta;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable column-oriented copy of one user's expenses, sorted by date.
+ * Row i is (epochDays[i], cents[i], counts[i], categoryIds[categorySlots[i]]):
+ * one expense as loaded, or the sum of several on one day in one category once
+ * write-path changes have been folded in. Category ids are stored once in
+ * {@code categoryIds} and referenced per row by slot, so per-category
+ * aggregation accumulates into plain arrays indexed by slot.
+ */
+public final class ExpenseColumns {
+
+    /** The user's change position the rows reflect; later changes are applied with {@link #withDeltas}. */
+    final long asOfSeq;
+    private final int size;
+    private final int[] epochDays;
+    private final long[] cents;
+    private final int[] counts;
+    private final int[] categorySlots;
+    private final long[] categoryIds;
+
+    ExpenseColumns(long asOfSeq, int size, int[] epochDays, long[] cents, int[] counts, int[] categorySlots, long[] categoryIds) {
+        this.asOfSeq = asOfSeq;
+        this.size = size;
+        this.epochDays = epochDays;
+        this.cents = cents;
+        this.counts = counts;
+        this.categorySlots = categorySlots;
+        this.categoryIds = categoryIds;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int categoryCount() {
+        return categoryIds.length;
+    }
+
+    public long categoryId(int slot) {
+        return categoryIds[slot];
+    }
+
+    public long estimatedBytes() {
+        return 64L + (long) size * (Integer.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES) + (long) categoryIds.length * Long.BYTES;
+    }
+
+    /**
+     * Sums amounts and counts per category slot for dates in [start, end).
+     * Both arrays must have {@link #categoryCount()} entries and are added to.
+     */
+    public void sumByCategory(LocalDate start, LocalDate end, long[] slotCents, long[] slotCounts) {
+        int from = lowerBound((int) start.toEpochDay());
+        int to = lowerBound((int) end.toEpochDay());
+        for (int i = from; i < to; i++) {
+            int slot = categorySlots[i];
+            slotCents[slot] += cents[i];
+            slotCounts[slot] += counts[i];
+        }
+    }
+
+    /**
+     * Sums amounts and counts per month (index 1-12) and category slot for one year.
+     * Both arrays are [13][categoryCount()] and are added to.
+     */
+    public void sumByMonthAndCategory(int year, long[][] monthSlotCents, long[][] monthSlotCounts) {
+        LocalDate monthStart = LocalDate.of(year, 1, 1);
+        int i = lowerBound((int) monthStart.toEpochDay());
+        for (int m = 1; m <= 12; m++) {
+            int nextMonthStart = (int) monthStart.plusMonths(1).toEpochDay();
+            long[] sums = monthSlotCents[m];
+            long[] monthCounts = monthSlotCounts[m];
+            for (; i < size && epochDays[i] < nextMonthStart; i++) {
+                int slot = categorySlots[i];
+                sums[slot] += cents[i];
+                monthCounts[slot] += counts[i];
+            }
+            monthStart = monthStart.plusMonths(1);
+        }
+    }
+
+    /**
+     * A copy with the changes added: each goes into an existing row of the same
+     * day and category, or becomes a new row. Costs one copy of the columns,
+     * not a reload.
+     */
+    ExpenseColumns withDeltas(List<ExpenseDelta> deltas) {
+        long[] newCents = Arrays.copyOf(cents, size);
+        int[] newCounts = Arrays.copyOf(counts, size);
+        long[] newCategoryIds = categoryIds;
+        List<ExpenseDelta> inserts = new ArrayList<>();
+        List<Integer> insertSlots = new ArrayList<>();
+        for (ExpenseDelta delta : deltas) {
+            int slot = slotOf(newCategoryIds, delta.categoryId());
+            if (slot < 0) {
+                newCategoryIds = Arrays.copyOf(newCategoryIds, newCategoryIds.length + 1);
+                slot = newCategoryIds.length - 1;
+                newCategoryIds[slot] = delta.categoryId();
+            }
+            int day = (int) delta.date().toEpochDay();
+            int row = findRow(day, slot);
+            if (row >= 0) {
+                newCents[row] += delta.cents();
+                newCounts[row] += (int) delta.count();
+            } else {
+                inserts.add(delta);
+                insertSlots.add(slot);
+            }
+        }
+        if (inserts.isEmpty()) {
+            return new ExpenseColumns(asOfSeq, size, epochDays, newCents, newCounts, categorySlots, newCategoryIds);
+        }
+
+        // Merge the new rows into date order in one pass
+        Integer[] order = new Integer[inserts.size()];
+        for (int k = 0; k < order.length; k++) {
+            order[k] = k;
+        }
+        Arrays.sort(order, Comparator.comparing(k -> inserts.get(k).date()));
+        int total = size + order.length;
+        int[] mergedDays = new int[total];
+        long[] mergedCents = new long[total];
+        int[] mergedCounts = new int[total];
+        int[] mergedSlots = new int[total];
+        int i = 0;
+        int out = 0;
+        for (int k : order) {
+            int day = (int) inserts.get(k).date().toEpochDay();
+            for (; i < size && epochDays[i] <= day; i++, out++) {
+                mergedDays[out] = epochDays[i];
+                mergedCents[out] = newCents[i];
+                mergedCounts[out] = newCounts[i];
+                mergedSlots[out] = categorySlots[i];
+            }
+            mergedDays[out] = day;
+            mergedCents[out] = inserts.get(k).cents();
+            mergedCounts[out] = (int) inserts.get(k).count();
+            mergedSlots[out] = insertSlots.get(k);
+            out++;
+        }
+        for (; i < size; i++, out++) {
+            mergedDays[out] = epochDays[i];
+            mergedCents[out] = newCents[i];
+            mergedCounts[out] = newCounts[i];
+            mergedSlots[out] = categorySlots[i];
+        }
+        return new ExpenseColumns(asOfSeq, total, mergedDays, mergedCents, mergedCounts, mergedSlots, newCategoryIds);
+    }
+
+    private int findRow(int epochDay, int slot) {
+        for (int i = lowerBound(epochDay); i < size && epochDays[i] == epochDay; i++) {
+            if (categorySlots[i] == slot) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int slotOf(long[] categoryIds, long categoryId) {
+        for (int slot = 0; slot < categoryIds.length; slot++) {
+            if (categoryIds[slot] == categoryId) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int lowerBound(int epochDay) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (epochDays[mid] < epochDay) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Accumulates rows in ascending date order.
+     */
+    static final class Builder {
+        private long asOfSeq;
+        private int size;
+        private int[] epochDays = new int[256];
+        private long[] cents = new long[256];
+        private int[] categorySlots = new int[256];
+        private long[] categoryIds = new long[16];
+        private int categoryCount;
+
+        Builder(long asOfSeq) {
+            this.asOfSeq = asOfSeq;
+        }
+
+        void asOf(long changeSeq) {
+            asOfSeq = changeSeq;
+        }
+
+        void add(int epochDay, long amountCents, long categoryId) {
+            if (size == epochDays.length) {
+                int capacity = size * 2;
+                epochDays = Arrays.copyOf(epochDays, capacity);
+                cents = Arrays.copyOf(cents, capacity);
+                categorySlots = Arrays.copyOf(categorySlots, capacity);
+            }
+            epochDays[size] = epochDay;
+            cents[size] = amountCents;
+            categorySlots[size] = slotOf(categoryId);
+            size++;
+        }
+
+        private int slotOf(long categoryId) {
+            for (int slot = 0; slot < categoryCount; slot++) {
+                if (categoryIds[slot] == categoryId) {
+                    return slot;
+                }
+            }
+            if (categoryCount == categoryIds.length) {
+                categoryIds = Arrays.copyOf(categoryIds, categoryCount * 2);
+            }
+            categoryIds[categoryCount] = categoryId;
+            return categoryCount++;
+        }
+
+        ExpenseColumns build() {
+            int[] counts = new int[size];
+            Arrays.fill(counts, 1);
+            return new ExpenseColumns(asOfSeq, size,
+                    Arrays.copyOf(epochDays, size), Arrays.copyOf(cents, size), counts,
+                    Arrays.copyOf(categorySlots, size), Arrays.copyOf(categoryIds, categoryCount));
+        }
+    }
+}
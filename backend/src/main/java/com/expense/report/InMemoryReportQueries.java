@@ -0,0 +1,123 @@
+package com.expense.report;
+
+import com.expense.category.CategoryCatalog;
+import com.expense.category.CategoryEntry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers the report queries of {@link MonthlyRollupRepository} from
+ * {@link ColumnarExpenseStore}, returning the same projections in the same order.
+ * Category names come from {@link CategoryCatalog}, so a report makes no
+ * database round trip once the user's columns are loaded.
+ */
+@ApplicationScoped
+public class InMemoryReportQueries {
+
+    private static final Comparator<CategoryTotal> LARGEST_FIRST = Comparator
+            .comparing(CategoryTotal::cents, Comparator.reverseOrder())
+            .thenComparing(CategoryTotal::categoryId);
+
+    @Inject
+    ColumnarExpenseStore store;
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    /**
+     * Category totals for dates in [start, end), largest first.
+     */
+    public List<CategoryTotal> findCategoryTotals(Long userId, LocalDate start, LocalDate end) {
+        ExpenseColumns columns = store.columns(userId);
+        long[] cents = new long[columns.categoryCount()];
+        long[] counts = new long[columns.categoryCount()];
+        columns.sumByCategory(start, end, cents, counts);
+
+        Map<Long, CategoryEntry> categories = categoriesOf(userId, columns, counts);
+        return categoryTotals(columns, categories, cents, counts);
+    }
+
+    /**
+     * Category totals for every month of one year, ordered by month and then largest first.
+     */
+    public List<MonthCategoryTotal> findMonthCategoryTotals(Long userId, int year) {
+        ExpenseColumns columns = store.columns(userId);
+        long[][] cents = new long[13][columns.categoryCount()];
+        long[][] counts = new long[13][columns.categoryCount()];
+        columns.sumByMonthAndCategory(year, cents, counts);
+
+        long[] yearCounts = new long[columns.categoryCount()];
+        for (int m = 1; m <= 12; m++) {
+            for (int slot = 0; slot < yearCounts.length; slot++) {
+                yearCounts[slot] += counts[m][slot];
+            }
+        }
+        Map<Long, CategoryEntry> categories = categoriesOf(userId, columns, yearCounts);
+
+        List<MonthCategoryTotal> rows = new ArrayList<>();
+        for (int m = 1; m <= 12; m++) {
+            for (CategoryTotal t : categoryTotals(columns, categories, cents[m], counts[m])) {
+                rows.add(new MonthCategoryTotal(m, t.categoryId(), t.name(), t.icon(), t.cents(), t.count()));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Monthly totals for one year, only months with expenses.
+     */
+    public List<MonthTotal> findMonthTotals(Long userId, int year) {
+        ExpenseColumns columns = store.columns(userId);
+        long[][] cents = new long[13][columns.categoryCount()];
+        long[][] counts = new long[13][columns.categoryCount()];
+        columns.sumByMonthAndCategory(year, cents, counts);
+
+        List<MonthTotal> rows = new ArrayList<>();
+        for (int m = 1; m <= 12; m++) {
+            long monthCents = 0;
+            long monthCount = 0;
+            for (int slot = 0; slot < columns.categoryCount(); slot++) {
+                monthCents += cents[m][slot];
+                monthCount += counts[m][slot];
+            }
+            if (monthCount > 0) {
+                rows.add(new MonthTotal(m, monthCents, monthCount));
+            }
+        }
+        return rows;
+    }
+
+    private List<CategoryTotal> categoryTotals(ExpenseColumns columns, Map<Long, CategoryEntry> categories,
+                                               long[] cents, long[] counts) {
+        List<CategoryTotal> totals = new ArrayList<>();
+        for (int slot = 0; slot < columns.categoryCount(); slot++) {
+            if (counts[slot] == 0) {
+                continue;
+            }
+            CategoryEntry category = categories.get(columns.categoryId(slot));
+            totals.add(new CategoryTotal(category.id(), category.name(), category.icon(), cents[slot], counts[slot]));
+        }
+        totals.sort(LARGEST_FIRST);
+        return totals;
+    }
+
+    private Map<Long, CategoryEntry> categoriesOf(Long userId, ExpenseColumns columns, long[] counts) {
+        Map<Long, CategoryEntry> categories = new HashMap<>();
+        for (int slot = 0; slot < columns.categoryCount(); slot++) {
+            if (counts[slot] > 0) {
+                long categoryId = columns.categoryId(slot);
+                // Expenses only reference categories the user can see, and categories are never deleted
+                CategoryEntry category = categoryCatalog.findAccessible(userId, categoryId)
+                        .orElseThrow(() -> new IllegalStateException("Category " + categoryId + " is not visible to user " + userId));
+                categories.put(categoryId, category);
+            }
+        }
+        return categories;
+    }
+}
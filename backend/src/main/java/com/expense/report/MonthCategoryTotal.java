@@ -0,0 +1,11 @@
+package com.expense.report;
+
+/**
+ * Spending of one category in one month of a year.
+ */
+public record MonthCategoryTotal(Integer month, Long categoryId, String name, String icon, Long cents, Long count) {
+
+    public CategoryTotal total() {
+        return new CategoryTotal(categoryId, name, icon, cents, count);
+    }
+}
@@ -0,0 +1,6 @@
+package com.expense.report;
+
+/**
+ * Spending across all categories in one month of a year.
+ */
+public record MonthTotal(Integer month, Long cents, Long count) {}
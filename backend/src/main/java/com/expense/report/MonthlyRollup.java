@@ -0,0 +1,57 @@
+package com.expense.report;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Read mapping of expense_monthly_rollups. Rows are only written through the
+ * native upserts in {@link MonthlyRollupRepository}.
+ */
+@Entity
+@Table(name = "expense_monthly_rollups")
+@IdClass(MonthlyRollup.Key.class)
+public class MonthlyRollup {
+
+    @Id
+    @Column(name = "user_id")
+    public Long userId;
+
+    @Id
+    public int year;
+
+    @Id
+    public int month;
+
+    @Id
+    @Column(name = "category_id")
+    public Long categoryId;
+
+    @Column(name = "sum_cents", nullable = false)
+    public long sumCents;
+
+    @Column(name = "expense_count", nullable = false)
+    public long expenseCount;
+
+    public static class Key implements Serializable {
+        public Long userId;
+        public int year;
+        public int month;
+        public Long categoryId;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && year == k.year && month == k.month
+                    && Objects.equals(userId, k.userId) && Objects.equals(categoryId, k.categoryId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, year, month, categoryId);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.expense.report;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Access to the expense_monthly_rollups table, which holds one row per
+ * (user, year, month, category) with the summed amount in cents and the
+ * number of expenses. Writers must call {@link #add} in the same transaction
+ * as the expense change so the rollup never diverges from the raw rows.
+ */
+@ApplicationScoped
+public class MonthlyRollupRepository {
+
+    private static final String RAW_COLUMNS =
+            "e.user_id, CAST(EXTRACT(YEAR FROM e.date) AS integer), CAST(EXTRACT(MONTH FROM e.date) AS integer), " +
+                    "e.category_id, CAST(SUM(e.amount * 100) AS bigint), COUNT(*)";
+    private static final String RAW_GROUP_BY =
+            " GROUP BY e.user_id, EXTRACT(YEAR FROM e.date), EXTRACT(MONTH FROM e.date), e.category_id";
+
+    @Inject
+    EntityManager entityManager;
+
+    public void add(Long userId, LocalDate date, Long categoryId, long deltaCents, long deltaCount) {
+        entityManager.createNativeQuery(
+                        "INSERT INTO expense_monthly_rollups (user_id, year, month, category_id, sum_cents, expense_count) " +
+                                "VALUES (:userId, :year, :month, :categoryId, :cents, :count) " +
+                                "ON CONFLICT (user_id, year, month, category_id) DO UPDATE SET " +
+                                "sum_cents = expense_monthly_rollups.sum_cents + EXCLUDED.sum_cents, " +
+                                "expense_count = expense_monthly_rollups.expense_count + EXCLUDED.expense_count")
+                .setParameter("userId", userId)
+                .setParameter("year", date.getYear())
+                .setParameter("month", date.getMonthValue())
+                .setParameter("categoryId", categoryId)
+                .setParameter("cents", deltaCents)
+                .setParameter("count", deltaCount)
+                .executeUpdate();
+    }
+
+    /**
+     * Category totals for one month, largest first.
+     */
+    public List<CategoryTotal> findCategoryTotals(Long userId, int year, int month) {
+        return entityManager.createQuery(
+                        "SELECT new com.expense.report.CategoryTotal(c.id, c.name, c.icon, r.sumCents, r.expenseCount) " +
+                                "FROM MonthlyRollup r JOIN Category c ON c.id = r.categoryId " +
+                                "WHERE r.userId = :userId AND r.year = :year AND r.month = :month AND r.expenseCount > 0 " +
+                                "ORDER BY r.sumCents DESC, c.id", CategoryTotal.class)
+                .setParameter("userId", userId)
+                .setParameter("year", year)
+                .setParameter("month", month)
+                .getResultList();
+    }
+
+    /**
+     * Category totals for every month of one year, ordered by month and then largest first.
+     */
+    public List<MonthCategoryTotal> findMonthCategoryTotals(Long userId, int year) {
+        return entityManager.createQuery(
+                        "SELECT new com.expense.report.MonthCategoryTotal(r.month, c.id, c.name, c.icon, r.sumCents, r.expenseCount) " +
+                                "FROM MonthlyRollup r JOIN Category c ON c.id = r.categoryId " +
+                                "WHERE r.userId = :userId AND r.year = :year AND r.expenseCount > 0 " +
+                                "ORDER BY r.month, r.sumCents DESC, c.id", MonthCategoryTotal.class)
+                .setParameter("userId", userId)
+                .setParameter("year", year)
+                .getResultList();
+    }
+
+    /**
+     * Monthly totals for one year, only months with expenses.
+     */
+    public List<MonthTotal> findMonthTotals(Long userId, int year) {
+        return entityManager.createQuery(
+                        "SELECT new com.expense.report.MonthTotal(r.month, SUM(r.sumCents), SUM(r.expenseCount)) " +
+                                "FROM MonthlyRollup r WHERE r.userId = :userId AND r.year = :year " +
+                                "GROUP BY r.month HAVING SUM(r.expenseCount) > 0 ORDER BY r.month", MonthTotal.class)
+                .setParameter("userId", userId)
+                .setParameter("year", year)
+                .getResultList();
+    }
+
+    public long sumCents(Long userId, int year, int month) {
+        return entityManager.createQuery(
+                        "SELECT COALESCE(SUM(r.sumCents), 0L) FROM MonthlyRollup r " +
+                                "WHERE r.userId = :userId AND r.year = :year AND r.month = :month", Long.class)
+                .setParameter("userId", userId)
+                .setParameter("year", year)
+                .setParameter("month", month)
+                .getSingleResult();
+    }
+
+    public long sumCents(Long userId, int year, int month, Long categoryId) {
+        return entityManager.createQuery(
+                        "SELECT COALESCE(SUM(r.sumCents), 0L) FROM MonthlyRollup r " +
+                                "WHERE r.userId = :userId AND r.year = :year AND r.month = :month AND r.categoryId = :categoryId", Long.class)
+                .setParameter("userId", userId)
+                .setParameter("year", year)
+                .setParameter("month", month)
+                .setParameter("categoryId", categoryId)
+                .getSingleResult();
+    }
+
+    /**
+     * Expense count from the rollup for the months overlapping [startDate, endDate]
+     * (either bound may be null). Exact for whole months, an overestimate when a
+     * bound falls mid-month.
+     */
+    public long countExpenses(Long userId, Long categoryId, LocalDate startDate, LocalDate endDate) {
+        StringBuilder query = new StringBuilder(
+                "SELECT COALESCE(SUM(r.expenseCount), 0L) FROM MonthlyRollup r WHERE r.userId = :userId");
+        if (categoryId != null) {
+            query.append(" AND r.categoryId = :categoryId");
+        }
+        if (startDate != null) {
+            query.append(" AND r.year * 12 + r.month >= :fromMonth");
+        }
+        if (endDate != null) {
+            query.append(" AND r.year * 12 + r.month <= :toMonth");
+        }
+        TypedQuery<Long> count = entityManager.createQuery(query.toString(), Long.class)
+                .setParameter("userId", userId);
+        if (categoryId != null) {
+            count.setParameter("categoryId", categoryId);
+        }
+        if (startDate != null) {
+            count.setParameter("fromMonth", startDate.getYear() * 12 + startDate.getMonthValue());
+        }
+        if (endDate != null) {
+            count.setParameter("toMonth", endDate.getYear() * 12 + endDate.getMonthValue());
+        }
+        return count.getSingleResult();
+    }
+
+    /**
+     * Users whose rollup rows differ from an aggregate of their raw expenses.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Long> findUsersWithDrift() {
+        List<Number> rows = entityManager.createNativeQuery(
+                        "SELECT DISTINCT COALESCE(r.user_id, a.user_id) FROM " +
+                                "(SELECT * FROM expense_monthly_rollups WHERE expense_count <> 0 OR sum_cents <> 0) r " +
+                                "FULL OUTER JOIN (SELECT " + RAW_COLUMNS + " FROM expenses e" + RAW_GROUP_BY + ") " +
+                                "a (user_id, year, month, category_id, sum_cents, expense_count) " +
+                                "ON a.user_id = r.user_id AND a.year = r.year AND a.month = r.month AND a.category_id = r.category_id " +
+                                "WHERE r.sum_cents IS DISTINCT FROM a.sum_cents OR r.expense_count IS DISTINCT FROM a.expense_count")
+                .getResultList();
+        return rows.stream().map(Number::longValue).toList();
+    }
+
+    /**
+     * Recomputes the user's rollup rows, and the running totals on their
+     * budgets, from the raw expenses.
+     */
+    public void rebuildForUser(Long userId) {
+        // Expense writers lock the user row first; taking it here keeps them out until the rebuild commits
+        entityManager.createNativeQuery("SELECT id FROM users WHERE id = :userId FOR UPDATE")
+                .setParameter("userId", userId)
+                .getResultList();
+        entityManager.createNativeQuery("DELETE FROM expense_monthly_rollups WHERE user_id = :userId")
+                .setParameter("userId", userId)
+                .executeUpdate();
+        entityManager.createNativeQuery(
+                        "INSERT INTO expense_monthly_rollups (user_id, year, month, category_id, sum_cents, expense_count) " +
+                                "SELECT " + RAW_COLUMNS + " FROM expenses e WHERE e.user_id = :userId" + RAW_GROUP_BY)
+                .setParameter("userId", userId)
+                .executeUpdate();
+        entityManager.createNativeQuery(
+                        "UPDATE budgets b SET spent_cents = COALESCE((SELECT SUM(r.sum_cents) FROM expense_monthly_rollups r " +
+                                "WHERE r.user_id = b.user_id AND r.year = b.year AND r.month = b.month), 0) " +
+                                "WHERE b.user_id = :userId AND b.category_id IS NULL")
+                .setParameter("userId", userId)
+                .executeUpdate();
+    }
+}
@@ -1,22 +1,21 @@
 package com.expense.report;
 
-import com.expense.category.CategoryResponse;
-import java.math.BigDecimal;
+import com.expense.common.Money;
 
 public class MonthlySummaryResponse {
     public int month;
     public int year;
-    public BigDecimal totalSpent;
+    public Money totalSpent;
     public long transactionCount;
     public TopCategoryInfo topCategory;
-    public BigDecimal budgetAmount;
-    public BigDecimal budgetRemaining;
+    public Money budgetAmount;
+    public Money budgetRemaining;
 
     public static class TopCategoryInfo {
         public Long id;
         public String name;
         public String icon;
-        public BigDecimal amount;
+        public Money amount;
 
         public TopCategoryInfo() {}
     }
@@ -1,16 +1,16 @@
 package com.expense.report;
 
-import java.math.BigDecimal;
+import com.expense.common.Money;
 
 public class MonthlyTrendResponse {
     public int month;
     public int year;
-    public BigDecimal totalSpent;
+    public Money totalSpent;
     public long transactionCount;
 
     public MonthlyTrendResponse() {}
 
-    public MonthlyTrendResponse(int month, int year, BigDecimal totalSpent, long transactionCount) {
+    public MonthlyTrendResponse(int month, int year, Money totalSpent, long transactionCount) {
         this.month = month;
         this.year = year;
         this.totalSpent = totalSpent;
@@ -0,0 +1,104 @@
+package com.expense.report;
+
+import com.expense.auth.CurrentUser;
+import com.expense.common.ValidationException;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.security.Authenticated;
+import io.smallrye.mutiny.Uni;
+import java.time.LocalDate;
+
+/**
+ * The report endpoints of {@link ReportResource}, served on the event loop by
+ * {@link ReactiveReportService}. Built instead of ReportResource when
+ * {@code expense.reports.stack=reactive}.
+ */
+@Path("/api/reports")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@Authenticated
+@IfBuildProperty(name = "expense.reports.stack", stringValue = "reactive")
+public class ReactiveReportResource {
+
+    @Inject
+    ReactiveReportService reportService;
+
+    @Inject
+    ReportCache reportCache;
+
+    @Inject
+    CurrentUser currentUser;
+
+    @GET
+    @Path("/summary")
+    public Uni<Response> getSummary(
+            @QueryParam("month") Integer month,
+            @QueryParam("year") Integer year,
+            @Context Request request) {
+        Long userId = currentUser.id();
+        int m = month != null ? month : LocalDate.now().getMonthValue();
+        int y = year != null ? year : LocalDate.now().getYear();
+        return reportCache.respondAsync(request, userId, "summary", m, y,
+                () -> reportService.getMonthlySummary(userId, m, y));
+    }
+
+    @GET
+    @Path("/dashboard")
+    public Uni<Response> getDashboard(
+            @QueryParam("month") Integer month,
+            @QueryParam("year") Integer year,
+            @Context Request request) {
+        Long userId = currentUser.id();
+        int m = month != null ? month : LocalDate.now().getMonthValue();
+        int y = year != null ? year : LocalDate.now().getYear();
+        return reportCache.respondAsync(request, userId, "dashboard", m, y,
+                () -> reportService.getDashboard(userId, m, y));
+    }
+
+    @GET
+    @Path("/by-category")
+    public Uni<Response> getByCategory(
+            @QueryParam("month") Integer month,
+            @QueryParam("year") Integer year,
+            @Context Request request) {
+        Long userId = currentUser.id();
+        int m = month != null ? month : LocalDate.now().getMonthValue();
+        int y = year != null ? year : LocalDate.now().getYear();
+        return reportCache.respondAsync(request, userId, "by-category", m, y,
+                () -> reportService.getSpendingByCategory(userId, m, y));
+    }
+
+    @GET
+    @Path("/range")
+    public Uni<Response> getRange(
+            @QueryParam("startDate") LocalDate startDate,
+            @QueryParam("endDate") LocalDate endDate,
+            @Context Request request) {
+        Long userId = currentUser.id();
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new ValidationException("startDate and endDate are required and endDate must not be before startDate");
+        }
+        return reportCache.respondAsync(request, userId, "range", (int) startDate.toEpochDay(), (int) endDate.toEpochDay(),
+                () -> reportService.getSpendingForRange(userId, startDate, endDate));
+    }
+
+    @GET
+    @Path("/monthly-trend")
+    public Uni<Response> getMonthlyTrend(
+            @QueryParam("year") Integer year,
+            @Context Request request) {
+        Long userId = currentUser.id();
+        int y = year != null ? year : LocalDate.now().getYear();
+        return reportCache.respondAsync(request, userId, "monthly-trend", 0, y,
+                () -> reportService.getMonthlyTrend(userId, y));
+    }
+}
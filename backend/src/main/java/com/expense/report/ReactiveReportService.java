@@ -0,0 +1,55 @@
+package com.expense.report;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * {@link ReportService} on the reactive Postgres client. Always reads the
+ * rollup with SQL; the in-memory engines only exist on the blocking stack.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "expense.reports.stack", stringValue = "reactive")
+public class ReactiveReportService {
+
+    @Inject
+    ReactiveRollupQueries queries;
+
+    @Inject
+    ReportCache reportCache;
+
+    public Uni<MonthlySummaryResponse> getMonthlySummary(Long userId, int month, int year) {
+        return reportCache.getAsync(userId, "summary", month, year, () -> Uni.combine().all()
+                .unis(queries.findCategoryTotals(userId, year, month), queries.findBudget(userId, month, year))
+                .with((rows, budget) -> ReportAssembler.summary(month, year, ReportAssembler.breakdown(rows),
+                        budget != null ? budget.amount() : null)));
+    }
+
+    public Uni<List<CategoryBreakdownResponse>> getSpendingByCategory(Long userId, int month, int year) {
+        return reportCache.getAsync(userId, "by-category", month, year,
+                () -> queries.findCategoryTotals(userId, year, month).map(ReportAssembler::breakdown));
+    }
+
+    /**
+     * Category breakdown for an arbitrary inclusive date range.
+     */
+    public Uni<List<CategoryBreakdownResponse>> getSpendingForRange(Long userId, LocalDate startDate, LocalDate endDate) {
+        return queries.sumByCategory(userId, startDate, endDate.plusDays(1)).map(ReportAssembler::breakdown);
+    }
+
+    public Uni<List<MonthlyTrendResponse>> getMonthlyTrend(Long userId, int year) {
+        return reportCache.getAsync(userId, "monthly-trend", 0, year,
+                () -> queries.findMonthTotals(userId, year).map(rows -> ReportAssembler.trend(year, rows)));
+    }
+
+    public Uni<DashboardResponse> getDashboard(Long userId, int month, int year) {
+        return reportCache.getAsync(userId, "dashboard", month, year, () -> Uni.combine().all()
+                .unis(queries.findMonthCategoryTotals(userId, year), queries.findBudget(userId, month, year))
+                .with((rows, budget) -> budget != null
+                        ? ReportAssembler.dashboard(month, year, rows, budget.id(), budget.amount())
+                        : ReportAssembler.dashboard(month, year, rows, null, null)));
+    }
+}
@@ -0,0 +1,107 @@
+package com.expense.report;
+
+import com.expense.common.Money;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The report reads of {@link MonthlyRollupRepository} and the range aggregate,
+ * issued through the reactive Postgres client so no thread waits on the
+ * database. Orderings match the JPQL queries row for row.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "expense.reports.stack", stringValue = "reactive")
+public class ReactiveRollupQueries {
+
+    @Inject
+    Pool client;
+
+    /**
+     * Category totals for one month, largest first.
+     */
+    public Uni<List<CategoryTotal>> findCategoryTotals(Long userId, int year, int month) {
+        return query("SELECT c.id, c.name, c.icon, r.sum_cents, r.expense_count " +
+                        "FROM expense_monthly_rollups r JOIN categories c ON c.id = r.category_id " +
+                        "WHERE r.user_id = $1 AND r.year = $2 AND r.month = $3 AND r.expense_count > 0 " +
+                        "ORDER BY r.sum_cents DESC, c.id",
+                Tuple.of(userId, year, month), ReactiveRollupQueries::categoryTotal);
+    }
+
+    /**
+     * Category totals for every month of one year, ordered by month and then largest first.
+     */
+    public Uni<List<MonthCategoryTotal>> findMonthCategoryTotals(Long userId, int year) {
+        return query("SELECT r.month, c.id, c.name, c.icon, r.sum_cents, r.expense_count " +
+                        "FROM expense_monthly_rollups r JOIN categories c ON c.id = r.category_id " +
+                        "WHERE r.user_id = $1 AND r.year = $2 AND r.expense_count > 0 " +
+                        "ORDER BY r.month, r.sum_cents DESC, c.id",
+                Tuple.of(userId, year),
+                row -> new MonthCategoryTotal(row.getInteger(0), row.getLong(1), row.getString(2), row.getString(3),
+                        row.getLong(4), row.getLong(5)));
+    }
+
+    /**
+     * Monthly totals for one year, only months with expenses.
+     */
+    public Uni<List<MonthTotal>> findMonthTotals(Long userId, int year) {
+        return query("SELECT r.month, CAST(SUM(r.sum_cents) AS bigint), CAST(SUM(r.expense_count) AS bigint) " +
+                        "FROM expense_monthly_rollups r WHERE r.user_id = $1 AND r.year = $2 " +
+                        "GROUP BY r.month HAVING SUM(r.expense_count) > 0 ORDER BY r.month",
+                Tuple.of(userId, year),
+                row -> new MonthTotal(row.getInteger(0), row.getLong(1), row.getLong(2)));
+    }
+
+    /**
+     * Category totals from the raw expenses for dates in [start, end), largest first.
+     */
+    public Uni<List<CategoryTotal>> sumByCategory(Long userId, LocalDate start, LocalDate end) {
+        return query("SELECT c.id, c.name, c.icon, CAST(SUM(e.amount) * 100 AS bigint), COUNT(*) " +
+                        "FROM expenses e JOIN categories c ON c.id = e.category_id " +
+                        "WHERE e.user_id = $1 AND e.date >= $2 AND e.date < $3 " +
+                        "GROUP BY c.id, c.name, c.icon ORDER BY SUM(e.amount) DESC, c.id",
+                Tuple.of(userId, start, end), ReactiveRollupQueries::categoryTotal);
+    }
+
+    /**
+     * The month's overall budget, or null when there is none.
+     */
+    public Uni<BudgetAmount> findBudget(Long userId, int month, int year) {
+        return client.preparedQuery("SELECT id, amount FROM budgets WHERE user_id = $1 AND month = $2 AND year = $3 AND category_id IS NULL")
+                .execute(Tuple.of(userId, month, year))
+                .map(rows -> {
+                    if (rows.size() == 0) {
+                        return null;
+                    }
+                    Row row = rows.iterator().next();
+                    return new BudgetAmount(row.getLong(0), Money.of(row.getBigDecimal(1)));
+                });
+    }
+
+    private <T> Uni<List<T>> query(String sql, Tuple params, Function<Row, T> mapper) {
+        return client.preparedQuery(sql).execute(params).map(rows -> toList(rows, mapper));
+    }
+
+    private static <T> List<T> toList(RowSet<Row> rows, Function<Row, T> mapper) {
+        List<T> list = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            list.add(mapper.apply(row));
+        }
+        return list;
+    }
+
+    private static CategoryTotal categoryTotal(Row row) {
+        return new CategoryTotal(row.getLong(0), row.getString(1), row.getString(2), row.getLong(3), row.getLong(4));
+    }
+
+    public record BudgetAmount(Long id, Money amount) {}
+}
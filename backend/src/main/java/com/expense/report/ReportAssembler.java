@@ -0,0 +1,131 @@
+package com.expense.report;
+
+import com.expense.budget.BudgetResponse;
+import com.expense.common.Money;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns aggregate rows into report payloads. Shared by the blocking and the
+ * reactive report stacks so both answer with identical bodies.
+ */
+final class ReportAssembler {
+
+    private ReportAssembler() {}
+
+    /**
+     * Rows are ordered largest first.
+     */
+    static List<CategoryBreakdownResponse> breakdown(List<CategoryTotal> rows) {
+        long totalCents = 0;
+        for (CategoryTotal row : rows) {
+            totalCents += row.cents();
+        }
+        Money totalSpent = Money.ofCents(totalCents);
+
+        List<CategoryBreakdownResponse> breakdown = new ArrayList<>(rows.size());
+        for (CategoryTotal row : rows) {
+            CategoryBreakdownResponse item = new CategoryBreakdownResponse();
+            item.category = new CategoryBreakdownResponse.CategoryInfo();
+            item.category.id = row.categoryId();
+            item.category.name = row.name();
+            item.category.icon = row.icon();
+            item.totalAmount = Money.ofCents(row.cents());
+            item.transactionCount = row.count();
+            item.percentage = item.totalAmount.percentOf(totalSpent);
+            breakdown.add(item);
+        }
+        return breakdown;
+    }
+
+    /**
+     * {@code budgetAmount} is null when the month has no budget.
+     */
+    static MonthlySummaryResponse summary(int month, int year, List<CategoryBreakdownResponse> breakdown, Money budgetAmount) {
+        MonthlySummaryResponse response = new MonthlySummaryResponse();
+        response.month = month;
+        response.year = year;
+
+        long totalCents = 0;
+        long transactionCount = 0;
+        for (CategoryBreakdownResponse item : breakdown) {
+            totalCents += item.totalAmount.cents();
+            transactionCount += item.transactionCount;
+        }
+        response.totalSpent = Money.ofCents(totalCents);
+        response.transactionCount = transactionCount;
+
+        // Breakdown is ordered largest first
+        if (!breakdown.isEmpty()) {
+            CategoryBreakdownResponse top = breakdown.get(0);
+            MonthlySummaryResponse.TopCategoryInfo topCategory = new MonthlySummaryResponse.TopCategoryInfo();
+            topCategory.id = top.category.id;
+            topCategory.name = top.category.name;
+            topCategory.icon = top.category.icon;
+            topCategory.amount = top.totalAmount;
+            response.topCategory = topCategory;
+        }
+
+        if (budgetAmount != null) {
+            response.budgetAmount = budgetAmount;
+            response.budgetRemaining = budgetAmount.minus(response.totalSpent);
+        }
+
+        return response;
+    }
+
+    /**
+     * Twelve entries, months without expenses reported as zero.
+     */
+    static List<MonthlyTrendResponse> trend(int year, List<MonthTotal> rows) {
+        MonthTotal[] byMonth = new MonthTotal[13];
+        for (MonthTotal row : rows) {
+            byMonth[row.month()] = row;
+        }
+
+        List<MonthlyTrendResponse> trend = new ArrayList<>();
+        for (int m = 1; m <= 12; m++) {
+            MonthTotal row = byMonth[m];
+            if (row != null) {
+                trend.add(new MonthlyTrendResponse(m, year, Money.ofCents(row.cents()), row.count()));
+            } else {
+                trend.add(new MonthlyTrendResponse(m, year, Money.ZERO, 0));
+            }
+        }
+        return trend;
+    }
+
+    /**
+     * Everything the dashboard shows for one month, derived from the category
+     * totals of the whole year. {@code budgetId} and {@code budgetAmount} are
+     * null when the month has no budget.
+     */
+    static DashboardResponse dashboard(int month, int year, List<MonthCategoryTotal> yearRows, Long budgetId, Money budgetAmount) {
+        List<CategoryTotal> monthRows = new ArrayList<>();
+        long[] monthCents = new long[13];
+        long[] monthCounts = new long[13];
+        for (MonthCategoryTotal row : yearRows) {
+            int m = row.month();
+            monthCents[m] += row.cents();
+            monthCounts[m] += row.count();
+            if (m == month) {
+                monthRows.add(row.total());
+            }
+        }
+
+        List<MonthlyTrendResponse> trend = new ArrayList<>();
+        for (int m = 1; m <= 12; m++) {
+            trend.add(new MonthlyTrendResponse(m, year, Money.ofCents(monthCents[m]), monthCounts[m]));
+        }
+
+        List<CategoryBreakdownResponse> breakdown = breakdown(monthRows);
+        MonthlySummaryResponse summary = summary(month, year, breakdown, budgetAmount);
+
+        DashboardResponse response = new DashboardResponse();
+        response.summary = summary;
+        response.byCategory = breakdown;
+        response.monthlyTrend = trend;
+        response.budget = new BudgetResponse(month, year, budgetId, budgetAmount, summary.totalSpent);
+        return response;
+    }
+}
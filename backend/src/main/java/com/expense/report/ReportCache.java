@@ -0,0 +1,88 @@
+package com.expense.report;
+
+import com.expense.common.UserDataVersions;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import java.util.function.Supplier;
+
+/**
+ * Caches report payloads per user. Keys include the user's data version, so a
+ * committed expense or budget change makes every older entry unreachable; those
+ * entries then age out through the size and TTL limits of the "reports" cache.
+ */
+@ApplicationScoped
+public class ReportCache {
+
+    // Distinguishes ETags across restarts, since data versions start again from zero
+    private static final String INSTANCE_ID = Long.toString(System.currentTimeMillis(), 36);
+
+    @Inject
+    @CacheName("reports")
+    Cache cache;
+
+    @Inject
+    UserDataVersions versions;
+
+    public <T> T get(Long userId, String report, int month, int year, Supplier<T> loader) {
+        Key key = new Key(userId, report, month, year, versions.current(userId));
+        return cache.get(key, k -> loader.get()).await().indefinitely();
+    }
+
+    /**
+     * Like {@link #get}, for loaders that complete asynchronously; concurrent
+     * misses for the same key share one load.
+     */
+    public <T> Uni<T> getAsync(Long userId, String report, int month, int year, Supplier<Uni<T>> loader) {
+        Key key = new Key(userId, report, month, year, versions.current(userId));
+        return cache.getAsync(key, k -> loader.get());
+    }
+
+    public EntityTag etag(Long userId, String report, int month, int year) {
+        return new EntityTag(INSTANCE_ID + "-" + userId + "-" + versions.current(userId) + "-" + report + "-" + year + "-" + month);
+    }
+
+    /**
+     * Answers 304 Not Modified when the client already holds the current version,
+     * without invoking {@code body}; otherwise returns the body tagged with the ETag.
+     */
+    public Response respond(Request request, Long userId, String report, int month, int year, Supplier<?> body) {
+        EntityTag etag = etag(userId, report, month, year);
+        CacheControl cacheControl = cacheControl();
+
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return notModified.cacheControl(cacheControl).build();
+        }
+        return Response.ok(body.get()).tag(etag).cacheControl(cacheControl).build();
+    }
+
+    /**
+     * Like {@link #respond}, with a body that completes asynchronously.
+     */
+    public Uni<Response> respondAsync(Request request, Long userId, String report, int month, int year, Supplier<Uni<?>> body) {
+        EntityTag etag = etag(userId, report, month, year);
+        CacheControl cacheControl = cacheControl();
+
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+        if (notModified != null) {
+            return Uni.createFrom().item(notModified.cacheControl(cacheControl).build());
+        }
+        return body.get().map(payload -> Response.ok(payload).tag(etag).cacheControl(cacheControl).build());
+    }
+
+    private static CacheControl cacheControl() {
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+        return cacheControl;
+    }
+
+    private record Key(Long userId, String report, int month, int year, long version) {}
+}
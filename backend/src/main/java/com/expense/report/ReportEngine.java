@@ -0,0 +1,13 @@
+package com.expense.report;
+
+/**
+ * Where report aggregations run, selected with {@code reports.engine}.
+ */
+public enum ReportEngine {
+    /** Aggregate in PostgreSQL (rollup table, raw expenses for arbitrary ranges). */
+    SQL,
+    /** Aggregate over {@link ColumnarExpenseStore} snapshots. */
+    MEMORY,
+    /** Run both, log any difference and return the SQL result. */
+    VERIFY
+}
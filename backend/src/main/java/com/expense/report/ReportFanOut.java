@@ -0,0 +1,158 @@
+package com.expense.report;
+
+import com.expense.common.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent queries behind one report at the same time, each on a
+ * virtual thread in its own read-only transaction (and so on its own
+ * connection), and joins them against a deadline. Runs them one after another
+ * on the calling thread instead when fan-out is disabled, or when too many
+ * sub-queries are already in flight, so reports cannot drain the connection
+ * pool.
+ * <p>
+ * A report whose queries miss the deadline fails with 503. Its queries are
+ * cancelled but not run again: cancelling does not stop a statement already
+ * on the database, so a re-run would only add load where the database is
+ * already slow. A cancelled query keeps its in-flight permit until it ends.
+ * <p>
+ * Compute times are recorded in the {@code reports.compute} timer, tagged with
+ * the report and the mode that produced it: concurrent, sequential or timeout.
+ */
+@ApplicationScoped
+public class ReportFanOut {
+
+    private static final Logger LOG = Logger.getLogger(ReportFanOut.class);
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    EntityManager entityManager;
+
+    @ConfigProperty(name = "reports.fan-out.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "reports.fan-out.max-in-flight", defaultValue = "8")
+    int maxInFlight;
+
+    @ConfigProperty(name = "reports.fan-out.deadline", defaultValue = "2s")
+    Duration deadline;
+
+    private ExecutorService executor;
+    private Semaphore inFlight;
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("report-fan-out-", 0).factory());
+        inFlight = new Semaphore(maxInFlight);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public <A, B, R> R join(String report, Supplier<A> first, Supplier<B> second, BiFunction<A, B, R> combine) {
+        long start = System.nanoTime();
+        String mode;
+        R result;
+        if (!enabled || !inFlight.tryAcquire(2)) {
+            mode = "sequential";
+            result = combine.apply(first.get(), second.get());
+        } else {
+            Future<A> firstResult = submit(first);
+            Future<B> secondResult = submit(second);
+            long deadlineNanos = start + deadline.toNanos();
+            A a;
+            B b;
+            try {
+                a = await(firstResult, deadlineNanos);
+                b = await(secondResult, deadlineNanos);
+            } catch (TimeoutException e) {
+                firstResult.cancel(true);
+                secondResult.cancel(true);
+                timer(report, "timeout").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                LOG.debugf("Report %s missed its %s fan-out deadline", report, deadline);
+                throw new ServiceUnavailableException("The report took too long; retry shortly");
+            } catch (RuntimeException e) {
+                firstResult.cancel(true);
+                secondResult.cancel(true);
+                throw e;
+            }
+            mode = "concurrent";
+            result = combine.apply(a, b);
+        }
+        timer(report, mode).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    /**
+     * Runs {@code query} in a new transaction, read-only both in Hibernate (no
+     * snapshots or flush of loaded entities) and in PostgreSQL; the caller
+     * holds one in-flight permit for it, released when the query ends.
+     */
+    private <T> Future<T> submit(Supplier<T> query) {
+        try {
+            return executor.submit(() -> {
+                try {
+                    return QuarkusTransaction.requiringNew().call(() -> {
+                        Session session = entityManager.unwrap(Session.class);
+                        session.setDefaultReadOnly(true);
+                        session.createNativeMutationQuery("SET TRANSACTION READ ONLY").executeUpdate();
+                        return query.get();
+                    });
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private static <T> T await(Future<T> future, long deadlineNanos) throws TimeoutException {
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for a report query", e);
+        }
+    }
+
+    private Timer timer(String report, String mode) {
+        return Timer.builder("reports.compute")
+                .tag("report", report)
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
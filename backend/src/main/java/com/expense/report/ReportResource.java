@@ -1,57 +1,100 @@
 package com.expense.report;
 
+import com.expense.auth.CurrentUser;
+import com.expense.common.ValidationException;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
-import org.eclipse.microprofile.jwt.JsonWebToken;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import io.quarkus.arc.properties.UnlessBuildProperty;
 import io.quarkus.security.Authenticated;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import java.time.LocalDate;
-import java.util.List;
 
 @Path("/api/reports")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 @Authenticated
+@UnlessBuildProperty(name = "expense.reports.stack", stringValue = "reactive", enableIfMissing = true)
+@RunOnVirtualThread
 public class ReportResource {
 
     @Inject
     ReportService reportService;
 
     @Inject
-    JsonWebToken jwt;
+    ReportCache reportCache;
+
+    @Inject
+    CurrentUser currentUser;
 
     @GET
     @Path("/summary")
-    public MonthlySummaryResponse getSummary(
+    public Response getSummary(
             @QueryParam("month") Integer month,
-            @QueryParam("year") Integer year) {
-        Long userId = Long.parseLong(jwt.getSubject());
-        if (month == null) month = LocalDate.now().getMonthValue();
-        if (year == null) year = LocalDate.now().getYear();
-        return reportService.getMonthlySummary(userId, month, year);
+            @QueryParam("year") Integer year,
+            @Context Request request) {
+        Long userId = currentUser.id();
+        int m = month != null ? month : LocalDate.now().getMonthValue();
+        int y = year != null ? year : LocalDate.now().getYear();
+        return reportCache.respond(request, userId, "summary", m, y,
+                () -> reportService.getMonthlySummary(userId, m, y));
+    }
+
+    @GET
+    @Path("/dashboard")
+    public Response getDashboard(
+            @QueryParam("month") Integer month,
+            @QueryParam("year") Integer year,
+            @Context Request request) {
+        Long userId = currentUser.id();
+        int m = month != null ? month : LocalDate.now().getMonthValue();
+        int y = year != null ? year : LocalDate.now().getYear();
+        return reportCache.respond(request, userId, "dashboard", m, y,
+                () -> reportService.getDashboard(userId, m, y));
     }
 
     @GET
     @Path("/by-category")
-    public List<CategoryBreakdownResponse> getByCategory(
+    public Response getByCategory(
             @QueryParam("month") Integer month,
-            @QueryParam("year") Integer year) {
-        Long userId = Long.parseLong(jwt.getSubject());
-        if (month == null) month = LocalDate.now().getMonthValue();
-        if (year == null) year = LocalDate.now().getYear();
-        return reportService.getSpendingByCategory(userId, month, year);
+            @QueryParam("year") Integer year,
+            @Context Request request) {
+        Long userId = currentUser.id();
+        int m = month != null ? month : LocalDate.now().getMonthValue();
+        int y = year != null ? year : LocalDate.now().getYear();
+        return reportCache.respond(request, userId, "by-category", m, y,
+                () -> reportService.getSpendingByCategory(userId, m, y));
+    }
+
+    @GET
+    @Path("/range")
+    public Response getRange(
+            @QueryParam("startDate") LocalDate startDate,
+            @QueryParam("endDate") LocalDate endDate,
+            @Context Request request) {
+        Long userId = currentUser.id();
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new ValidationException("startDate and endDate are required and endDate must not be before startDate");
+        }
+        return reportCache.respond(request, userId, "range", (int) startDate.toEpochDay(), (int) endDate.toEpochDay(),
+                () -> reportService.getSpendingForRange(userId, startDate, endDate));
     }
 
     @GET
     @Path("/monthly-trend")
-    public List<MonthlyTrendResponse> getMonthlyTrend(
-            @QueryParam("year") Integer year) {
-        Long userId = Long.parseLong(jwt.getSubject());
-        if (year == null) year = LocalDate.now().getYear();
-        return reportService.getMonthlyTrend(userId, year);
+    public Response getMonthlyTrend(
+            @QueryParam("year") Integer year,
+            @Context Request request) {
+        Long userId = currentUser.id();
+        int y = year != null ? year : LocalDate.now().getYear();
+        return reportCache.respond(request, userId, "monthly-trend", 0, y,
+                () -> reportService.getMonthlyTrend(userId, y));
     }
 }
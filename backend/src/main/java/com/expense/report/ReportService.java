@@ -2,132 +2,126 @@ package com.expense.report;
 
 import com.expense.budget.Budget;
 import com.expense.budget.BudgetRepository;
+import com.expense.common.Money;
+import com.expense.expense.ExpenseRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import jakarta.persistence.EntityManager;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.ArrayList;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
+import java.util.function.Supplier;
 
 @ApplicationScoped
 public class ReportService {
 
+    private static final Logger LOG = Logger.getLogger(ReportService.class);
+
+    @Inject
+    MonthlyRollupRepository rollupRepository;
+
+    @Inject
+    InMemoryReportQueries inMemoryQueries;
+
     @Inject
-    EntityManager entityManager;
+    ExpenseRepository expenseRepository;
 
     @Inject
     BudgetRepository budgetRepository;
 
-    public MonthlySummaryResponse getMonthlySummary(Long userId, int month, int year) {
-        MonthlySummaryResponse response = new MonthlySummaryResponse();
-        response.month = month;
-        response.year = year;
-
-        // Total spent and count
-        Object[] totals = (Object[]) entityManager.createQuery(
-                        "SELECT COALESCE(SUM(e.amount), 0), COUNT(e.id) FROM Expense e " +
-                                "WHERE e.user.id = :userId AND EXTRACT(MONTH FROM e.date) = :month AND EXTRACT(YEAR FROM e.date) = :year")
-                .setParameter("userId", userId)
-                .setParameter("month", month)
-                .setParameter("year", year)
-                .getSingleResult();
-        response.totalSpent = (BigDecimal) totals[0];
-        response.transactionCount = (Long) totals[1];
-
-        // Top category
-        @SuppressWarnings("unchecked")
-        List<Object[]> topCategoryResults = entityManager.createQuery(
-                        "SELECT e.category.id, e.category.name, e.category.icon, SUM(e.amount) as total " +
-                                "FROM Expense e WHERE e.user.id = :userId " +
-                                "AND EXTRACT(MONTH FROM e.date) = :month AND EXTRACT(YEAR FROM e.date) = :year " +
-                                "GROUP BY e.category.id, e.category.name, e.category.icon ORDER BY total DESC")
-                .setParameter("userId", userId)
-                .setParameter("month", month)
-                .setParameter("year", year)
-                .setMaxResults(1)
-                .getResultList();
-
-        if (!topCategoryResults.isEmpty()) {
-            Object[] tc = topCategoryResults.get(0);
-            MonthlySummaryResponse.TopCategoryInfo topCategory = new MonthlySummaryResponse.TopCategoryInfo();
-            topCategory.id = (Long) tc[0];
-            topCategory.name = (String) tc[1];
-            topCategory.icon = (String) tc[2];
-            topCategory.amount = (BigDecimal) tc[3];
-            response.topCategory = topCategory;
-        }
+    @Inject
+    ReportCache reportCache;
 
-        // Budget info
-        Optional<Budget> budgetOpt = budgetRepository.findByUserIdAndMonthAndYear(userId, month, year);
-        if (budgetOpt.isPresent()) {
-            response.budgetAmount = budgetOpt.get().amount;
-            response.budgetRemaining = budgetOpt.get().amount.subtract(response.totalSpent);
-        }
+    @Inject
+    ReportFanOut fanOut;
 
-        return response;
+    @ConfigProperty(name = "reports.engine", defaultValue = "sql")
+    ReportEngine engine;
+
+    public MonthlySummaryResponse getMonthlySummary(Long userId, int month, int year) {
+        return reportCache.get(userId, "summary", month, year, () -> computeMonthlySummary(userId, month, year));
     }
 
     public List<CategoryBreakdownResponse> getSpendingByCategory(Long userId, int month, int year) {
-        @SuppressWarnings("unchecked")
-        List<Object[]> results = entityManager.createQuery(
-                        "SELECT e.category.id, e.category.name, e.category.icon, SUM(e.amount), COUNT(e.id) " +
-                                "FROM Expense e WHERE e.user.id = :userId " +
-                                "AND EXTRACT(MONTH FROM e.date) = :month AND EXTRACT(YEAR FROM e.date) = :year " +
-                                "GROUP BY e.category.id, e.category.name, e.category.icon ORDER BY SUM(e.amount) DESC")
-                .setParameter("userId", userId)
-                .setParameter("month", month)
-                .setParameter("year", year)
-                .getResultList();
-
-        BigDecimal totalSpent = results.stream()
-                .map(r -> (BigDecimal) r[3])
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        List<CategoryBreakdownResponse> breakdown = new ArrayList<>();
-        for (Object[] row : results) {
-            CategoryBreakdownResponse item = new CategoryBreakdownResponse();
-            item.category = new CategoryBreakdownResponse.CategoryInfo();
-            item.category.id = (Long) row[0];
-            item.category.name = (String) row[1];
-            item.category.icon = (String) row[2];
-            item.totalAmount = (BigDecimal) row[3];
-            item.transactionCount = (Long) row[4];
-            item.percentage = totalSpent.compareTo(BigDecimal.ZERO) > 0
-                    ? item.totalAmount.multiply(BigDecimal.valueOf(100)).divide(totalSpent, 1, RoundingMode.HALF_UP).doubleValue()
-                    : 0.0;
-            breakdown.add(item);
-        }
-        return breakdown;
+        return reportCache.get(userId, "by-category", month, year,
+                () -> ReportAssembler.breakdown(categoryTotals(userId, year, month)));
+    }
+
+    /**
+     * Category breakdown for an arbitrary inclusive date range.
+     */
+    public List<CategoryBreakdownResponse> getSpendingForRange(Long userId, LocalDate startDate, LocalDate endDate) {
+        LocalDate end = endDate.plusDays(1);
+        return ReportAssembler.breakdown(select("range", userId,
+                () -> expenseRepository.sumByCategory(userId, startDate, end),
+                () -> inMemoryQueries.findCategoryTotals(userId, startDate, end)));
     }
 
     public List<MonthlyTrendResponse> getMonthlyTrend(Long userId, int year) {
-        @SuppressWarnings("unchecked")
-        List<Object[]> results = entityManager.createQuery(
-                        "SELECT EXTRACT(MONTH FROM e.date), SUM(e.amount), COUNT(e.id) " +
-                                "FROM Expense e WHERE e.user.id = :userId AND EXTRACT(YEAR FROM e.date) = :year " +
-                                "GROUP BY EXTRACT(MONTH FROM e.date) ORDER BY EXTRACT(MONTH FROM e.date)")
-                .setParameter("userId", userId)
-                .setParameter("year", year)
-                .getResultList();
-
-        // Build full 12-month list
-        List<MonthlyTrendResponse> trend = new ArrayList<>();
-        java.util.Map<Integer, Object[]> monthData = new java.util.HashMap<>();
-        for (Object[] row : results) {
-            int m = ((Number) row[0]).intValue();
-            monthData.put(m, row);
-        }
+        return reportCache.get(userId, "monthly-trend", 0, year, () -> computeMonthlyTrend(userId, year));
+    }
+
+    public DashboardResponse getDashboard(Long userId, int month, int year) {
+        return reportCache.get(userId, "dashboard", month, year, () -> computeDashboard(userId, month, year));
+    }
+
+    /**
+     * Category totals and the budget lookup are independent and may run concurrently.
+     */
+    private MonthlySummaryResponse computeMonthlySummary(Long userId, int month, int year) {
+        return fanOut.join("summary",
+                () -> categoryTotals(userId, year, month),
+                () -> budgetAmount(userId, month, year),
+                (rows, budgetAmount) -> ReportAssembler.summary(month, year, ReportAssembler.breakdown(rows), budgetAmount));
+    }
+
+    private List<MonthlyTrendResponse> computeMonthlyTrend(Long userId, int year) {
+        return ReportAssembler.trend(year, select("monthly-trend", userId,
+                () -> rollupRepository.findMonthTotals(userId, year),
+                () -> inMemoryQueries.findMonthTotals(userId, year)));
+    }
+
+    /**
+     * Everything the dashboard shows for one month, from one rollup query over
+     * the whole year (breakdown, summary and trend are derived in memory) plus
+     * the budget lookup.
+     */
+    private DashboardResponse computeDashboard(Long userId, int month, int year) {
+        return fanOut.join("dashboard",
+                () -> select("dashboard", userId,
+                        () -> rollupRepository.findMonthCategoryTotals(userId, year),
+                        () -> inMemoryQueries.findMonthCategoryTotals(userId, year)),
+                () -> budgetRepository.findByUserIdAndMonthAndYear(userId, month, year).orElse(null),
+                (yearRows, budget) -> budget != null
+                        ? ReportAssembler.dashboard(month, year, yearRows, budget.id, Money.of(budget.amount))
+                        : ReportAssembler.dashboard(month, year, yearRows, null, null));
+    }
+
+    private List<CategoryTotal> categoryTotals(Long userId, int year, int month) {
+        LocalDate start = LocalDate.of(year, month, 1);
+        return select("by-category", userId,
+                () -> rollupRepository.findCategoryTotals(userId, year, month),
+                () -> inMemoryQueries.findCategoryTotals(userId, start, start.plusMonths(1)));
+    }
+
+    private Money budgetAmount(Long userId, int month, int year) {
+        return budgetRepository.findByUserIdAndMonthAndYear(userId, month, year).map(budget -> Money.of(budget.amount)).orElse(null);
+    }
 
-        for (int m = 1; m <= 12; m++) {
-            if (monthData.containsKey(m)) {
-                Object[] row = monthData.get(m);
-                trend.add(new MonthlyTrendResponse(m, year, (BigDecimal) row[1], (Long) row[2]));
-            } else {
-                trend.add(new MonthlyTrendResponse(m, year, BigDecimal.ZERO, 0));
-            }
+    private <T> List<T> select(String report, Long userId, Supplier<List<T>> sql, Supplier<List<T>> memory) {
+        switch (engine) {
+            case MEMORY:
+                return memory.get();
+            case VERIFY:
+                List<T> sqlRows = sql.get();
+                List<T> memoryRows = memory.get();
+                if (!sqlRows.equals(memoryRows)) {
+                    LOG.warnf("In-memory %s report for user %d differs from SQL (%d rows vs %d)",
+                            report, userId, memoryRows.size(), sqlRows.size());
+                }
+                return sqlRows;
+            default:
+                return sql.get();
         }
-        return trend;
     }
 }
@@ -0,0 +1,259 @@
+package com.expense.report;
+
+import com.expense.common.TooManyRequestsException;
+import com.expense.common.UserDataChangedEvent;
+import com.expense.common.UserDataVersions;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes a user's dashboard figures to their open report streams. A committed
+ * change schedules one refresh per user after {@code reports.stream.coalesce},
+ * so a burst of writes costs one recompute; the refresh reads the cached
+ * dashboard once per month being watched and sends each tab only the parts
+ * (summary, breakdown, budget) that differ from what it last received.
+ * <p>
+ * At most {@code reports.stream.max-per-user} streams are open per user.
+ * A comment goes out on every stream each {@code reports.stream.heartbeat},
+ * which keeps proxies from timing out idle streams and finds dead ones.
+ * Streams only see changes committed on this instance.
+ */
+@ApplicationScoped
+public class ReportStream {
+
+    private static final Logger LOG = Logger.getLogger(ReportStream.class);
+
+    @Inject
+    ReportService reportService;
+
+    @Inject
+    UserDataVersions versions;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "reports.stream.max-per-user", defaultValue = "5")
+    int maxPerUser;
+
+    @ConfigProperty(name = "reports.stream.coalesce", defaultValue = "500ms")
+    Duration coalesce;
+
+    private final ConcurrentHashMap<Long, UserStreams> users = new ConcurrentHashMap<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private ExecutorService executor;
+    private Executor delayed;
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("report-stream-", 0).factory());
+        delayed = CompletableFuture.delayedExecutor(coalesce.toMillis(), TimeUnit.MILLISECONDS, executor);
+        registry.gauge("reports.stream.connections", open);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+        users.values().forEach(streams -> streams.subscribers.forEach(Subscriber::close));
+    }
+
+    /**
+     * Registers the stream and sends it the current figures for {@code month}.
+     */
+    public void open(Long userId, YearMonth month, SseEventSink sink, Sse sse) {
+        Subscriber subscriber = new Subscriber(userId, month, sink, sse);
+        users.compute(userId, (id, streams) -> {
+            if (streams == null) {
+                streams = new UserStreams();
+            }
+            // Closed tabs are normally found by the heartbeat; check now rather than refuse a live one
+            for (Subscriber existing : streams.subscribers) {
+                if (existing.isDead() && existing.closed.compareAndSet(false, true)) {
+                    streams.subscribers.remove(existing);
+                    open.decrementAndGet();
+                }
+            }
+            if (streams.subscribers.size() >= maxPerUser) {
+                throw new TooManyRequestsException("At most " + maxPerUser + " report streams may be open at once");
+            }
+            streams.subscribers.add(subscriber);
+            return streams;
+        });
+        open.incrementAndGet();
+
+        // Registered first, so a change committed while this runs still triggers a refresh
+        long version = versions.current(userId);
+        try {
+            subscriber.push(version, snapshot(userId, month));
+        } catch (RuntimeException e) {
+            subscriber.close();
+            throw e;
+        }
+    }
+
+    void onChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) UserDataChangedEvent event) {
+        UserStreams streams = users.get(event.userId);
+        if (streams != null && streams.refreshScheduled.compareAndSet(false, true)) {
+            delayed.execute(() -> refresh(event.userId, streams));
+        }
+    }
+
+    @Scheduled(every = "{reports.stream.heartbeat}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void heartbeat() {
+        for (UserStreams streams : users.values()) {
+            streams.subscribers.forEach(Subscriber::heartbeat);
+        }
+    }
+
+    private void refresh(Long userId, UserStreams streams) {
+        // Changes committed from here on schedule another refresh
+        streams.refreshScheduled.set(false);
+        // The user's last tab may have closed and a new one opened since this was scheduled
+        UserStreams current = users.get(userId);
+        if (current == null) {
+            return;
+        }
+        long version = versions.current(userId);
+        Map<YearMonth, List<Subscriber>> byMonth = current.subscribers.stream()
+                .collect(Collectors.groupingBy(subscriber -> subscriber.month, LinkedHashMap::new, Collectors.toList()));
+        for (Map.Entry<YearMonth, List<Subscriber>> entry : byMonth.entrySet()) {
+            try {
+                Snapshot snapshot = snapshot(userId, entry.getKey());
+                entry.getValue().forEach(subscriber -> subscriber.push(version, snapshot));
+            } catch (RuntimeException e) {
+                LOG.warnf(e, "Could not refresh report streams of user %d for %s", userId, entry.getKey());
+            }
+        }
+    }
+
+    private Snapshot snapshot(Long userId, YearMonth month) {
+        DashboardResponse dashboard = QuarkusTransaction.requiringNew()
+                .call(() -> reportService.getDashboard(userId, month.getMonthValue(), month.getYear()));
+        return new Snapshot(json(dashboard.summary), json(dashboard.byCategory),
+                dashboard.budget != null ? json(dashboard.budget) : null);
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize report stream event", e);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        users.computeIfPresent(subscriber.userId, (id, streams) -> {
+            streams.subscribers.remove(subscriber);
+            return streams.subscribers.isEmpty() ? null : streams;
+        });
+        open.decrementAndGet();
+    }
+
+    private static final class UserStreams {
+        final CopyOnWriteArrayList<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    }
+
+    /** Serialized parts of one month's dashboard; {@code budget} is null when the month has none. */
+    private record Snapshot(String summary, String breakdown, String budget) {}
+
+    private final class Subscriber {
+        final Long userId;
+        final YearMonth month;
+        final SseEventSink sink;
+        final Sse sse;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private long version = -1;
+        private String summary;
+        private String breakdown;
+        private String budget;
+
+        Subscriber(Long userId, YearMonth month, SseEventSink sink, Sse sse) {
+            this.userId = userId;
+            this.month = month;
+            this.sink = sink;
+            this.sse = sse;
+        }
+
+        synchronized void push(long version, Snapshot snapshot) {
+            // A snapshot taken before a newer one was sent must not overwrite it
+            if (version < this.version) {
+                return;
+            }
+            this.version = version;
+            if (!snapshot.summary().equals(summary)) {
+                summary = snapshot.summary();
+                send(sse.newEventBuilder().name("summary").data(summary).build());
+            }
+            if (!snapshot.breakdown().equals(breakdown)) {
+                breakdown = snapshot.breakdown();
+                send(sse.newEventBuilder().name("breakdown").data(breakdown).build());
+            }
+            if (snapshot.budget() != null && !Objects.equals(snapshot.budget(), budget)) {
+                budget = snapshot.budget();
+                send(sse.newEventBuilder().name("budget").data(budget).build());
+            }
+        }
+
+        synchronized void heartbeat() {
+            send(sse.newEventBuilder().comment("heartbeat").build());
+        }
+
+        boolean isDead() {
+            return closed.get() || sink.isClosed();
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                remove(this);
+                if (!sink.isClosed()) {
+                    sink.close();
+                }
+            }
+        }
+
+        private void send(OutboundSseEvent event) {
+            if (isDead()) {
+                close();
+                return;
+            }
+            sink.send(event).whenComplete((ignored, failure) -> {
+                if (failure != null) {
+                    close();
+                }
+            });
+        }
+    }
+}
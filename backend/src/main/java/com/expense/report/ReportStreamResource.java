@@ -0,0 +1,49 @@
+package com.expense.report;
+
+import com.expense.auth.CurrentUser;
+import com.expense.common.ValidationException;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import io.quarkus.security.Authenticated;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Live dashboard figures over Server-Sent Events. Available with either report
+ * stack, since the events are built from the cached dashboard.
+ */
+@Path("/api/reports/stream")
+@Authenticated
+@RunOnVirtualThread
+public class ReportStreamResource {
+
+    @Inject
+    ReportStream reportStream;
+
+    @Inject
+    CurrentUser currentUser;
+
+    @GET
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void stream(
+            @QueryParam("month") Integer month,
+            @QueryParam("year") Integer year,
+            @Context SseEventSink sink,
+            @Context Sse sse) {
+        Long userId = currentUser.id();
+        int m = month != null ? month : LocalDate.now().getMonthValue();
+        int y = year != null ? year : LocalDate.now().getYear();
+        if (m < 1 || m > 12) {
+            throw new ValidationException("month must be between 1 and 12");
+        }
+        reportStream.open(userId, YearMonth.of(y, m), sink, sse);
+    }
+}
@@ -0,0 +1,43 @@
+package com.expense.report;
+
+import com.expense.common.UserDataChangedEvent;
+import com.expense.sync.ChangeSequence;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import java.util.List;
+
+@ApplicationScoped
+public class RollupReconciler {
+
+    private static final Logger LOG = Logger.getLogger(RollupReconciler.class);
+
+    @Inject
+    MonthlyRollupRepository rollupRepository;
+
+    @Inject
+    ChangeSequence changeSequence;
+
+    @Inject
+    Event<UserDataChangedEvent> dataChanged;
+
+    @Scheduled(cron = "{reports.rollup.reconcile.cron}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    public void reconcile() {
+        List<Long> drifted = QuarkusTransaction.requiringNew().call(rollupRepository::findUsersWithDrift);
+        for (Long userId : drifted) {
+            LOG.warnf("Monthly rollups for user %d differ from raw expenses, rebuilding", userId);
+            rebuild(userId);
+        }
+    }
+
+    public void rebuild(Long userId) {
+        QuarkusTransaction.requiringNew().run(() -> {
+            rollupRepository.rebuildForUser(userId);
+            // Like an import: caches, snapshots and streams derived from the old rollups reload after commit
+            dataChanged.fire(new UserDataChangedEvent(userId, changeSequence.state(userId).current(), null));
+        });
+    }
+}
@@ -0,0 +1,41 @@
+package com.expense.sync;
+
+import com.expense.auth.CurrentUser;
+import com.expense.common.ValidationException;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import io.quarkus.security.Authenticated;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+
+@Path("/api/sync")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@Authenticated
+@RunOnVirtualThread
+public class SyncResource {
+
+    @Inject
+    SyncService syncService;
+
+    @Inject
+    CurrentUser currentUser;
+
+    @GET
+    public SyncResponse getChanges(
+            @QueryParam("since") @DefaultValue("0") long since,
+            @QueryParam("limit") @DefaultValue("1000") int limit) {
+        Long userId = currentUser.id();
+        if (since < 0) {
+            throw new ValidationException("since must not be negative");
+        }
+        if (limit < 1) limit = 1;
+        if (limit > 5000) limit = 5000;
+        return syncService.getChanges(userId, since, limit);
+    }
+}
@@ -0,0 +1,31 @@
+package com.expense.sync;
+
+import com.expense.category.CategoryResponse;
+import com.expense.common.Money;
+import com.expense.expense.ExpenseResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SyncResponse {
+    /** Pass as {@code since} on the next call. */
+    public long token;
+    /** The client's token was too old or unknown: drop local data and apply this response as a full copy. */
+    public boolean reset;
+    /** More changes follow; call again with {@link #token} straight away. */
+    public boolean hasMore;
+    public List<CategoryResponse> categories = new ArrayList<>();
+    public List<BudgetItem> budgets = new ArrayList<>();
+    public List<ExpenseResponse> expenses = new ArrayList<>();
+    public List<Long> deletedExpenses = new ArrayList<>();
+
+    public static class BudgetItem {
+        public Long id;
+        public int month;
+        public int year;
+        /** Null for the month's overall budget. */
+        public Long categoryId;
+        public Money amount;
+
+        public BudgetItem() {}
+    }
+}
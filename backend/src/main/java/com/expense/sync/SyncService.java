@@ -0,0 +1,117 @@
+package com.expense.sync;
+
+import com.expense.budget.Budget;
+import com.expense.budget.BudgetRepository;
+import com.expense.category.Category;
+import com.expense.category.CategoryCatalog;
+import com.expense.category.CategoryEntry;
+import com.expense.category.CategoryRepository;
+import com.expense.category.CategoryResponse;
+import com.expense.common.Money;
+import com.expense.expense.Expense;
+import com.expense.expense.ExpenseRepository;
+import com.expense.expense.ExpenseResponse;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+@ApplicationScoped
+public class SyncService {
+
+    @Inject
+    ChangeSequence changeSequence;
+
+    @Inject
+    ExpenseRepository expenseRepository;
+
+    @Inject
+    BudgetRepository budgetRepository;
+
+    @Inject
+    CategoryRepository categoryRepository;
+
+    @Inject
+    TombstoneRepository tombstoneRepository;
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    /**
+     * Changes after {@code since} (0 for a full copy), at most {@code limit}
+     * rows of each kind. Pages end on a change-sequence position, so a client
+     * that applies every page in order and keeps the last token never skips a
+     * change; it may see a row again if it changed again meanwhile.
+     */
+    public SyncResponse getChanges(Long userId, long since, int limit) {
+        ChangeSequence.SyncState state = changeSequence.state(userId);
+        // Tokens below the floor may have missed purged deletions; tokens above the current position are not ours
+        boolean reset = since > state.current() || (since > 0 && since < state.floor());
+        SyncResponse response = read(userId, reset ? 0 : since, state.current(), limit);
+
+        // A purge that ran while reading may have removed tombstones this client still needed
+        if (!reset && since > 0 && since < changeSequence.state(userId).floor()) {
+            reset = true;
+            response = read(userId, 0, state.current(), limit);
+        }
+        response.reset = reset;
+        return response;
+    }
+
+    private SyncResponse read(Long userId, long after, long current, int limit) {
+        // One row past the limit tells whether a kind has more changes than fit
+        List<Category> categories = categoryRepository.findChanged(userId, after, current, limit + 1);
+        List<Budget> budgets = budgetRepository.findChanged(userId, after, current, limit + 1);
+        List<Expense> expenses = expenseRepository.findChanged(userId, after, current, limit + 1);
+        // A full copy has nothing to delete
+        List<Tombstone> tombstones = after == 0 ? List.of() : tombstoneRepository.findChanged(userId, after, current, limit + 1);
+
+        // End the page at the earliest position where some kind ran out of room
+        long upTo = current;
+        upTo = pageEnd(categories, limit, upTo, category -> category.changeSeq);
+        upTo = pageEnd(budgets, limit, upTo, budget -> budget.changeSeq);
+        upTo = pageEnd(expenses, limit, upTo, expense -> expense.changeSeq);
+        upTo = pageEnd(tombstones, limit, upTo, tombstone -> tombstone.changeSeq);
+
+        SyncResponse response = new SyncResponse();
+        response.token = upTo;
+        response.hasMore = upTo < current;
+        if (after == 0) {
+            // Defaults are fixed at startup and not tracked, so only a full copy carries them
+            for (CategoryEntry entry : categoryCatalog.listDefaults()) {
+                response.categories.add(entry.toResponse());
+            }
+        }
+        for (Category category : categories) {
+            if (category.changeSeq <= upTo) {
+                response.categories.add(new CategoryResponse(category));
+            }
+        }
+        for (Budget budget : budgets) {
+            if (budget.changeSeq <= upTo) {
+                SyncResponse.BudgetItem item = new SyncResponse.BudgetItem();
+                item.id = budget.id;
+                item.month = budget.month;
+                item.year = budget.year;
+                item.categoryId = budget.category != null ? budget.category.id : null;
+                item.amount = Money.of(budget.amount);
+                response.budgets.add(item);
+            }
+        }
+        for (Expense expense : expenses) {
+            if (expense.changeSeq <= upTo) {
+                response.expenses.add(new ExpenseResponse(expense));
+            }
+        }
+        for (Tombstone tombstone : tombstones) {
+            if (tombstone.changeSeq <= upTo && Tombstone.EXPENSE.equals(tombstone.entityType)) {
+                response.deletedExpenses.add(tombstone.entityId);
+            }
+        }
+        return response;
+    }
+
+    private static <T> long pageEnd(List<T> rows, int limit, long upTo, ToLongFunction<T> changeSeq) {
+        return rows.size() > limit ? Math.min(upTo, changeSeq.applyAsLong(rows.get(limit - 1))) : upTo;
+    }
+}
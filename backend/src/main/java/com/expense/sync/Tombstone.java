@@ -0,0 +1,44 @@
+package com.expense.sync;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "sync_tombstones")
+public class Tombstone extends PanacheEntity {
+
+    public static final String EXPENSE = "expense";
+
+    @Column(name = "user_id", nullable = false)
+    public Long userId;
+
+    @Column(name = "entity_type", nullable = false, length = 20)
+    public String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    public Long entityId;
+
+    @Column(name = "change_seq", nullable = false)
+    public long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false)
+    public LocalDateTime deletedAt;
+
+    public Tombstone() {}
+
+    public Tombstone(Long userId, String entityType, Long entityId, long changeSeq) {
+        this.userId = userId;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.changeSeq = changeSeq;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        deletedAt = LocalDateTime.now();
+    }
+}
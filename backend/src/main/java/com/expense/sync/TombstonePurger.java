@@ -0,0 +1,31 @@
+package com.expense.sync;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@ApplicationScoped
+public class TombstonePurger {
+
+    private static final Logger LOG = Logger.getLogger(TombstonePurger.class);
+
+    @Inject
+    TombstoneRepository tombstoneRepository;
+
+    @ConfigProperty(name = "sync.tombstones.retention", defaultValue = "90d")
+    Duration retention;
+
+    @Scheduled(cron = "{sync.tombstones.purge.cron}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int users = QuarkusTransaction.requiringNew().call(() -> tombstoneRepository.purgeBefore(cutoff));
+        if (users > 0) {
+            LOG.infof("Purged sync tombstones older than %s for %d users", cutoff, users);
+        }
+    }
+}
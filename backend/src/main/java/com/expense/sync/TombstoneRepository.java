@@ -0,0 +1,33 @@
+package com.expense.sync;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@ApplicationScoped
+public class TombstoneRepository implements PanacheRepository<Tombstone> {
+
+    /**
+     * Deletions in ({@code after}, {@code upTo}] of the user's change sequence, oldest first.
+     */
+    public List<Tombstone> findChanged(Long userId, long after, long upTo, int limit) {
+        return find("userId = ?1 and changeSeq > ?2 and changeSeq <= ?3 order by changeSeq", userId, after, upTo)
+                .range(0, limit - 1).list();
+    }
+
+    /**
+     * Deletes tombstones older than {@code cutoff} and raises each affected
+     * user's sync floor to the newest position purged, in one statement.
+     * Returns the number of users affected.
+     */
+    public int purgeBefore(LocalDateTime cutoff) {
+        return getEntityManager().createNativeQuery(
+                        "WITH purged AS (DELETE FROM sync_tombstones WHERE deleted_at < :cutoff RETURNING user_id, change_seq) " +
+                                "UPDATE users u SET sync_floor = GREATEST(u.sync_floor, p.change_seq) " +
+                                "FROM (SELECT user_id, MAX(change_seq) AS change_seq FROM purged GROUP BY user_id) p " +
+                                "WHERE u.id = p.user_id")
+                .setParameter("cutoff", cutoff)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,9 @@
+-- At most one queued or running import per user, enforced by the database so
+-- concurrent uploads cannot both start. Older duplicates are failed first.
+UPDATE import_jobs j
+SET status = 'FAILED', error_message = 'Superseded by a newer import', finished_at = NOW()
+WHERE status IN ('QUEUED', 'RUNNING')
+  AND EXISTS (SELECT 1 FROM import_jobs newer
+              WHERE newer.user_id = j.user_id AND newer.id > j.id AND newer.status IN ('QUEUED', 'RUNNING'));
+
+CREATE UNIQUE INDEX idx_import_jobs_one_active ON import_jobs(user_id) WHERE status IN ('QUEUED', 'RUNNING');
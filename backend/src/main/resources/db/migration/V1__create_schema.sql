@@ -0,0 +1,55 @@
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE categories_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE expenses_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE budgets_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id              BIGINT          PRIMARY KEY,
+    email           VARCHAR(255)    NOT NULL UNIQUE,
+    password_hash   VARCHAR(255)    NOT NULL,
+    name            VARCHAR(100)    NOT NULL,
+    created_at      TIMESTAMP       NOT NULL DEFAULT NOW(),
+    updated_at      TIMESTAMP       NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE categories (
+    id              BIGINT          PRIMARY KEY,
+    name            VARCHAR(50)     NOT NULL,
+    icon            VARCHAR(50),
+    is_default      BOOLEAN         NOT NULL DEFAULT FALSE,
+    user_id         BIGINT          REFERENCES users(id) ON DELETE CASCADE,
+    created_at      TIMESTAMP       NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_categories_user_id ON categories(user_id);
+CREATE UNIQUE INDEX idx_categories_name_user ON categories(name, user_id) WHERE user_id IS NOT NULL;
+CREATE UNIQUE INDEX idx_categories_name_default ON categories(name) WHERE is_default = TRUE;
+
+CREATE TABLE expenses (
+    id              BIGINT          PRIMARY KEY,
+    user_id         BIGINT          NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    category_id     BIGINT          NOT NULL REFERENCES categories(id),
+    amount          DECIMAL(10,2)   NOT NULL CHECK (amount > 0),
+    date            DATE            NOT NULL,
+    description     VARCHAR(500),
+    created_at      TIMESTAMP       NOT NULL DEFAULT NOW(),
+    updated_at      TIMESTAMP       NOT NULL DEFAULT NOW()
+);
+
+-- Serves every report aggregate (user + half-open date range, grouped by category) as an index-only scan
+CREATE INDEX idx_expenses_user_date_category ON expenses(user_id, date, category_id) INCLUDE (amount);
+-- Serves the expense list ordering (date desc, id desc) per user
+CREATE INDEX idx_expenses_user_date_id ON expenses(user_id, date DESC, id DESC);
+CREATE INDEX idx_expenses_category_id ON expenses(category_id);
+
+CREATE TABLE budgets (
+    id              BIGINT          PRIMARY KEY,
+    user_id         BIGINT          NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    month           INTEGER         NOT NULL CHECK (month BETWEEN 1 AND 12),
+    year            INTEGER         NOT NULL CHECK (year BETWEEN 2000 AND 2100),
+    amount          DECIMAL(10,2)   NOT NULL CHECK (amount > 0),
+    created_at      TIMESTAMP       NOT NULL DEFAULT NOW(),
+    updated_at      TIMESTAMP       NOT NULL DEFAULT NOW()
+);
+
+CREATE UNIQUE INDEX idx_budgets_user_year_month ON budgets(user_id, year, month);
@@ -1,8 +1,8 @@
-INSERT INTO categories (id, name, icon, is_default, user_id, created_at) VALUES (nextval('categories_SEQ'), 'Food', 'utensils', true, null, NOW());
-INSERT INTO categories (id, name, icon, is_default, user_id, created_at) VALUES (nextval('categories_SEQ'), 'Transportation', 'car', true, null, NOW());
-INSERT INTO categories (id, name, icon, is_default, user_id, created_at) VALUES (nextval('categories_SEQ'), 'Housing', 'home', true, null, NOW());
-INSERT INTO categories (id, name, icon, is_default, user_id, created_at) VALUES (nextval('categories_SEQ'), 'Utilities', 'bolt', true, null, NOW());
-INSERT INTO categories (id, name, icon, is_default, user_id, created_at) VALUES (nextval('categories_SEQ'), 'Entertainment', 'film', true, null, NOW());
-INSERT INTO categories (id, name, icon, is_default, user_id, created_at) VALUES (nextval('categories_SEQ'), 'Healthcare', 'heart-pulse', true, null, NOW());
-INSERT INTO categories (id, name, icon, is_default, user_id, created_at) VALUES (nextval('categories_SEQ'), 'Shopping', 'shopping-bag', true, null, NOW());
-INSERT INTO categories (id, name, icon, is_default, user_id, created_at) VALUES (nextval('categories_SEQ'), 'Other', 'ellipsis', true, null, NOW());
+INSERT INTO categories (id, name, icon, is_default, user_id, created_at) VALUES (nextval('categories_seq'), 'Food', 'utensils', true, null, NOW());
+INSERT INTO categories (id, name, icon, is_default, user_id, created_at) VALUES (nextval('categories_seq'), 'Transportation', 'car', true, null, NOW());
+INSERT INTO categories (id, name, icon, is_default, user_id, created_at) VALUES (nextval('categories_seq'), 'Housing', 'home', true, null, NOW());
+INSERT INTO categories (id, name, icon, is_default, user_id, created_at) VALUES (nextval('categories_seq'), 'Utilities', 'bolt', true, null, NOW());
+INSERT INTO categories (id, name, icon, is_default, user_id, created_at) VALUES (nextval('categories_seq'), 'Entertainment', 'film', true, null, NOW());
+INSERT INTO categories (id, name, icon, is_default, user_id, created_at) VALUES (nextval('categories_seq'), 'Healthcare', 'heart-pulse', true, null, NOW());
+INSERT INTO categories (id, name, icon, is_default, user_id, created_at) VALUES (nextval('categories_seq'), 'Shopping', 'shopping-bag', true, null, NOW());
+INSERT INTO categories (id, name, icon, is_default, user_id, created_at) VALUES (nextval('categories_seq'), 'Other', 'ellipsis', true, null, NOW());
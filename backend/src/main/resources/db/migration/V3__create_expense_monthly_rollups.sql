@@ -0,0 +1,16 @@
+-- Per (user, month, category) spending totals, maintained by the expense write path
+CREATE TABLE expense_monthly_rollups (
+    user_id         BIGINT          NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    year            INTEGER         NOT NULL,
+    month           INTEGER         NOT NULL CHECK (month BETWEEN 1 AND 12),
+    category_id     BIGINT          NOT NULL REFERENCES categories(id),
+    sum_cents       BIGINT          NOT NULL,
+    expense_count   BIGINT          NOT NULL,
+    PRIMARY KEY (user_id, year, month, category_id)
+);
+
+INSERT INTO expense_monthly_rollups (user_id, year, month, category_id, sum_cents, expense_count)
+SELECT user_id, EXTRACT(YEAR FROM date)::int, EXTRACT(MONTH FROM date)::int, category_id,
+       SUM(amount * 100)::bigint, COUNT(*)
+FROM expenses
+GROUP BY user_id, EXTRACT(YEAR FROM date), EXTRACT(MONTH FROM date), category_id;
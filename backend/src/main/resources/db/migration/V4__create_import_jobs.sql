@@ -0,0 +1,37 @@
+CREATE SEQUENCE import_jobs_seq START WITH 1 INCREMENT BY 50;
+
+-- One row per CSV upload; progress counters are updated as chunks are loaded
+CREATE TABLE import_jobs (
+    id              BIGINT          PRIMARY KEY,
+    user_id         BIGINT          NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    file_name       VARCHAR(255),
+    status          VARCHAR(20)     NOT NULL,
+    processed_rows  BIGINT          NOT NULL DEFAULT 0,
+    imported_rows   BIGINT          NOT NULL DEFAULT 0,
+    rejected_rows   BIGINT          NOT NULL DEFAULT 0,
+    error_message   VARCHAR(500),
+    created_at      TIMESTAMP       NOT NULL DEFAULT NOW(),
+    finished_at     TIMESTAMP
+);
+
+CREATE INDEX idx_import_jobs_user_id ON import_jobs(user_id, id DESC);
+
+CREATE TABLE import_rejects (
+    job_id          BIGINT          NOT NULL REFERENCES import_jobs(id) ON DELETE CASCADE,
+    line_number     BIGINT          NOT NULL,
+    reason          VARCHAR(500)    NOT NULL,
+    PRIMARY KEY (job_id, line_number)
+);
+
+-- Validated rows loaded with COPY before the set-based insert into expenses.
+-- Unlogged: the contents are transient and can be rebuilt from the upload.
+CREATE UNLOGGED TABLE expense_import_staging (
+    job_id          BIGINT          NOT NULL,
+    line_number     BIGINT          NOT NULL,
+    date            DATE            NOT NULL,
+    amount          DECIMAL(10,2)   NOT NULL,
+    category_id     BIGINT          NOT NULL,
+    description     VARCHAR(500)
+);
+
+CREATE INDEX idx_expense_import_staging_job ON expense_import_staging(job_id, line_number);
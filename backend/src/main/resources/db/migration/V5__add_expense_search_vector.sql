@@ -0,0 +1,7 @@
+-- Full-text search over descriptions. The 'simple' configuration lowercases
+-- without stemming, so prefix queries match what the user typed.
+ALTER TABLE expenses
+    ADD COLUMN search_vector tsvector
+        GENERATED ALWAYS AS (to_tsvector('simple', coalesce(description, ''))) STORED;
+
+CREATE INDEX idx_expenses_search_vector ON expenses USING GIN (search_vector);
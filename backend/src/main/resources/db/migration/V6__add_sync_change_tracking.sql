@@ -0,0 +1,49 @@
+-- Per-user change counter. Every write to a user's expenses, budgets or custom
+-- categories takes the next values from users.change_seq (the row lock orders
+-- concurrent writers) and stamps them on the rows it touches.
+ALTER TABLE users ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+-- Highest change_seq among purged tombstones; older sync tokens must resync in full
+ALTER TABLE users ADD COLUMN sync_floor BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE expenses ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE budgets ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE categories ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+
+-- Number existing rows per user: categories, then budgets, then expenses
+CREATE TEMPORARY TABLE sync_backfill AS
+SELECT kind, id, user_id, ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY kind, id) AS change_seq
+FROM (
+    SELECT 1 AS kind, id, user_id FROM categories WHERE user_id IS NOT NULL
+    UNION ALL
+    SELECT 2, id, user_id FROM budgets
+    UNION ALL
+    SELECT 3, id, user_id FROM expenses
+) owned;
+
+UPDATE categories c SET change_seq = b.change_seq FROM sync_backfill b WHERE b.kind = 1 AND b.id = c.id;
+UPDATE budgets t SET change_seq = b.change_seq FROM sync_backfill b WHERE b.kind = 2 AND b.id = t.id;
+UPDATE expenses e SET change_seq = b.change_seq FROM sync_backfill b WHERE b.kind = 3 AND b.id = e.id;
+UPDATE users u SET change_seq = m.change_seq
+FROM (SELECT user_id, MAX(change_seq) AS change_seq FROM sync_backfill GROUP BY user_id) m
+WHERE m.user_id = u.id;
+
+DROP TABLE sync_backfill;
+
+CREATE INDEX idx_expenses_user_change_seq ON expenses(user_id, change_seq);
+CREATE INDEX idx_budgets_user_change_seq ON budgets(user_id, change_seq);
+CREATE INDEX idx_categories_user_change_seq ON categories(user_id, change_seq);
+
+CREATE SEQUENCE sync_tombstones_seq START WITH 1 INCREMENT BY 50;
+
+-- Deleted rows, kept so sync clients learn about deletions
+CREATE TABLE sync_tombstones (
+    id              BIGINT          PRIMARY KEY,
+    user_id         BIGINT          NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    entity_type     VARCHAR(20)     NOT NULL,
+    entity_id       BIGINT          NOT NULL,
+    change_seq      BIGINT          NOT NULL,
+    deleted_at      TIMESTAMP       NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_sync_tombstones_user_change_seq ON sync_tombstones(user_id, change_seq);
+CREATE INDEX idx_sync_tombstones_deleted_at ON sync_tombstones(deleted_at);
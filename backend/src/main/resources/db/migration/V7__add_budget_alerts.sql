@@ -0,0 +1,30 @@
+-- Percentages of the budget that raise an alert when spending crosses them
+ALTER TABLE budgets ADD COLUMN alert_thresholds VARCHAR(100) NOT NULL DEFAULT '50,80,100';
+-- Spending in the budget's month, kept up to date by every expense write
+ALTER TABLE budgets ADD COLUMN spent_cents BIGINT NOT NULL DEFAULT 0;
+
+UPDATE budgets b SET spent_cents = r.sum_cents
+FROM (
+    SELECT user_id, year, month, SUM(sum_cents) AS sum_cents
+    FROM expense_monthly_rollups
+    GROUP BY user_id, year, month
+) r
+WHERE r.user_id = b.user_id AND r.year = b.year AND r.month = b.month;
+
+CREATE SEQUENCE notifications_seq START WITH 1 INCREMENT BY 50;
+
+-- Per-user inbox
+CREATE TABLE notifications (
+    id              BIGINT          PRIMARY KEY,
+    user_id         BIGINT          NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    type            VARCHAR(30)     NOT NULL,
+    budget_id       BIGINT          REFERENCES budgets(id) ON DELETE CASCADE,
+    month           INTEGER,
+    year            INTEGER,
+    threshold       INTEGER,
+    message         VARCHAR(255)    NOT NULL,
+    created_at      TIMESTAMP       NOT NULL DEFAULT NOW(),
+    read_at         TIMESTAMP
+);
+
+CREATE INDEX idx_notifications_user_id ON notifications(user_id, id DESC);
@@ -0,0 +1,6 @@
+-- A month may have per-category budgets next to its overall budget (category_id NULL)
+ALTER TABLE budgets ADD COLUMN category_id BIGINT REFERENCES categories(id);
+
+DROP INDEX idx_budgets_user_year_month;
+-- One overall budget, and one budget per category, for each user and month
+CREATE UNIQUE INDEX idx_budgets_user_year_month_category ON budgets(user_id, year, month, category_id) NULLS NOT DISTINCT;
@@ -0,0 +1,27 @@
+-- Custom category names become unique per user regardless of case. Existing
+-- clashes keep their oldest category; the others get their id appended to the
+-- name, and a new change sequence position so sync clients pick up the rename.
+CREATE TEMPORARY TABLE category_renames AS
+SELECT c.id, c.user_id, ROW_NUMBER() OVER (PARTITION BY c.user_id ORDER BY c.id) AS n
+FROM categories c
+WHERE c.user_id IS NOT NULL AND EXISTS (
+    SELECT 1 FROM categories o
+    WHERE o.user_id = c.user_id AND LOWER(o.name) = LOWER(c.name) AND o.id < c.id
+);
+
+UPDATE categories c
+SET name = LEFT(c.name, 50 - LENGTH(' (' || c.id || ')')) || ' (' || c.id || ')',
+    change_seq = u.change_seq + r.n
+FROM category_renames r
+JOIN users u ON u.id = r.user_id
+WHERE c.id = r.id;
+
+UPDATE users u SET change_seq = u.change_seq + m.n
+FROM (SELECT user_id, MAX(n) AS n FROM category_renames GROUP BY user_id) m
+WHERE m.user_id = u.id;
+
+DROP TABLE category_renames;
+
+DROP INDEX idx_categories_name_user;
+-- Arbiter for the ON CONFLICT insert in CategoryRepository.insertCustom
+CREATE UNIQUE INDEX idx_categories_user_lower_name ON categories(user_id, LOWER(name)) WHERE user_id IS NOT NULL;
@@ -0,0 +1,107 @@
+package com.expense;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Fails a test when a virtual thread blocks while pinned to its carrier.
+ * Two sources are watched while the action runs: the trace the JDK prints
+ * under {@code -Djdk.tracePinnedThreads} (set by surefire), and the
+ * {@code jdk.VirtualThreadPinned} JFR event. The printed trace appears only
+ * the first time the JVM sees a given stack, while the event fires every
+ * time, so a pinning site first hit outside a test is still caught.
+ */
+public final class PinningDetector {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private PinningDetector() {}
+
+    /** The calls under test; may throw, like {@link Concurrently#run}. */
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    /** Runs the action and fails if any virtual thread pinned its carrier meanwhile. */
+    public static void assertNoPinning(Action action) throws Exception {
+        assertEquals("short", System.getProperty("jdk.tracePinnedThreads"),
+                "Run with -Djdk.tracePinnedThreads=short (configured for surefire in pom.xml)");
+
+        List<String> pinned = new CopyOnWriteArrayList<>();
+        PrintStream out = System.out;
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent(PINNED_EVENT, event -> pinned.add(describe(event)));
+            recording.startAsync();
+            System.setOut(new PrintStream(new Tee(out, printed), true, StandardCharsets.UTF_8));
+            try {
+                action.run();
+            } finally {
+                System.setOut(out);
+                // Delivers the events recorded so far before returning
+                recording.stop();
+            }
+        }
+
+        String trace = printed.toString(StandardCharsets.UTF_8);
+        if (trace.contains("<== monitors") || trace.contains("VThreadContinuation.onPinned")) {
+            pinned.add(trace);
+        }
+        assertTrue(pinned.isEmpty(), () -> "Virtual threads blocked while pinned:\n" + String.join("\n", pinned));
+    }
+
+    private static String describe(RecordedEvent event) {
+        StringBuilder text = new StringBuilder("Pinned for ").append(event.getDuration());
+        if (event.getStackTrace() != null) {
+            for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+                text.append("\n    at ").append(frame.getMethod().getType().getName())
+                        .append('.').append(frame.getMethod().getName())
+                        .append(':').append(frame.getLineNumber());
+            }
+        }
+        return text.toString();
+    }
+
+    /** Writes to the original stream as well, so the test log is unchanged. */
+    private static final class Tee extends OutputStream {
+        private final OutputStream first;
+        private final OutputStream second;
+
+        Tee(OutputStream first, OutputStream second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public synchronized void write(int b) throws IOException {
+            first.write(b);
+            second.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) throws IOException {
+            first.write(b, off, len);
+            second.write(b, off, len);
+        }
+
+        @Override
+        public synchronized void flush() throws IOException {
+            first.flush();
+            second.flush();
+        }
+    }
+}
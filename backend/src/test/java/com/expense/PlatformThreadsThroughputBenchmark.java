@@ -0,0 +1,15 @@
+package com.expense;
+
+import io.quarkus.test.junit.QuarkusTest;
+
+/**
+ * {@link ResourceThroughputBenchmark} with requests on the worker pool.
+ */
+@QuarkusTest
+class PlatformThreadsThroughputBenchmark extends ResourceThroughputBenchmark {
+
+    @Override
+    protected String threads() {
+        return "worker pool";
+    }
+}
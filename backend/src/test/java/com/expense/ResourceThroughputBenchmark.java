@@ -0,0 +1,58 @@
+package com.expense;
+
+import static com.expense.TestUsers.as;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.expense.category.CategoryCatalog;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Throughput of a list, a dashboard and a create under many concurrent
+ * clients. Subclasses run it with the blocking resources on the worker pool
+ * and on virtual threads, so the two can be compared:
+ * {@code ./mvnw test -Pbenchmark -Dtest='*ThreadsThroughputBenchmark'}.
+ */
+@Tag("benchmark")
+public abstract class ResourceThroughputBenchmark {
+
+    private static final int THREADS = 256;
+    private static final int USERS = 32;
+    private static final Duration RUN = Duration.ofSeconds(15);
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    /** Names the thread model in the printed results. */
+    protected abstract String threads();
+
+    @Test
+    void mixedReadsAndWrites() throws Exception {
+        long categoryId = categoryCatalog.listDefaults().get(0).id();
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            String token = TestUsers.register();
+            List<Map<String, Object>> items = new ArrayList<>();
+            for (int n = 0; n < 100; n++) {
+                items.add(Map.of("amount", "8.00", "categoryId", categoryId, "date", LocalDate.of(2026, 4, 1).plusDays(n % 30).toString()));
+            }
+            as(token).body(items).post("/api/expenses/batch").then().body("succeeded", equalTo(items.size()));
+            tokens.add(token);
+        }
+
+        Throughput.measure(threads() + ": list", THREADS, RUN,
+                i -> as(tokens.get(i % USERS)).queryParam("size", 20).get("/api/expenses").then().statusCode(200));
+        Throughput.measure(threads() + ": dashboard", THREADS, RUN,
+                i -> as(tokens.get(i % USERS)).queryParam("month", 4).queryParam("year", 2026).get("/api/reports/dashboard")
+                        .then().statusCode(200));
+        Throughput.measure(threads() + ": create", THREADS, RUN,
+                i -> as(tokens.get(i % USERS)).body(Map.of("amount", "3.00", "categoryId", categoryId, "date", "2026-04-15"))
+                        .post("/api/expenses").then().statusCode(201));
+    }
+}
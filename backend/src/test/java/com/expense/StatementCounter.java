@@ -0,0 +1,77 @@
+package com.expense;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Records the SQL statements Hibernate prepares while a test action runs, so
+ * tests can pin how many statements an endpoint issues. The total is checked
+ * against Hibernate's statistics. Calls to the pooled id sequences are left
+ * out of the returned list: one happens per 50 inserts, wherever the current
+ * allocation runs out, so they would make the counts depend on test order.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class StatementCounter implements StatementInspector {
+
+    private static final Pattern USERS_TABLE = Pattern.compile("\\busers\\b", Pattern.CASE_INSENSITIVE);
+
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+    private volatile boolean recording;
+
+    @Override
+    public String inspect(String sql) {
+        if (recording) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Runs the action (typically one HTTP request) and returns the statements it
+     * prepared, without sequence calls.
+     */
+    public List<String> during(Runnable action) {
+        Statistics statistics = Arc.container().instance(SessionFactory.class).get().getStatistics();
+        statements.clear();
+        statistics.clear();
+        recording = true;
+        try {
+            action.run();
+        } finally {
+            recording = false;
+        }
+        assertEquals(statistics.getPrepareStatementCount(), statements.size(),
+                () -> "Hibernate statistics disagree with the recorded statements " + statements);
+        return statements.stream().filter(sql -> !isSequenceCall(sql)).toList();
+    }
+
+    /**
+     * Fails if any statement names the users table, other than the bump of the
+     * user's change position, which writes {@code users.change_seq} by id and
+     * reads nothing else of the row.
+     */
+    public static void assertNoUserLoad(List<String> sql) {
+        List<String> touching = sql.stream()
+                .filter(statement -> USERS_TABLE.matcher(statement).find())
+                .filter(statement -> !statement.toLowerCase(Locale.ROOT).startsWith("update users set change_seq = change_seq +"))
+                .toList();
+        assertTrue(touching.isEmpty(), () -> "Touched the users table: " + touching);
+    }
+
+    private static boolean isSequenceCall(String sql) {
+        String lower = sql.toLowerCase(Locale.ROOT);
+        return lower.startsWith("select nextval(") && !lower.contains(" from ");
+    }
+}
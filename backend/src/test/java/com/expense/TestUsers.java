@@ -0,0 +1,38 @@
+package com.expense;
+
+import static io.restassured.RestAssured.given;
+
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Registers throwaway users through the API, so each test works on its own data.
+ */
+public final class TestUsers {
+
+    private TestUsers() {}
+
+    /** Registers a new user and returns their token. */
+    public static String register() {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("email", "user-" + UUID.randomUUID() + "@example.com", "password", "password123", "name", "Test User"))
+                .post("/api/auth/register")
+                .then().statusCode(201)
+                .extract().path("token");
+    }
+
+    /** The id of the token's user. */
+    public static long id(String token) {
+        return as(token).get("/api/auth/me")
+                .then().statusCode(200)
+                .extract().<Number>path("id").longValue();
+    }
+
+    /** A JSON request authenticated as the token's user. */
+    public static RequestSpecification as(String token) {
+        return given().auth().oauth2(token).contentType(ContentType.JSON);
+    }
+}
@@ -0,0 +1,97 @@
+package com.expense;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+/**
+ * Drives a call from many threads for a fixed time and reports throughput
+ * and latency, for the {@code benchmark}-tagged tests. These only run with
+ * {@code ./mvnw test -Pbenchmark}; their figures depend on the machine and the
+ * Dev Services database, so they are printed for comparison, not asserted.
+ */
+public final class Throughput {
+
+    private Throughput() {}
+
+    public record Result(String label, int threads, long calls, double perSecond, double p50Millis, double p99Millis) {
+        @Override
+        public String toString() {
+            return String.format("%-32s threads=%-4d calls=%-8d %10.1f/s  p50=%8.2fms  p99=%8.2fms",
+                    label, threads, calls, perSecond, p50Millis, p99Millis);
+        }
+    }
+
+    /**
+     * Runs {@code call} in a loop on {@code threads} threads for {@code duration}
+     * after a short warm-up, prints the result and returns it. The call gets
+     * its thread's index.
+     */
+    public static Result measure(String label, int threads, Duration duration, IntConsumer call) throws Exception {
+        run(threads, duration.dividedBy(5), call);
+        long start = System.nanoTime();
+        long[] latencies = run(threads, duration, call);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Arrays.sort(latencies);
+        Result result = new Result(label, threads, latencies.length, latencies.length / seconds,
+                percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6);
+        System.out.println("[benchmark] " + result);
+        return result;
+    }
+
+    private static long[] run(int threads, Duration duration, IntConsumer call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<long[]>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    long deadline = System.nanoTime() + duration.toNanos();
+                    long[] own = new long[1024];
+                    int n = 0;
+                    long now;
+                    while ((now = System.nanoTime()) < deadline) {
+                        call.accept(index);
+                        if (n == own.length) {
+                            own = Arrays.copyOf(own, n * 2);
+                        }
+                        own[n++] = System.nanoTime() - now;
+                    }
+                    return Arrays.copyOf(own, n);
+                }));
+            }
+            start.countDown();
+            List<long[]> parts = new ArrayList<>(threads);
+            int total = 0;
+            for (Future<long[]> future : futures) {
+                long[] part = future.get();
+                parts.add(part);
+                total += part.length;
+            }
+            long[] all = new long[total];
+            int offset = 0;
+            for (long[] part : parts) {
+                System.arraycopy(part, 0, all, offset, part.length);
+                offset += part.length;
+            }
+            return all;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1)];
+    }
+}
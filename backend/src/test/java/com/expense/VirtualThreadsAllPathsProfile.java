@@ -0,0 +1,21 @@
+package com.expense;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+import java.util.Map;
+
+/**
+ * {@link VirtualThreadsProfile} with the optional concurrent paths switched on
+ * as well: group-commit creates, report fan-out, and the verify engine, which
+ * runs every report both in SQL and over the columnar snapshots.
+ */
+public class VirtualThreadsAllPathsProfile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        return Map.of(
+                "quarkus.virtual-threads.enabled", "true",
+                "expenses.ingest.enabled", "true",
+                "reports.fan-out.enabled", "true",
+                "reports.engine", "verify");
+    }
+}
@@ -0,0 +1,15 @@
+package com.expense;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+import java.util.Map;
+
+/**
+ * Runs the application with {@code @RunOnVirtualThread} resources on virtual threads.
+ */
+public class VirtualThreadsProfile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        return Map.of("quarkus.virtual-threads.enabled", "true");
+    }
+}
@@ -0,0 +1,17 @@
+package com.expense;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+/**
+ * {@link ResourceThroughputBenchmark} with each request on its own virtual thread.
+ */
+@QuarkusTest
+@TestProfile(VirtualThreadsProfile.class)
+class VirtualThreadsThroughputBenchmark extends ResourceThroughputBenchmark {
+
+    @Override
+    protected String threads() {
+        return "virtual threads";
+    }
+}
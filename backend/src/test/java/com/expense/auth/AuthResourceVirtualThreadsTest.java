@@ -0,0 +1,42 @@
+package com.expense.auth;
+
+import static com.expense.PinningDetector.assertNoPinning;
+import static com.expense.TestUsers.as;
+import static io.restassured.RestAssured.given;
+
+import com.expense.Concurrently;
+import com.expense.VirtualThreadsProfile;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Registration and login hash passwords and issue tokens on virtual threads
+ * without pinning their carriers.
+ */
+@QuarkusTest
+@TestProfile(VirtualThreadsProfile.class)
+class AuthResourceVirtualThreadsTest {
+
+    private static final int THREADS = 32;
+
+    @Test
+    void registerLoginAndMeDoNotPin() throws Exception {
+        assertNoPinning(() -> Concurrently.run(THREADS, i -> {
+            String email = "user-" + UUID.randomUUID() + "@example.com";
+            given().contentType(ContentType.JSON)
+                    .body(Map.of("email", email, "password", "password123", "name", "Test User"))
+                    .post("/api/auth/register")
+                    .then().statusCode(201);
+            String token = given().contentType(ContentType.JSON)
+                    .body(Map.of("email", email, "password", "password123"))
+                    .post("/api/auth/login")
+                    .then().statusCode(200)
+                    .extract().path("token");
+            return as(token).get("/api/auth/me").then().statusCode(200).extract().statusCode();
+        }));
+    }
+}
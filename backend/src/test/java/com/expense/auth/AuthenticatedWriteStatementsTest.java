@@ -0,0 +1,83 @@
+package com.expense.auth;
+
+import static com.expense.StatementCounter.assertNoUserLoad;
+import static com.expense.TestUsers.as;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.expense.StatementCounter;
+import com.expense.TestUsers;
+import com.expense.category.CategoryCatalog;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Authenticated writes take the caller's id from the token and associate rows
+ * through references: none of them loads the users row, so each write costs
+ * exactly the statements listed per test.
+ */
+@QuarkusTest
+class AuthenticatedWriteStatementsTest {
+
+    @Inject
+    StatementCounter statements;
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    private String token;
+    private long categoryId;
+
+    @BeforeEach
+    void register() {
+        token = TestUsers.register();
+        categoryId = categoryCatalog.listDefaults().get(0).id();
+    }
+
+    @Test
+    void createExpense() {
+        // change position, expense insert, rollup upsert, budget spent update
+        List<String> sql = statements.during(() -> as(token)
+                .body(Map.of("amount", "19.99", "categoryId", categoryId, "date", "2026-04-10"))
+                .post("/api/expenses")
+                .then().statusCode(201));
+        assertEquals(4, sql.size(), sql::toString);
+        assertNoUserLoad(sql);
+    }
+
+    @Test
+    void setOverallBudget() {
+        // change position, budget upsert
+        List<String> sql = statements.during(() -> as(token)
+                .body(Map.of("month", 4, "year", 2026, "amount", "500.00"))
+                .put("/api/budgets/monthly")
+                .then().statusCode(200));
+        assertEquals(2, sql.size(), sql::toString);
+        assertNoUserLoad(sql);
+    }
+
+    @Test
+    void setCategoryBudget() {
+        // change position, budget upsert, the category's spent total
+        List<String> sql = statements.during(() -> as(token)
+                .body(Map.of("month", 4, "year", 2026, "amount", "120.00", "categoryId", categoryId))
+                .put("/api/budgets/monthly")
+                .then().statusCode(200));
+        assertEquals(3, sql.size(), sql::toString);
+        assertNoUserLoad(sql);
+    }
+
+    @Test
+    void createCategory() {
+        // change position, category insert
+        List<String> sql = statements.during(() -> as(token)
+                .body(Map.of("name", "Hobbies", "icon", "🎨"))
+                .post("/api/categories")
+                .then().statusCode(201));
+        assertEquals(2, sql.size(), sql::toString);
+        assertNoUserLoad(sql);
+    }
+}
@@ -0,0 +1,81 @@
+package com.expense.auth;
+
+import static com.expense.TestUsers.as;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.expense.TestUsers;
+import com.expense.Throughput;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Login throughput, and what a login storm does to other requests: the
+ * latency of a cheap authenticated read alone and while logins saturate the
+ * hasher. Run with {@code ./mvnw test -Pbenchmark -Dtest=LoginThroughputBenchmark}.
+ * Logins refused with 503 by the hasher count as calls.
+ */
+@Tag("benchmark")
+@QuarkusTest
+class LoginThroughputBenchmark {
+
+    private static final int LOGIN_THREADS = 64;
+    private static final int READ_THREADS = 16;
+    private static final int USERS = 64;
+    private static final String PASSWORD = "password123";
+    private static final Duration RUN = Duration.ofSeconds(15);
+
+    @Test
+    void loginsAndReadsDuringALoginStorm() throws Exception {
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            String email = "user-" + UUID.randomUUID() + "@example.com";
+            given().contentType(ContentType.JSON)
+                    .body(Map.of("email", email, "password", PASSWORD, "name", "Test User"))
+                    .post("/api/auth/register")
+                    .then().statusCode(201);
+            emails.add(email);
+        }
+        String token = TestUsers.register();
+
+        Throughput.measure("login", LOGIN_THREADS, RUN, i -> login(emails.get(i % USERS)));
+        Throughput.measure("categories, idle", READ_THREADS, RUN,
+                i -> as(token).get("/api/categories").then().statusCode(200));
+
+        AtomicBoolean storming = new AtomicBoolean(true);
+        ExecutorService storm = Executors.newFixedThreadPool(LOGIN_THREADS);
+        try {
+            for (int t = 0; t < LOGIN_THREADS; t++) {
+                String email = emails.get(t % USERS);
+                storm.submit(() -> {
+                    while (storming.get()) {
+                        login(email);
+                    }
+                });
+            }
+            Throughput.measure("categories, during logins", READ_THREADS, RUN,
+                    i -> as(token).get("/api/categories").then().statusCode(200));
+        } finally {
+            storming.set(false);
+            storm.shutdownNow();
+        }
+    }
+
+    private static void login(String email) {
+        given().contentType(ContentType.JSON)
+                .body(Map.of("email", email, "password", PASSWORD))
+                .post("/api/auth/login")
+                .then().statusCode(anyOf(equalTo(200), equalTo(503)));
+    }
+}
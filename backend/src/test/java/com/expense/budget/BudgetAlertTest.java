@@ -0,0 +1,98 @@
+package com.expense.budget;
+
+import static com.expense.TestUsers.as;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.expense.Concurrently;
+import com.expense.StatementCounter;
+import com.expense.TestUsers;
+import com.expense.category.CategoryCatalog;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Threshold alerts are raised from the budget's running total, once per
+ * upward crossing: a change that nets out within the month raises none, and
+ * of many concurrent writers only the one that crosses raises it.
+ */
+@QuarkusTest
+class BudgetAlertTest {
+
+    @Inject
+    StatementCounter statements;
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    private String token;
+    private long categoryId;
+    private long otherCategoryId;
+
+    @BeforeEach
+    void register() {
+        token = TestUsers.register();
+        categoryId = categoryCatalog.listDefaults().get(0).id();
+        otherCategoryId = categoryCatalog.listDefaults().get(1).id();
+    }
+
+    @Test
+    void changeThatNetsOutWithinTheMonthRaisesNoAlert() {
+        setBudget("100.00", List.of(50, 80, 100));
+        long id = as(token).body(expense("70.00", categoryId, "2026-06-05")).post("/api/expenses")
+                .then().statusCode(201).extract().<Number>path("id").longValue();
+        assertEquals(List.of(50), thresholdsAlerted());
+
+        // Same amount, another day and category of the same month: the month's total does not move
+        as(token).body(expense("70.00", otherCategoryId, "2026-06-25")).put("/api/expenses/" + id).then().statusCode(200);
+        assertEquals(List.of(50), thresholdsAlerted());
+
+        as(token).body(expense("69.00", otherCategoryId, "2026-06-25")).put("/api/expenses/" + id).then().statusCode(200);
+        as(token).body(expense("70.00", otherCategoryId, "2026-06-25")).put("/api/expenses/" + id).then().statusCode(200);
+        // Dipping and recovering below the next threshold crosses nothing either
+        assertEquals(List.of(50), thresholdsAlerted());
+    }
+
+    @Test
+    void concurrentWritesCrossingAThresholdRaiseOneAlert() throws Exception {
+        setBudget("100.00", List.of(80));
+
+        // 20 x 5.00 = 100.00; only the write taking the total from 75 to 80 crosses
+        List<Integer> statuses = Concurrently.run(20, i -> as(token).body(expense("5.00", categoryId, "2026-06-10"))
+                .post("/api/expenses").then().extract().statusCode());
+
+        assertEquals(List.of(201), statuses.stream().distinct().toList(), statuses::toString);
+        assertEquals(List.of(80), thresholdsAlerted());
+    }
+
+    @Test
+    void alertsAddNoAggregateToTheWritePath() {
+        setBudget("10.00", List.of(50, 100));
+
+        List<String> sql = statements.during(() -> as(token).body(expense("12.00", categoryId, "2026-06-12"))
+                .post("/api/expenses").then().statusCode(201));
+
+        assertEquals(List.of(50, 100), thresholdsAlerted());
+        assertTrue(sql.stream().noneMatch(statement -> statement.toLowerCase(Locale.ROOT).contains("sum(")), sql::toString);
+    }
+
+    private void setBudget(String amount, List<Integer> thresholds) {
+        as(token).body(Map.of("month", 6, "year", 2026, "amount", amount, "alertThresholds", thresholds))
+                .put("/api/budgets/monthly").then().statusCode(200);
+    }
+
+    private static Map<String, Object> expense(String amount, long categoryId, String date) {
+        return Map.of("amount", amount, "categoryId", categoryId, "date", date);
+    }
+
+    private List<Integer> thresholdsAlerted() {
+        List<Integer> thresholds = as(token).queryParam("size", 100).get("/api/notifications")
+                .then().statusCode(200).extract().path("content.threshold");
+        return thresholds.stream().sorted().toList();
+    }
+}
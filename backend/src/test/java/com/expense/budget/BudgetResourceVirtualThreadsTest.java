@@ -0,0 +1,47 @@
+package com.expense.budget;
+
+import static com.expense.PinningDetector.assertNoPinning;
+import static com.expense.TestUsers.as;
+
+import com.expense.Concurrently;
+import com.expense.TestUsers;
+import com.expense.VirtualThreadsProfile;
+import com.expense.category.CategoryCatalog;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Budget upserts and reads, including the cached responses, run on virtual
+ * threads without pinning their carriers.
+ */
+@QuarkusTest
+@TestProfile(VirtualThreadsProfile.class)
+class BudgetResourceVirtualThreadsTest {
+
+    private static final int THREADS = 32;
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    @Test
+    void upsertAndReadDoNotPin() throws Exception {
+        String token = TestUsers.register();
+        long categoryId = categoryCatalog.listDefaults().get(0).id();
+
+        assertNoPinning(() -> Concurrently.run(THREADS, i -> {
+            int month = 1 + i % 12;
+            Map<String, Object> body = new HashMap<>(Map.of("month", month, "year", 2026, "amount", (100 + i) + ".00"));
+            if (i % 2 == 1) {
+                body.put("categoryId", categoryId);
+            }
+            as(token).body(body).put("/api/budgets/monthly").then().statusCode(200);
+            as(token).queryParam("month", month).queryParam("year", 2026).get("/api/budgets/monthly").then().statusCode(200);
+            as(token).queryParam("month", month).queryParam("year", 2026).get("/api/budgets").then().statusCode(200);
+            return as(token).queryParam("year", 2026).get("/api/budgets/year").then().statusCode(200).extract().statusCode();
+        }));
+    }
+}
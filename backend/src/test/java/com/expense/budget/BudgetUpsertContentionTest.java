@@ -0,0 +1,51 @@
+package com.expense.budget;
+
+import static com.expense.TestUsers.as;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.expense.Concurrently;
+import com.expense.TestUsers;
+import com.expense.category.CategoryCatalog;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Concurrent writes of one budget all succeed and leave a single row: the
+ * upsert's ON CONFLICT target matches idx_budgets_user_year_month_category
+ * (V8), including the NULL category of the overall budget.
+ */
+@QuarkusTest
+class BudgetUpsertContentionTest {
+
+    private static final int THREADS = 24;
+
+    @Inject
+    BudgetRepository budgetRepository;
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    @Test
+    void concurrentWritesOfOneBudgetLeaveOneRow() throws Exception {
+        String token = TestUsers.register();
+        long userId = TestUsers.id(token);
+        long categoryId = categoryCatalog.listDefaults().get(0).id();
+
+        // Even calls write the overall budget, odd ones the category budget of the same month
+        List<Integer> statuses = Concurrently.run(THREADS, i -> {
+            Map<String, Object> body = new HashMap<>(Map.of("month", 5, "year", 2026, "amount", (100 + i) + ".00"));
+            if (i % 2 == 1) {
+                body.put("categoryId", categoryId);
+            }
+            return as(token).body(body).put("/api/budgets/monthly").then().extract().statusCode();
+        });
+
+        assertEquals(List.of(200), statuses.stream().distinct().toList(), statuses::toString);
+        assertEquals(1, budgetRepository.count("user.id = ?1 and year = ?2 and month = ?3 and category is null", userId, 2026, 5));
+        assertEquals(1, budgetRepository.count("user.id = ?1 and year = ?2 and month = ?3 and category.id = ?4", userId, 2026, 5, categoryId));
+    }
+}
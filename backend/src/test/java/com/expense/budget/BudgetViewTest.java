@@ -0,0 +1,102 @@
+package com.expense.budget;
+
+import static com.expense.TestUsers.as;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.expense.StatementCounter;
+import com.expense.TestUsers;
+import com.expense.category.CategoryCatalog;
+import com.expense.category.CategoryEntry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The month view returns every budget of the month with its spending from
+ * one grouped query; the year view returns all twelve months from two.
+ */
+@QuarkusTest
+class BudgetViewTest {
+
+    @Inject
+    StatementCounter statements;
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    private String token;
+    private CategoryEntry first;
+    private CategoryEntry second;
+
+    @BeforeEach
+    void seed() {
+        token = TestUsers.register();
+        // Named in order, since the view lists category budgets by name
+        List<CategoryEntry> byName = categoryCatalog.listDefaults().stream().sorted(Comparator.comparing(CategoryEntry::name)).toList();
+        first = byName.get(0);
+        second = byName.get(1);
+        CategoryEntry unbudgeted = byName.get(2);
+
+        budget(Map.of("month", 7, "year", 2026, "amount", "500.00"));
+        budget(Map.of("month", 7, "year", 2026, "amount", "100.00", "categoryId", second.id()));
+        budget(Map.of("month", 7, "year", 2026, "amount", "50.00", "categoryId", first.id()));
+        expense("30.00", second, "2026-07-02");
+        expense("20.00", second, "2026-07-30");
+        expense("60.00", first, "2026-07-15");
+        expense("15.00", unbudgeted, "2026-07-20");
+        expense("99.00", second, "2026-08-01");
+    }
+
+    @Test
+    void monthViewIsOneGroupedQuery() {
+        Response[] view = new Response[1];
+        List<String> sql = statements.during(() -> view[0] = as(token).queryParam("month", 7).queryParam("year", 2026)
+                .get("/api/budgets").then().statusCode(200).extract().response());
+        assertEquals(1, sql.size(), sql::toString);
+
+        Response month = view[0];
+        assertMoney(500.00, month.path("overall.amount"));
+        assertMoney(125.00, month.path("overall.spent"));
+        assertMoney(375.00, month.path("overall.remaining"));
+        assertEquals(List.of(first.id().intValue(), second.id().intValue()), month.path("categories.category.id"));
+        assertMoney(60.00, month.path("categories[0].spent"));
+        assertMoney(-10.00, month.path("categories[0].remaining"));
+        assertMoney(50.00, month.path("categories[1].spent"));
+        assertMoney(50.00, month.path("categories[1].remaining"));
+    }
+
+    @Test
+    void yearViewIsTwoQueries() {
+        Response[] view = new Response[1];
+        List<String> sql = statements.during(() -> view[0] = as(token).queryParam("year", 2026)
+                .get("/api/budgets/year").then().statusCode(200).extract().response());
+        assertEquals(2, sql.size(), sql::toString);
+
+        Response year = view[0];
+        assertEquals(12, year.<List<?>>path("").size());
+        assertMoney(125.00, year.path("[6].overall.spent"));
+        assertEquals(2, year.<List<?>>path("[6].categories").size());
+        // August has spending but no budget: only the month's total
+        assertMoney(99.00, year.path("[7].overall.spent"));
+        assertNull(year.path("[7].overall.amount"));
+        assertMoney(0, year.path("[0].overall.spent"));
+    }
+
+    private void budget(Map<String, Object> body) {
+        as(token).body(body).put("/api/budgets/monthly").then().statusCode(200);
+    }
+
+    private void expense(String amount, CategoryEntry category, String date) {
+        as(token).body(Map.of("amount", amount, "categoryId", category.id(), "date", date)).post("/api/expenses").then().statusCode(201);
+    }
+
+    private static void assertMoney(double expected, Number actual) {
+        assertEquals(expected, actual.doubleValue(), 0.001);
+    }
+}
@@ -0,0 +1,58 @@
+package com.expense.category;
+
+import static com.expense.TestUsers.as;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.expense.Concurrently;
+import com.expense.TestUsers;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Concurrent creates of one category name, in different cases, create exactly
+ * one row and answer 409 CONFLICT to every other request: insertCustom's
+ * ON CONFLICT target matches idx_categories_user_lower_name (V9).
+ */
+@QuarkusTest
+class CategoryCreateContentionTest {
+
+    private static final int THREADS = 24;
+    private static final String[] VARIANTS = {"Board Games", "board games", "BOARD GAMES", "Board games", "bOARD gAMES"};
+
+    @Inject
+    CategoryRepository categoryRepository;
+
+    @Test
+    void concurrentCaseVariantsCreateOneCategory() throws Exception {
+        String token = TestUsers.register();
+        long userId = TestUsers.id(token);
+
+        List<Response> responses = Concurrently.run(THREADS, i -> as(token)
+                .body(Map.of("name", VARIANTS[i % VARIANTS.length], "icon", "🎲"))
+                .post("/api/categories")
+                .then().extract().response());
+
+        List<Integer> statuses = responses.stream().map(Response::statusCode).toList();
+        assertEquals(1, statuses.stream().filter(status -> status == 201).count(), statuses::toString);
+        assertEquals(THREADS - 1, statuses.stream().filter(status -> status == 409).count(), statuses::toString);
+        responses.stream().filter(response -> response.statusCode() == 409)
+                .forEach(response -> assertEquals("CONFLICT", response.path("error")));
+        assertEquals(1, categoryRepository.count("user.id = ?1 and lower(name) = ?2", userId, "board games"));
+    }
+
+    @Test
+    void caseVariantOfAnExistingCategoryIsAConflict() {
+        String token = TestUsers.register();
+        as(token).body(Map.of("name", "Pets", "icon", "🐾")).post("/api/categories").then().statusCode(201);
+
+        as(token).body(Map.of("name", "PETS", "icon", "🐾")).post("/api/categories").then().statusCode(409);
+        // Default names are reserved in any case too
+        String defaultName = as(token).get("/api/categories").then().statusCode(200).extract().path("[0].name");
+        as(token).body(Map.of("name", defaultName.toUpperCase(Locale.ROOT), "icon", "🐾")).post("/api/categories").then().statusCode(409);
+    }
+}
@@ -0,0 +1,33 @@
+package com.expense.category;
+
+import static com.expense.PinningDetector.assertNoPinning;
+import static com.expense.TestUsers.as;
+
+import com.expense.Concurrently;
+import com.expense.TestUsers;
+import com.expense.VirtualThreadsProfile;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.Test;
+import java.util.Map;
+
+/**
+ * Category listing and creation, including the catalog's locked cache, run
+ * on virtual threads without pinning their carriers.
+ */
+@QuarkusTest
+@TestProfile(VirtualThreadsProfile.class)
+class CategoryResourceVirtualThreadsTest {
+
+    private static final int THREADS = 32;
+
+    @Test
+    void listAndCreateDoNotPin() throws Exception {
+        String token = TestUsers.register();
+
+        assertNoPinning(() -> Concurrently.run(THREADS, i -> {
+            as(token).body(Map.of("name", "Hobby " + i, "icon", "🎨")).post("/api/categories").then().statusCode(201);
+            return as(token).get("/api/categories").then().statusCode(200).extract().statusCode();
+        }));
+    }
+}
@@ -0,0 +1,83 @@
+package com.expense.common;
+
+import com.expense.Throughput;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * Category breakdown arithmetic (a total and each category's share of it) in
+ * {@link Money} against the {@link BigDecimal} reduction it replaced, as time
+ * and bytes allocated per breakdown. Run with
+ * {@code ./mvnw test -Pbenchmark -Dtest=MoneyBenchmark}.
+ * <p>
+ * A plain timing loop rather than JMH, which the build does not carry; the
+ * warm-up in {@link Throughput} and the sink keep the comparison fair enough
+ * to show the difference, not to quote nanoseconds.
+ */
+@Tag("benchmark")
+class MoneyBenchmark {
+
+    private static final int CATEGORIES = 40;
+    private static final int ALLOCATION_ROUNDS = 100_000;
+    private static final Duration RUN = Duration.ofSeconds(5);
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private static volatile double sink;
+
+    private final long[] cents = new long[CATEGORIES];
+    private final BigDecimal[] amounts = new BigDecimal[CATEGORIES];
+
+    MoneyBenchmark() {
+        Random random = new Random(42);
+        for (int i = 0; i < CATEGORIES; i++) {
+            cents[i] = 100 + random.nextInt(5_000_000);
+            amounts[i] = BigDecimal.valueOf(cents[i], 2);
+        }
+    }
+
+    @Test
+    void breakdownArithmetic() throws Exception {
+        run("BigDecimal breakdown", i -> sink = bigDecimalBreakdown());
+        run("Money breakdown", i -> sink = moneyBreakdown());
+    }
+
+    private double bigDecimalBreakdown() {
+        BigDecimal total = Arrays.stream(amounts).reduce(BigDecimal.ZERO, BigDecimal::add);
+        double shares = 0;
+        for (BigDecimal amount : amounts) {
+            shares += amount.multiply(HUNDRED).divide(total, 1, RoundingMode.HALF_UP).doubleValue();
+        }
+        return shares;
+    }
+
+    private double moneyBreakdown() {
+        Money total = Money.ZERO;
+        for (long amount : cents) {
+            total = total.plus(Money.ofCents(amount));
+        }
+        double shares = 0;
+        for (long amount : cents) {
+            shares += Money.ofCents(amount).percentOf(total);
+        }
+        return shares;
+    }
+
+    private static void run(String label, IntConsumer call) throws Exception {
+        Throughput.measure(label, 1, RUN, call);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ALLOCATION_ROUNDS; i++) {
+            call.accept(i);
+        }
+        long perCall = (threads.getThreadAllocatedBytes(thread) - before) / ALLOCATION_ROUNDS;
+        System.out.println("[benchmark] " + label + ": " + perCall + " bytes allocated per breakdown");
+    }
+}
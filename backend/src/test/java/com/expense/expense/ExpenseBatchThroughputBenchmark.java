@@ -0,0 +1,60 @@
+package com.expense.expense;
+
+import static com.expense.TestUsers.as;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.expense.TestUsers;
+import com.expense.Throughput;
+import com.expense.category.CategoryCatalog;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creating expenses in groups of {@value #GROUP}, one {@code POST /api/expenses}
+ * each against one {@code POST /api/expenses/batch}, so a call is the same
+ * amount of work in both and the call rates compare directly. Run with
+ * {@code ./mvnw test -Pbenchmark -Dtest=ExpenseBatchThroughputBenchmark}.
+ */
+@Tag("benchmark")
+@QuarkusTest
+class ExpenseBatchThroughputBenchmark {
+
+    private static final int GROUP = 50;
+    private static final int THREADS = 16;
+    private static final int USERS = 16;
+    private static final Duration RUN = Duration.ofSeconds(15);
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    @Test
+    void singleCreatesAgainstBatches() throws Exception {
+        long categoryId = categoryCatalog.listDefaults().get(0).id();
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            tokens.add(TestUsers.register());
+        }
+        List<Map<String, Object>> group = new ArrayList<>();
+        for (int i = 0; i < GROUP; i++) {
+            group.add(Map.of("amount", "4.20", "categoryId", categoryId, "date", LocalDate.of(2026, 5, 1).plusDays(i % 28).toString(),
+                    "description", "Card payment " + i));
+        }
+
+        Throughput.measure(GROUP + " single creates", THREADS, RUN, i -> {
+            String token = tokens.get(i % USERS);
+            for (Map<String, Object> item : group) {
+                as(token).body(item).post("/api/expenses").then().statusCode(201);
+            }
+        });
+        Throughput.measure("batch of " + GROUP, THREADS, RUN,
+                i -> as(tokens.get(i % USERS)).body(group).post("/api/expenses/batch")
+                        .then().statusCode(200).body("succeeded", equalTo(GROUP)));
+    }
+}
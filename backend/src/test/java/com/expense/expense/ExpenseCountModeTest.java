@@ -0,0 +1,114 @@
+package com.expense.expense;
+
+import static com.expense.TestUsers.as;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.expense.TestUsers;
+import com.expense.category.CategoryCatalog;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The shape of a list page under each {@code count} mode: exact carries the
+ * total and page count, estimate a total from the monthly rollup that is never
+ * below what the client has seen, and none no total at all, only
+ * {@code hasNext}.
+ */
+@QuarkusTest
+class ExpenseCountModeTest {
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    private String token;
+
+    @BeforeEach
+    void seed() {
+        token = TestUsers.register();
+        long categoryId = categoryCatalog.listDefaults().get(0).id();
+        // 4 in February, 6 in March, 3 of them in the first half
+        List<Map<String, Object>> batch = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            batch.add(Map.of("amount", "2.00", "categoryId", categoryId, "date", "2026-02-1" + i, "description", "Taxi ride"));
+        }
+        for (int i = 0; i < 6; i++) {
+            String date = i < 3 ? "2026-03-0" + (1 + i) : "2026-03-2" + i;
+            batch.add(Map.of("amount", "3.00", "categoryId", categoryId, "date", date, "description", "Bus ticket"));
+        }
+        as(token).body(batch).post("/api/expenses/batch").then().statusCode(200).body("succeeded", equalTo(10));
+    }
+
+    @Test
+    void exactCarriesTheTotalAndPageCount() {
+        Response page = list(Map.of("count", "exact", "size", 4));
+        assertEquals("exact", page.path("countMode"));
+        assertEquals(10, page.<Integer>path("totalElements"));
+        assertEquals(3, page.<Integer>path("totalPages"));
+        assertTrue(page.<Boolean>path("hasNext"));
+    }
+
+    @Test
+    void noneCarriesOnlyWhetherAnotherPageFollows() {
+        Response first = list(Map.of("count", "none", "size", 4));
+        assertEquals("none", first.path("countMode"));
+        assertNull(first.path("totalElements"));
+        assertNull(first.path("totalPages"));
+        assertTrue(first.<Boolean>path("hasNext"));
+        assertEquals(4, first.<List<?>>path("content").size());
+
+        Response last = list(Map.of("count", "none", "size", 4, "page", 2));
+        assertNull(last.path("totalElements"));
+        assertFalse(last.<Boolean>path("hasNext"));
+        assertEquals(2, last.<List<?>>path("content").size());
+    }
+
+    @Test
+    void estimateIsExactForWholeMonthsAndNeverBelowTheRows() {
+        Response whole = list(Map.of("count", "estimate", "size", 4));
+        assertEquals("estimate", whole.path("countMode"));
+        assertEquals(10, whole.<Integer>path("totalElements"));
+
+        // Only 3 rows match, but the rollup counts the whole of March
+        Response partial = list(Map.of("count", "estimate", "size", 2, "startDate", "2026-03-20"));
+        assertEquals(6, partial.<Integer>path("totalElements"));
+        assertEquals(2, partial.<List<?>>path("content").size());
+        assertTrue(partial.<Boolean>path("hasNext"));
+
+        // An offset past the estimate raises it to the rows the client has paged over
+        Response beyond = list(Map.of("count", "estimate", "size", 5, "page", 1, "startDate", "2026-02-01", "endDate", "2026-02-28"));
+        assertFalse(beyond.<Boolean>path("hasNext"));
+        assertEquals(5, beyond.<Integer>path("totalElements"));
+    }
+
+    @Test
+    void searchCountsExactlyWhenAskedToEstimate() {
+        Response page = list(Map.of("count", "estimate", "size", 2, "q", "bus"));
+        assertEquals("exact", page.path("countMode"));
+        assertEquals(6, page.<Integer>path("totalElements"));
+
+        Response none = list(Map.of("count", "none", "size", 2, "q", "bus"));
+        assertNull(none.path("totalElements"));
+        assertTrue(none.<Boolean>path("hasNext"));
+    }
+
+    @Test
+    void unknownModeIsRejected() {
+        as(token).queryParam("count", "approximate").get("/api/expenses")
+                .then().statusCode(400)
+                .body("error", equalTo("VALIDATION_ERROR"));
+    }
+
+    private Response list(Map<String, ?> params) {
+        return as(token).queryParams(params).get("/api/expenses").then().statusCode(200).extract().response();
+    }
+}
@@ -0,0 +1,114 @@
+package com.expense.expense;
+
+import static com.expense.TestUsers.as;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.expense.TestUsers;
+import com.expense.category.CategoryCatalog;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cursor pages seek on (date, id), so walking them visits every expense once
+ * in list order even when many share a date, and expenses added meanwhile
+ * ahead of the cursor do not shift later pages. A cursor the server did not
+ * issue is rejected.
+ */
+@QuarkusTest
+class ExpenseCursorTest {
+
+    private static final int EXPENSES = 25;
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    private String token;
+    private long categoryId;
+
+    @BeforeEach
+    void seed() {
+        token = TestUsers.register();
+        categoryId = categoryCatalog.listDefaults().get(0).id();
+        // Three dates only, so most page boundaries fall between expenses of the same date
+        List<Map<String, Object>> batch = new ArrayList<>();
+        for (int i = 0; i < EXPENSES; i++) {
+            batch.add(Map.of("amount", "1.00", "categoryId", categoryId, "date", "2026-04-0" + (1 + i % 3)));
+        }
+        as(token).body(batch).post("/api/expenses/batch").then().statusCode(200).body("succeeded", equalTo(EXPENSES));
+    }
+
+    @Test
+    void walkingTheCursorVisitsEveryExpenseOnceInOrder() {
+        List<Integer> expected = as(token).queryParam("size", 100).get("/api/expenses")
+                .then().statusCode(200).extract().path("content.id");
+        assertEquals(EXPENSES, expected.size());
+
+        List<Integer> seen = new ArrayList<>();
+        Response page = page(null);
+        seen.addAll(page.path("content.id"));
+        // Newer than everything listed: must not appear on the pages that follow
+        as(token).body(Map.of("amount", "1.00", "categoryId", categoryId, "date", "2026-04-03"))
+                .post("/api/expenses").then().statusCode(201);
+        while (page.<Boolean>path("hasNext")) {
+            page = page(page.path("nextCursor"));
+            seen.addAll(page.path("content.id"));
+        }
+
+        assertEquals(expected, seen);
+        assertNull(page.path("nextCursor"));
+    }
+
+    @Test
+    void lastPageEndsExactlyAtTheEnd() {
+        Response page = page(null);
+        int pages = 1;
+        while (page.<Boolean>path("hasNext")) {
+            page = page(page.path("nextCursor"));
+            pages++;
+            assertFalse(page.<List<?>>path("content").isEmpty(), "hasNext promised a page that came back empty");
+        }
+        assertEquals((EXPENSES + 3) / 4, pages);
+    }
+
+    @Test
+    void cursorTheServerDidNotIssueIsRejected() {
+        String noSeparator = Base64.getUrlEncoder().withoutPadding().encodeToString("2026-04-01".getBytes(StandardCharsets.UTF_8));
+        String badDate = Base64.getUrlEncoder().withoutPadding().encodeToString("2026-13-01:5".getBytes(StandardCharsets.UTF_8));
+        for (String cursor : List.of("not a cursor!", noSeparator, badDate)) {
+            as(token).queryParam("cursor", cursor).get("/api/expenses")
+                    .then().statusCode(400)
+                    .body("error", equalTo("VALIDATION_ERROR"));
+        }
+    }
+
+    @Test
+    void cursorCannotBeCombinedWithSearch() {
+        String cursor = page(null).path("nextCursor");
+        assertTrue(cursor != null && !cursor.isEmpty());
+
+        as(token).queryParam("cursor", cursor).queryParam("q", "lunch").get("/api/expenses")
+                .then().statusCode(400)
+                .body("error", equalTo("VALIDATION_ERROR"));
+    }
+
+    private Response page(String cursor) {
+        RequestSpecification request = as(token).queryParam("size", 4).queryParam("count", "none");
+        if (cursor != null) {
+            request.queryParam("cursor", cursor);
+        }
+        return request.get("/api/expenses").then().statusCode(200).extract().response();
+    }
+}
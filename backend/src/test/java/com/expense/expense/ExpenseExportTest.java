@@ -0,0 +1,106 @@
+package com.expense.expense;
+
+import static com.expense.TestUsers.as;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.expense.TestUsers;
+import com.expense.category.CategoryCatalog;
+import com.expense.category.CategoryEntry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Export content in both formats: one line per expense, newest first, with
+ * the same fields. In CSV, fields are quoted where needed and a description a
+ * spreadsheet would run as a formula gets a leading {@code '}; NDJSON carries
+ * it as written.
+ */
+@QuarkusTest
+class ExpenseExportTest {
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    private String token;
+    private CategoryEntry category;
+    private int formula;
+    private int quoted;
+    private int plain;
+
+    @BeforeEach
+    void seed() {
+        token = TestUsers.register();
+        category = categoryCatalog.listDefaults().get(0);
+        formula = create("12.50", "2026-05-03", "=1+1");
+        quoted = create("7.00", "2026-05-02", "Pens, \"blue\"");
+        plain = create("3.25", "2026-04-30", "Coffee");
+    }
+
+    @Test
+    void csvQuotesFieldsAndGuardsFormulas() {
+        Response export = as(token).queryParam("format", "csv").get("/api/expenses/export")
+                .then().statusCode(200)
+                .contentType(startsWith("text/csv"))
+                .header("Content-Disposition", equalTo("attachment; filename=\"expenses.csv\""))
+                .extract().response();
+
+        List<String> lines = export.asString().lines().toList();
+        assertEquals(4, lines.size(), export::asString);
+        assertEquals("id,date,amount,category_id,category,description,created_at,updated_at", lines.get(0));
+        assertEquals(List.of(formula + ",2026-05-03,12.50," + category.id() + "," + category.name() + ",'=1+1",
+                        quoted + ",2026-05-02,7.00," + category.id() + "," + category.name() + ",\"Pens, \"\"blue\"\"\"",
+                        plain + ",2026-04-30,3.25," + category.id() + "," + category.name() + ",Coffee"),
+                lines.subList(1, 4).stream().map(ExpenseExportTest::withoutTimestamps).toList());
+        // Rows end in CRLF, as RFC 4180 has them
+        assertEquals(4, export.asString().split("\r\n").length);
+    }
+
+    @Test
+    void ndjsonCarriesTheSameRowsUnescaped() {
+        Response export = as(token).queryParam("format", "ndjson").get("/api/expenses/export")
+                .then().statusCode(200)
+                .contentType(startsWith("application/x-ndjson"))
+                .header("Content-Disposition", equalTo("attachment; filename=\"expenses.ndjson\""))
+                .extract().response();
+
+        List<JsonPath> rows = export.asString().lines().map(JsonPath::from).toList();
+        assertEquals(List.of(formula, quoted, plain), rows.stream().map(row -> row.getInt("id")).toList());
+        JsonPath first = rows.get(0);
+        assertEquals("2026-05-03", first.getString("date"));
+        assertEquals(12.50, first.getDouble("amount"), 0.001);
+        assertEquals(category.id().intValue(), first.getInt("categoryId"));
+        assertEquals(category.name(), first.getString("category"));
+        assertEquals("=1+1", first.getString("description"));
+        assertEquals("Pens, \"blue\"", rows.get(1).getString("description"));
+    }
+
+    @Test
+    void filtersApplyToTheExport() {
+        String csv = as(token).queryParam("startDate", "2026-05-01").get("/api/expenses/export")
+                .then().statusCode(200).extract().asString();
+        assertEquals(3, csv.lines().count(), csv);
+
+        as(token).queryParam("format", "xlsx").get("/api/expenses/export")
+                .then().statusCode(400)
+                .body("error", equalTo("VALIDATION_ERROR"));
+    }
+
+    private int create(String amount, String date, String description) {
+        return as(token).body(Map.of("amount", amount, "categoryId", category.id(), "date", date, "description", description))
+                .post("/api/expenses").then().statusCode(201).extract().path("id");
+    }
+
+    /** Drops created_at and updated_at, the last two fields. */
+    private static String withoutTimestamps(String line) {
+        int updated = line.lastIndexOf(',');
+        return line.substring(0, line.lastIndexOf(',', updated - 1));
+    }
+}
@@ -0,0 +1,108 @@
+package com.expense.expense;
+
+import static com.expense.TestUsers.as;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.expense.Concurrently;
+import com.expense.TestUsers;
+import com.expense.category.CategoryCatalog;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single creates through the group-commit queue: callers hear back only once
+ * their batch has committed, the queue refuses work beyond its capacity, and
+ * one bad row in a batch fails only its own caller.
+ */
+@QuarkusTest
+@TestProfile(ExpenseIngestQueueTest.Profile.class)
+class ExpenseIngestQueueTest {
+
+    private static final int CAPACITY = 8;
+
+    /** A long window, so requests started together land in one batch. */
+    public static class Profile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "expenses.ingest.enabled", "true",
+                    "expenses.ingest.capacity", String.valueOf(CAPACITY),
+                    "expenses.ingest.window", "500ms",
+                    "expenses.ingest.max-wait", "30s");
+        }
+    }
+
+    @Inject
+    ExpenseRepository expenseRepository;
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    @Inject
+    MeterRegistry registry;
+
+    private String token;
+    private long userId;
+    private long categoryId;
+
+    @BeforeEach
+    void register() {
+        token = TestUsers.register();
+        userId = TestUsers.id(token);
+        categoryId = categoryCatalog.listDefaults().get(0).id();
+    }
+
+    @Test
+    void callersAreAnsweredAfterTheirBatchCommits() throws Exception {
+        DistributionSummary batches = registry.get("expenses.ingest.batch.size").summary();
+        long batchesBefore = batches.count();
+
+        List<Boolean> visible = Concurrently.run(CAPACITY, i -> {
+            long id = create("10.00").then().statusCode(201).extract().<Number>path("id").longValue();
+            // The 201 is sent after commit, so the row is already visible to another transaction
+            return expenseRepository.findByIdOptional(id).isPresent();
+        });
+
+        assertEquals(List.of(true), visible.stream().distinct().toList());
+        assertEquals(CAPACITY, expenseRepository.count("user.id", userId));
+        assertTrue(batches.count() - batchesBefore < CAPACITY, "Creates were not grouped into batches");
+    }
+
+    @Test
+    void createsBeyondCapacityAreRefused() throws Exception {
+        List<Response> responses = Concurrently.run(CAPACITY * 3, i -> create("5.00").then().extract().response());
+
+        long created = responses.stream().filter(response -> response.statusCode() == 201).count();
+        List<Response> refused = responses.stream().filter(response -> response.statusCode() == 503).toList();
+        assertEquals(responses.size(), created + refused.size(), () -> responses.stream().map(Response::statusCode).toList().toString());
+        assertTrue(created >= CAPACITY, "Only " + created + " creates were accepted");
+        assertTrue(!refused.isEmpty(), "No create was refused");
+        refused.forEach(response -> assertEquals("SERVICE_UNAVAILABLE", response.path("error")));
+        // A refused create was never queued, so nothing was written for it
+        assertEquals(created, expenseRepository.count("user.id", userId));
+    }
+
+    @Test
+    void aFailingRowOnlyFailsItsOwnCaller() throws Exception {
+        // Passes validation but overflows DECIMAL(10,2), failing the batch's commit
+        List<Integer> statuses = Concurrently.run(6, i -> create(i == 0 ? "123456789.00" : "7.00").then().extract().statusCode());
+
+        assertEquals(500, statuses.get(0));
+        assertEquals(List.of(201), statuses.subList(1, statuses.size()).stream().distinct().toList(), statuses::toString);
+        assertEquals(5, expenseRepository.count("user.id", userId));
+    }
+
+    private Response create(String amount) {
+        return as(token).body(Map.of("amount", amount, "categoryId", categoryId, "date", "2026-09-15")).post("/api/expenses");
+    }
+}
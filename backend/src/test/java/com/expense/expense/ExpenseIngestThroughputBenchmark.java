@@ -0,0 +1,73 @@
+package com.expense.expense;
+
+import static com.expense.TestUsers.as;
+
+import com.expense.TestUsers;
+import com.expense.Throughput;
+import com.expense.category.CategoryCatalog;
+import io.quarkus.arc.ClientProxy;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Create throughput of {@code POST /api/expenses} written directly and
+ * through the group-commit queue at several batch windows. Run with
+ * {@code ./mvnw test -Pbenchmark -Dtest=ExpenseIngestThroughputBenchmark}.
+ * <p>
+ * The window is switched between runs on the live bean. The writer reads it
+ * after taking an item off the queue, which the following run's first offer
+ * orders after the switch.
+ */
+@Tag("benchmark")
+@QuarkusTest
+@TestProfile(ExpenseIngestThroughputBenchmark.Profile.class)
+class ExpenseIngestThroughputBenchmark {
+
+    private static final int THREADS = 64;
+    private static final int USERS = 16;
+    private static final Duration RUN = Duration.ofSeconds(10);
+
+    public static class Profile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "expenses.ingest.enabled", "true",
+                    "expenses.ingest.capacity", "100000",
+                    "expenses.ingest.max-wait", "30s");
+        }
+    }
+
+    @Inject
+    ExpenseIngestQueue ingestQueue;
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    @Test
+    void createThroughputByWindow() throws Exception {
+        ExpenseIngestQueue queue = ClientProxy.unwrap(ingestQueue);
+        long categoryId = categoryCatalog.listDefaults().get(0).id();
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            tokens.add(TestUsers.register());
+        }
+        Map<String, Object> body = Map.of("amount", "9.99", "categoryId", categoryId, "date", "2026-09-01");
+
+        queue.enabled = false;
+        Throughput.measure("direct", THREADS, RUN, i -> as(tokens.get(i % USERS)).body(body).post("/api/expenses").then().statusCode(201));
+        queue.enabled = true;
+        for (Duration window : List.of(Duration.ZERO, Duration.ofMillis(2), Duration.ofMillis(10), Duration.ofMillis(50))) {
+            queue.window = window;
+            Throughput.measure("queued, window " + window.toMillis() + "ms", THREADS, RUN,
+                    i -> as(tokens.get(i % USERS)).body(body).post("/api/expenses").then().statusCode(201));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.expense.expense;
+
+import static com.expense.StatementCounter.assertNoUserLoad;
+import static com.expense.TestUsers.as;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.expense.StatementCounter;
+import com.expense.TestUsers;
+import com.expense.category.CategoryCatalog;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The expense list and detail reads cost a fixed number of statements, whatever
+ * the page size, and never load the owning user.
+ */
+@QuarkusTest
+class ExpenseReadStatementsTest {
+
+    private static final int EXPENSES = 45;
+
+    @Inject
+    StatementCounter statements;
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    private String token;
+    private long expenseId;
+
+    @BeforeEach
+    void seed() {
+        token = TestUsers.register();
+        long categoryId = categoryCatalog.listDefaults().get(0).id();
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = 0; i < EXPENSES; i++) {
+            items.add(Map.of("amount", "12.50", "categoryId", categoryId,
+                    "date", LocalDate.of(2026, 3, 1).plusDays(i % 28).toString(), "description", "Expense " + i));
+        }
+        as(token).body(items).post("/api/expenses/batch").then().body("succeeded", equalTo(EXPENSES));
+        expenseId = as(token).body(Map.of("amount", "3.20", "categoryId", categoryId, "date", "2026-03-02"))
+                .post("/api/expenses")
+                .then().statusCode(201)
+                .extract().<Number>path("id").longValue();
+    }
+
+    @Test
+    void listWithExactTotalIsOneStatementForAnyPageSize() {
+        for (int size : new int[] {1, 10, 40}) {
+            List<String> sql = statements.during(() -> as(token).queryParam("size", size).get("/api/expenses")
+                    .then().statusCode(200)
+                    .body("content.size()", equalTo(size))
+                    .body("totalElements", equalTo(EXPENSES + 1)));
+            assertEquals(1, sql.size(), () -> "size " + size + ": " + sql);
+            assertNoUserLoad(sql);
+        }
+    }
+
+    @Test
+    void listWithEstimatedTotalAddsOneRollupRead() {
+        for (int size : new int[] {5, 30}) {
+            List<String> sql = statements.during(() -> as(token).queryParam("size", size).queryParam("count", "estimate")
+                    .get("/api/expenses")
+                    .then().statusCode(200)
+                    .body("content.size()", equalTo(size)));
+            assertEquals(2, sql.size(), () -> "size " + size + ": " + sql);
+            assertNoUserLoad(sql);
+        }
+    }
+
+    @Test
+    void cursorPageWithoutTotalIsOneStatement() {
+        String cursor = as(token).queryParam("size", 10).queryParam("count", "none").get("/api/expenses")
+                .then().statusCode(200)
+                .body("nextCursor", notNullValue())
+                .extract().path("nextCursor");
+
+        List<String> sql = statements.during(() -> as(token).queryParam("size", 20).queryParam("count", "none")
+                .queryParam("cursor", cursor)
+                .get("/api/expenses")
+                .then().statusCode(200)
+                .body("content.size()", equalTo(20)));
+        assertEquals(1, sql.size(), sql::toString);
+        assertNoUserLoad(sql);
+    }
+
+    @Test
+    void detailIsOneStatement() {
+        List<String> sql = statements.during(() -> as(token).get("/api/expenses/" + expenseId)
+                .then().statusCode(200)
+                .body("category.name", notNullValue()));
+        assertEquals(1, sql.size(), sql::toString);
+        assertNoUserLoad(sql);
+    }
+}
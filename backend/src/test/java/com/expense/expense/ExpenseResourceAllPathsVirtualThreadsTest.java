@@ -0,0 +1,14 @@
+package com.expense.expense;
+
+import com.expense.VirtualThreadsAllPathsProfile;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+/**
+ * The expense tests again with single creates going through the group-commit
+ * queue, whose callers park on virtual threads until their batch commits.
+ */
+@QuarkusTest
+@TestProfile(VirtualThreadsAllPathsProfile.class)
+class ExpenseResourceAllPathsVirtualThreadsTest extends ExpenseResourceVirtualThreadsTest {
+}
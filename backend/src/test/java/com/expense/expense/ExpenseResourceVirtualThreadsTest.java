@@ -0,0 +1,69 @@
+package com.expense.expense;
+
+import static com.expense.PinningDetector.assertNoPinning;
+import static com.expense.TestUsers.as;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.expense.Concurrently;
+import com.expense.TestUsers;
+import com.expense.VirtualThreadsProfile;
+import com.expense.category.CategoryCatalog;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expense reads and writes, including batch creates and the export, run on
+ * virtual threads without pinning their carriers.
+ */
+@QuarkusTest
+@TestProfile(VirtualThreadsProfile.class)
+class ExpenseResourceVirtualThreadsTest {
+
+    private static final int THREADS = 32;
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    private String token;
+    private long categoryId;
+
+    @BeforeEach
+    void register() {
+        token = TestUsers.register();
+        categoryId = categoryCatalog.listDefaults().get(0).id();
+    }
+
+    @Test
+    void singleExpenseLifecycleDoesNotPin() throws Exception {
+        assertNoPinning(() -> Concurrently.run(THREADS, i -> {
+            Map<String, Object> body = Map.of("amount", "12.50", "categoryId", categoryId,
+                    "date", LocalDate.of(2026, 6, 1).plusDays(i % 28).toString(), "description", "Expense " + i);
+            long id = as(token).body(body).post("/api/expenses")
+                    .then().statusCode(201)
+                    .extract().<Number>path("id").longValue();
+            as(token).get("/api/expenses/" + id).then().statusCode(200);
+            as(token).body(body).put("/api/expenses/" + id).then().statusCode(200);
+            as(token).queryParam("size", 20).get("/api/expenses").then().statusCode(200);
+            return as(token).delete("/api/expenses/" + id).then().statusCode(204).extract().statusCode();
+        }));
+    }
+
+    @Test
+    void batchCreateAndExportDoNotPin() throws Exception {
+        assertNoPinning(() -> Concurrently.run(THREADS, i -> {
+            List<Map<String, Object>> items = new ArrayList<>();
+            for (int n = 0; n < 10; n++) {
+                items.add(Map.of("amount", "4.00", "categoryId", categoryId, "date", "2026-07-0" + (1 + n % 9)));
+            }
+            as(token).body(items).post("/api/expenses/batch").then().body("succeeded", equalTo(items.size()));
+            return as(token).queryParam("format", "csv").get("/api/expenses/export").then().statusCode(200).extract().statusCode();
+        }));
+    }
+}
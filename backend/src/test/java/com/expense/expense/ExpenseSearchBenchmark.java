@@ -0,0 +1,114 @@
+package com.expense.expense;
+
+import static com.expense.TestUsers.as;
+
+import com.expense.TestUsers;
+import com.expense.Throughput;
+import com.expense.category.CategoryCatalog;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Search latency over a multi-million-row table: {@code q} through the API
+ * for a common word, a prefix, two words and a rare word, against a
+ * {@code ILIKE '%word%'} query on the same user's rows for comparison. Both
+ * count every match, as the default exact mode does; the ILIKE figures skip
+ * HTTP and JSON, which only flatters them. Run
+ * with {@code ./mvnw test -Pbenchmark -Dtest=ExpenseSearchBenchmark}; the
+ * table size is {@code -Dbenchmark.search.rows} (default two million), split
+ * evenly over the users.
+ */
+@Tag("benchmark")
+@QuarkusTest
+class ExpenseSearchBenchmark {
+
+    private static final int USERS = 20;
+    private static final int THREADS = 16;
+    private static final Duration RUN = Duration.ofSeconds(15);
+    private static final String WORDS = "ARRAY['coffee','lunch','taxi','groceries','cinema','pharmacy','bakery','parking'," +
+            "'books','fuel','dinner','gym','flowers','hardware','stationery','toys']";
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    @Test
+    void searchLatency() throws Exception {
+        int rows = Integer.getInteger("benchmark.search.rows", 2_000_000);
+        long categoryId = categoryCatalog.listDefaults().get(0).id();
+        List<String> tokens = new ArrayList<>();
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            String token = TestUsers.register();
+            tokens.add(token);
+            userIds.add(TestUsers.id(token));
+        }
+        seed(userIds, categoryId, rows / USERS);
+
+        search("q=coffee", tokens, "coffee");
+        search("q=cof", tokens, "cof");
+        search("q=coffee shop", tokens, "coffee shop");
+        search("q=zebra (rare)", tokens, "zebra");
+        like("ILIKE %coffee%", userIds, "coffee");
+        like("ILIKE %zebra% (rare)", userIds, "zebra");
+    }
+
+    /** Two words per description, plus one rare word in a thousand. */
+    private void seed(List<Long> userIds, long categoryId, int perUser) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO expenses (id, user_id, category_id, amount, date, description) " +
+                             "SELECT nextval('expenses_seq'), ?, ?, 1 + (n % 50), DATE '2020-01-01' + (n % 2000), " +
+                             "CASE WHEN n % 1000 = 0 THEN 'zebra crossing fine' " +
+                             "WHEN n % 16 = 0 THEN 'coffee shop' " +
+                             "ELSE (" + WORDS + ")[1 + n % 16] || ' ' || (" + WORDS + ")[1 + (n / 16) % 16] END " +
+                             "FROM generate_series(1, ?) n")) {
+            for (long userId : userIds) {
+                insert.setLong(1, userId);
+                insert.setLong(2, categoryId);
+                insert.setInt(3, perUser);
+                insert.executeUpdate();
+            }
+            try (Statement vacuum = connection.createStatement()) {
+                vacuum.execute("VACUUM ANALYZE expenses");
+            }
+        }
+    }
+
+    private void search(String label, List<String> tokens, String q) throws Exception {
+        Throughput.measure(label, THREADS, RUN,
+                i -> as(tokens.get(i % USERS)).queryParam("q", q).queryParam("size", 20).get("/api/expenses")
+                        .then().statusCode(200));
+    }
+
+    private void like(String label, List<Long> userIds, String word) throws Exception {
+        Throughput.measure(label, THREADS, RUN, i -> {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement query = connection.prepareStatement(
+                         "SELECT id, COUNT(*) OVER () FROM expenses WHERE user_id = ? AND description ILIKE ? " +
+                                 "ORDER BY date DESC, id DESC LIMIT 21")) {
+                query.setLong(1, userIds.get(i % USERS));
+                query.setString(2, "%" + word + "%");
+                try (ResultSet result = query.executeQuery()) {
+                    while (result.next()) {
+                        result.getLong(1);
+                    }
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,96 @@
+package com.expense.expense;
+
+import static com.expense.TestUsers.as;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.expense.TestUsers;
+import com.expense.category.CategoryCatalog;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Description search: every word matches as a prefix, results are ranked by
+ * how well they match and then by list order, and input that leaves no word
+ * to search for is rejected.
+ */
+@QuarkusTest
+class ExpenseSearchTest {
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    private String token;
+    private long categoryId;
+    private int coffee;
+    private int coffeeShop;
+    private int coffeeTwice;
+    private int toffee;
+
+    @BeforeEach
+    void seed() {
+        token = TestUsers.register();
+        categoryId = categoryCatalog.listDefaults().get(0).id();
+        coffeeTwice = create("2026-01-01", "Coffee beans and a coffee grinder");
+        coffee = create("2026-01-03", "Coffee");
+        coffeeShop = create("2026-01-02", "Coffee shop lunch");
+        toffee = create("2026-01-04", "Toffee");
+        create("2026-01-05", "Train ticket");
+    }
+
+    @Test
+    void wordsMatchAsPrefixes() {
+        assertEquals(List.of(coffeeTwice, coffee, coffeeShop), search("coff"));
+        assertEquals(List.of(coffeeTwice, coffee, coffeeShop), search("COFFEE"));
+        // Not a substring match: "offee" starts no word
+        assertEquals(List.of(), search("offee"));
+        assertEquals(List.of(toffee), search("tof"));
+    }
+
+    @Test
+    void everyWordMustMatch() {
+        assertEquals(List.of(coffeeShop), search("coff lun"));
+        assertEquals(List.of(coffeeShop), search("sho coffee"));
+        assertEquals(List.of(), search("coffee train"));
+    }
+
+    @Test
+    void moreMatchesRankFirstThenNewestFirst() {
+        // The older expense mentions coffee twice; the other two tie and fall back to date order
+        List<Integer> ranked = search("coffee");
+        assertEquals(coffeeTwice, ranked.get(0));
+        assertEquals(List.of(coffee, coffeeShop), ranked.subList(1, 3));
+    }
+
+    @Test
+    void operatorsInTheInputAreTreatedAsSeparators() {
+        // Not a negation: both words must match
+        assertEquals(List.of(coffeeShop), search("coffee & !lunch"));
+        assertEquals(List.of(coffeeShop), search("coffee:* <-> lunch"));
+
+        as(token).queryParam("q", "&|!():*").get("/api/expenses")
+                .then().statusCode(400)
+                .body("error", equalTo("VALIDATION_ERROR"));
+    }
+
+    @Test
+    void searchIsScopedToTheUser() {
+        String other = TestUsers.register();
+        assertEquals(List.of(), as(other).queryParam("q", "coffee").get("/api/expenses")
+                .then().statusCode(200).extract().path("content.id"));
+    }
+
+    private List<Integer> search(String q) {
+        return as(token).queryParam("q", q).queryParam("size", 20).get("/api/expenses")
+                .then().statusCode(200).extract().path("content.id");
+    }
+
+    private int create(String date, String description) {
+        return as(token).body(Map.of("amount", "4.00", "categoryId", categoryId, "date", date, "description", description))
+                .post("/api/expenses").then().statusCode(201).extract().path("id");
+    }
+}
@@ -0,0 +1,115 @@
+package com.expense.imports;
+
+import static com.expense.TestUsers.as;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.expense.Concurrently;
+import com.expense.TestUsers;
+import com.expense.category.CategoryCatalog;
+import com.expense.category.CategoryEntry;
+import com.expense.report.MonthlyRollupRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A CSV import end to end: valid lines become expenses and rollup totals,
+ * invalid ones become rejects with their line numbers, and a user can have
+ * only one import queued or running at a time.
+ */
+@QuarkusTest
+class ExpenseImportTest {
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    @Inject
+    MonthlyRollupRepository rollupRepository;
+
+    private String token;
+    private long userId;
+    private CategoryEntry category;
+
+    @BeforeEach
+    void register() {
+        token = TestUsers.register();
+        userId = TestUsers.id(token);
+        category = categoryCatalog.listDefaults().get(0);
+    }
+
+    @Test
+    void importsValidLinesAndRejectsInvalidOnes() {
+        String name = category.name();
+        String csv = "date,amount,category,description\n"
+                + "2026-01-05,12.50," + name + ",Lunch\n"
+                + "2026-01-06,abc," + name + ",Bad amount\n"
+                + "2026-13-01,5.00," + name + ",Bad date\n"
+                + "2026-01-20,7.25," + name.toUpperCase(Locale.ROOT) + ",Dinner\n"
+                + "2026-02-01,3.00,No Such Category,Unknown\n"
+                + "2026-02-03,4.00," + name + ",'=SUM(A1)\n";
+
+        long id = ImportJobs.upload(token, csv.getBytes(StandardCharsets.UTF_8))
+                .then().statusCode(202)
+                .body("status", equalTo(ImportStatus.QUEUED.name()))
+                .extract().<Number>path("id").longValue();
+        Map<String, Object> job = ImportJobs.awaitFinished(token, id);
+
+        assertEquals(ImportStatus.COMPLETED.name(), job.get("status"), job::toString);
+        assertEquals(3, ((Number) job.get("importedRows")).intValue(), job::toString);
+        assertEquals(3, ((Number) job.get("rejectedRows")).intValue(), job::toString);
+
+        Response rejects = as(token).get("/api/imports/" + id + "/rejects").then().statusCode(200).extract().response();
+        assertEquals(List.of(3, 4, 6), rejects.path("content.lineNumber"));
+        List<String> reasons = rejects.path("content.reason");
+        assertTrue(reasons.get(0).startsWith("Invalid amount"), reasons::toString);
+        assertTrue(reasons.get(1).startsWith("Invalid date"), reasons::toString);
+        assertTrue(reasons.get(2).startsWith("Unknown category"), reasons::toString);
+
+        Response expenses = as(token).queryParam("size", 10).get("/api/expenses").then().statusCode(200)
+                .body("totalElements", equalTo(3))
+                .extract().response();
+        // Newest first; the formula guard added by the export is dropped again
+        assertEquals(List.of("=SUM(A1)", "Dinner", "Lunch"), expenses.path("content.description"));
+        assertEquals(List.of(category.id().intValue()), expenses.<List<Integer>>path("content.category.id").stream().distinct().toList());
+
+        assertEquals(1975, rollupCents(2026, 1));
+        assertEquals(400, rollupCents(2026, 2));
+    }
+
+    @Test
+    void concurrentUploadsStartOneImport() throws Exception {
+        StringBuilder csv = new StringBuilder("date,amount,category\n");
+        for (int i = 0; i < 50_000; i++) {
+            csv.append("2026-03-").append(String.format("%02d", 1 + i % 28)).append(",1.00,").append(category.name()).append('\n');
+        }
+        byte[] file = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        List<Response> responses = Concurrently.run(4, i -> ImportJobs.upload(token, file));
+
+        List<Response> started = responses.stream().filter(response -> response.statusCode() == 202).toList();
+        assertEquals(1, started.size(), () -> responses.stream().map(Response::statusCode).toList().toString());
+        responses.stream().filter(response -> response.statusCode() != 202).forEach(response -> {
+            assertEquals(409, response.statusCode());
+            assertEquals("CONFLICT", response.path("error"));
+        });
+
+        long id = started.get(0).<Number>path("id").longValue();
+        assertEquals(ImportStatus.COMPLETED.name(), ImportJobs.awaitFinished(token, id).get("status"));
+        assertEquals(50_000 * 100L, rollupCents(2026, 3));
+        // The rule only covers active imports: once finished, the user can import again
+        ImportJobs.upload(token, "date,amount,category\n".getBytes(StandardCharsets.UTF_8)).then().statusCode(202);
+    }
+
+    private long rollupCents(int year, int month) {
+        return QuarkusTransaction.requiringNew().call(() -> rollupRepository.sumCents(userId, year, month));
+    }
+}
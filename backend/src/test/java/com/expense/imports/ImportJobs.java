@@ -0,0 +1,41 @@
+package com.expense.imports;
+
+import static com.expense.TestUsers.as;
+import static io.restassured.RestAssured.given;
+
+import io.restassured.response.Response;
+import java.util.Map;
+
+/**
+ * Uploads CSV files and waits for their import jobs.
+ */
+final class ImportJobs {
+
+    private ImportJobs() {}
+
+    static Response upload(String token, byte[] csv) {
+        return given().auth().oauth2(token)
+                .multiPart("file", "expenses.csv", csv, "text/csv")
+                .post("/api/imports")
+                .then().extract().response();
+    }
+
+    /** Polls the job until it has completed or failed and returns it. */
+    static Map<String, Object> awaitFinished(String token, long id) {
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            Map<String, Object> job = as(token).get("/api/imports/" + id).then().statusCode(200).extract().path("");
+            Object status = job.get("status");
+            if (!ImportStatus.QUEUED.name().equals(status) && !ImportStatus.RUNNING.name().equals(status)) {
+                return job;
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new AssertionError("Import " + id + " did not finish");
+    }
+}
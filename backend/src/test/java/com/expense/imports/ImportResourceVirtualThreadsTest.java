@@ -0,0 +1,50 @@
+package com.expense.imports;
+
+import static com.expense.PinningDetector.assertNoPinning;
+import static com.expense.TestUsers.as;
+
+import com.expense.Concurrently;
+import com.expense.TestUsers;
+import com.expense.VirtualThreadsProfile;
+import com.expense.category.CategoryCatalog;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starting imports and polling their progress run on virtual threads without
+ * pinning their carriers. Each call uses its own user, since a user may have
+ * only one active import.
+ */
+@QuarkusTest
+@TestProfile(VirtualThreadsProfile.class)
+class ImportResourceVirtualThreadsTest {
+
+    private static final int THREADS = 16;
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    @Test
+    void startAndPollDoNotPin() throws Exception {
+        String category = categoryCatalog.listDefaults().get(0).name();
+        byte[] csv = ("date,amount,category,description\n"
+                + "2026-02-01,10.00," + category + ",Imported\n"
+                + "2026-02-02,not-a-number," + category + ",Rejected\n").getBytes(StandardCharsets.UTF_8);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            tokens.add(TestUsers.register());
+        }
+
+        assertNoPinning(() -> Concurrently.run(THREADS, i -> {
+            String token = tokens.get(i);
+            long id = ImportJobs.upload(token, csv).then().statusCode(202).extract().<Number>path("id").longValue();
+            ImportJobs.awaitFinished(token, id);
+            return as(token).get("/api/imports/" + id + "/rejects").then().statusCode(200).extract().statusCode();
+        }));
+    }
+}
@@ -0,0 +1,32 @@
+package com.expense.notification;
+
+import static com.expense.PinningDetector.assertNoPinning;
+import static com.expense.TestUsers.as;
+
+import com.expense.Concurrently;
+import com.expense.TestUsers;
+import com.expense.VirtualThreadsProfile;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Listing notifications and marking them read run on virtual threads without
+ * pinning their carriers.
+ */
+@QuarkusTest
+@TestProfile(VirtualThreadsProfile.class)
+class NotificationResourceVirtualThreadsTest {
+
+    private static final int THREADS = 32;
+
+    @Test
+    void listAndMarkReadDoNotPin() throws Exception {
+        String token = TestUsers.register();
+
+        assertNoPinning(() -> Concurrently.run(THREADS, i -> {
+            as(token).queryParam("unread", i % 2 == 0).get("/api/notifications").then().statusCode(200);
+            return as(token).post("/api/notifications/read").then().statusCode(204).extract().statusCode();
+        }));
+    }
+}
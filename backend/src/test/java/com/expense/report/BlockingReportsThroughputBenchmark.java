@@ -0,0 +1,26 @@
+package com.expense.report;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import java.util.Map;
+
+/**
+ * {@link ReportStackThroughputBenchmark} with reports served by {@code ReportResource} over JDBC.
+ */
+@QuarkusTest
+@TestProfile(BlockingReportsThroughputBenchmark.Profile.class)
+class BlockingReportsThroughputBenchmark extends ReportStackThroughputBenchmark {
+
+    public static class Profile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("expense.reports.stack", "blocking", "quarkus.cache.enabled", "false");
+        }
+    }
+
+    @Override
+    protected String stack() {
+        return "blocking";
+    }
+}
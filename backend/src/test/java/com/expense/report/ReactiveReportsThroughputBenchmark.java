@@ -0,0 +1,28 @@
+package com.expense.report;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import java.util.Map;
+
+/**
+ * {@link ReportStackThroughputBenchmark} with reports served by {@code ReactiveReportResource}
+ * over the Vert.x PG client. The stack is a build-time property, which a test
+ * profile may set since each profile re-augments the application.
+ */
+@QuarkusTest
+@TestProfile(ReactiveReportsThroughputBenchmark.Profile.class)
+class ReactiveReportsThroughputBenchmark extends ReportStackThroughputBenchmark {
+
+    public static class Profile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("expense.reports.stack", "reactive", "quarkus.cache.enabled", "false");
+        }
+    }
+
+    @Override
+    protected String stack() {
+        return "reactive";
+    }
+}
@@ -0,0 +1,186 @@
+package com.expense.report;
+
+import static com.expense.TestUsers.as;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.expense.StatementCounter;
+import com.expense.TestUsers;
+import com.expense.budget.BudgetRepository;
+import com.expense.category.CategoryCatalog;
+import com.expense.expense.ExpenseRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The report and budget queries are answered from their indexes. Each test
+ * records the SQL Hibernate actually issues and runs {@code EXPLAIN (FORMAT
+ * JSON)} on it with the same parameters.
+ * <p>
+ * The Dev Services database is small enough that the planner would pick a
+ * sequential scan of any table whatever its predicates, so sequential scans
+ * are disabled for the EXPLAIN. What is asserted is that the predicates are
+ * index conditions on the expected index, which is what the EXTRACT(MONTH ...)
+ * filters made impossible.
+ */
+@QuarkusTest
+class ReportQueryPlanTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final int YEARS = 3;
+    private static final int PER_DAY = 20;
+
+    @Inject
+    StatementCounter statements;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    ExpenseRepository expenseRepository;
+
+    @Inject
+    BudgetRepository budgetRepository;
+
+    @Inject
+    MonthlyRollupRepository rollupRepository;
+
+    @Inject
+    RollupReconciler rollupReconciler;
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    private long userId;
+
+    @BeforeEach
+    void seed() throws SQLException {
+        String token = TestUsers.register();
+        userId = TestUsers.id(token);
+        long categoryId = categoryCatalog.listDefaults().get(0).id();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO expenses (id, user_id, category_id, amount, date, description) " +
+                             "SELECT nextval('expenses_seq'), ?, ?, 1 + (n % 50), DATE '2024-01-01' + (n / ?), 'Seeded' " +
+                             "FROM generate_series(0, ?) n")) {
+            insert.setLong(1, userId);
+            insert.setLong(2, categoryId);
+            insert.setInt(3, PER_DAY);
+            insert.setInt(4, YEARS * 365 * PER_DAY - 1);
+            insert.executeUpdate();
+            try (Statement vacuum = connection.createStatement()) {
+                // Sets the visibility map, without which no scan can be index-only
+                vacuum.execute("VACUUM ANALYZE expenses");
+            }
+        }
+        rollupReconciler.rebuild(userId);
+        for (int month = 1; month <= 12; month++) {
+            as(token).body(Map.of("month", month, "year", 2025, "amount", "800.00")).put("/api/budgets/monthly").then().statusCode(200);
+            as(token).body(Map.of("month", month, "year", 2025, "amount", "90.00", "categoryId", categoryId))
+                    .put("/api/budgets/monthly").then().statusCode(200);
+        }
+    }
+
+    @Test
+    void rangeReportIsAnIndexOnlyScanOfTheCoveringIndex() throws Exception {
+        LocalDate start = LocalDate.of(2025, 3, 1);
+        LocalDate end = LocalDate.of(2025, 4, 1);
+        String sql = onlyStatement(() -> expenseRepository.sumByCategory(userId, start, end));
+
+        List<JsonNode> scans = scansOf(explain(sql, userId, start, end), "expenses");
+        assertEquals(1, scans.size(), scans::toString);
+        JsonNode scan = scans.get(0);
+        assertEquals("Index Only Scan", scan.path("Node Type").asText(), scan::toString);
+        assertEquals("idx_expenses_user_date_category", scan.path("Index Name").asText(), scan::toString);
+        assertTrue(scan.path("Index Cond").asText().contains("date"), () -> "Date range is not an index condition: " + scan);
+    }
+
+    @Test
+    void budgetsWithSpendingUseTheBudgetAndRollupKeys() throws Exception {
+        String sql = onlyStatement(() -> budgetRepository.findWithSpending(userId, 2025, 5));
+
+        JsonNode plan = explain(sql, userId, 2025, 5);
+        assertIndexCondition(plan, "budgets", "idx_budgets_user_year_month_category", "month");
+        assertIndexCondition(plan, "expense_monthly_rollups", "expense_monthly_rollups_pkey", "month");
+    }
+
+    @Test
+    void monthSpentUsesTheRollupKey() throws Exception {
+        String sql = onlyStatement(() -> rollupRepository.sumCents(userId, 2025, 5));
+
+        assertIndexCondition(explain(sql, userId, 2025, 5), "expense_monthly_rollups", "expense_monthly_rollups_pkey", "month");
+    }
+
+    private String onlyStatement(Runnable query) {
+        List<String> sql = statements.during(() -> QuarkusTransaction.requiringNew().run(query));
+        assertEquals(1, sql.size(), sql::toString);
+        return sql.get(0);
+    }
+
+    private JsonNode explain(String sql, Object... parameters) throws Exception {
+        assertEquals(parameters.length, sql.chars().filter(c -> c == '?').count(), () -> "Parameters do not match " + sql);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement settings = connection.createStatement()) {
+                settings.execute("SET LOCAL enable_seqscan = off");
+            }
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    explain.setObject(i + 1, parameters[i]);
+                }
+                try (ResultSet rs = explain.executeQuery()) {
+                    rs.next();
+                    return JSON.readTree(rs.getString(1)).get(0).get("Plan");
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    private static void assertIndexCondition(JsonNode plan, String table, String index, String column) {
+        List<JsonNode> scans = scansOf(plan, table);
+        assertTrue(!scans.isEmpty(), () -> table + " is not read: " + plan);
+        for (JsonNode scan : scans) {
+            assertTrue(scan.path("Node Type").asText().contains("Index"), () -> table + " is not read by index: " + scan);
+            assertEquals(index, scan.path("Index Name").asText(), scan::toString);
+            assertTrue(scan.path("Index Cond").asText().contains(column), () -> column + " is not an index condition: " + scan);
+        }
+    }
+
+    /** The plan nodes that read {@code table}; a bitmap scan is reported by its index node. */
+    private static List<JsonNode> scansOf(JsonNode plan, String table) {
+        List<JsonNode> found = new ArrayList<>();
+        collect(plan, table, null, found);
+        return found;
+    }
+
+    private static void collect(JsonNode node, String table, JsonNode bitmapHeap, List<JsonNode> found) {
+        String type = node.path("Node Type").asText();
+        if (type.equals("Bitmap Heap Scan") && table.equals(node.path("Relation Name").asText())) {
+            bitmapHeap = node;
+        } else if (type.equals("Bitmap Index Scan") && bitmapHeap != null) {
+            found.add(node);
+        } else if (table.equals(node.path("Relation Name").asText())) {
+            found.add(node);
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collect(child, table, bitmapHeap, found);
+        }
+    }
+}
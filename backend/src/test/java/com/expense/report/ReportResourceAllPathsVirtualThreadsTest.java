@@ -0,0 +1,15 @@
+package com.expense.report;
+
+import com.expense.VirtualThreadsAllPathsProfile;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+/**
+ * The report tests again with fan-out and the verify engine, so each report
+ * also reads the columnar snapshots under their lock, and concurrent writes
+ * update them, while its sub-queries run on virtual threads of their own.
+ */
+@QuarkusTest
+@TestProfile(VirtualThreadsAllPathsProfile.class)
+class ReportResourceAllPathsVirtualThreadsTest extends ReportResourceVirtualThreadsTest {
+}
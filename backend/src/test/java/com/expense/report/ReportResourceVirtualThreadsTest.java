@@ -0,0 +1,58 @@
+package com.expense.report;
+
+import static com.expense.PinningDetector.assertNoPinning;
+import static com.expense.TestUsers.as;
+
+import com.expense.Concurrently;
+import com.expense.TestUsers;
+import com.expense.VirtualThreadsProfile;
+import com.expense.category.CategoryCatalog;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.Map;
+
+/**
+ * Report reads run on virtual threads without pinning their carriers, also
+ * while writes change the figures underneath them.
+ */
+@QuarkusTest
+@TestProfile(VirtualThreadsProfile.class)
+class ReportResourceVirtualThreadsTest {
+
+    private static final int THREADS = 32;
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    private String token;
+    private long categoryId;
+
+    @BeforeEach
+    void seed() {
+        token = TestUsers.register();
+        categoryId = categoryCatalog.listDefaults().get(0).id();
+        as(token).body(Map.of("amount", "25.00", "categoryId", categoryId, "date", "2026-05-10"))
+                .post("/api/expenses")
+                .then().statusCode(201);
+    }
+
+    @Test
+    void reportsDoNotPin() throws Exception {
+        assertNoPinning(() -> Concurrently.run(THREADS, i -> {
+            if (i % 4 == 0) {
+                as(token).body(Map.of("amount", "1.00", "categoryId", categoryId, "date", "2026-05-" + (10 + i % 10)))
+                        .post("/api/expenses")
+                        .then().statusCode(201);
+            }
+            as(token).queryParam("month", 5).queryParam("year", 2026).get("/api/reports/summary").then().statusCode(200);
+            as(token).queryParam("month", 5).queryParam("year", 2026).get("/api/reports/dashboard").then().statusCode(200);
+            as(token).queryParam("month", 5).queryParam("year", 2026).get("/api/reports/by-category").then().statusCode(200);
+            as(token).queryParam("startDate", "2026-01-01").queryParam("endDate", "2026-12-31").get("/api/reports/range")
+                    .then().statusCode(200);
+            return as(token).queryParam("year", 2026).get("/api/reports/monthly-trend").then().statusCode(200).extract().statusCode();
+        }));
+    }
+}
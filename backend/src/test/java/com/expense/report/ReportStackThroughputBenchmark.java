@@ -0,0 +1,66 @@
+package com.expense.report;
+
+import static com.expense.TestUsers.as;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.expense.TestUsers;
+import com.expense.Throughput;
+import com.expense.category.CategoryCatalog;
+import com.expense.category.CategoryEntry;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Report throughput and latency under a burst of concurrent clients.
+ * Subclasses build the report module on the blocking and the reactive stack,
+ * so the two can be compared:
+ * {@code ./mvnw test -Pbenchmark -Dtest='*ReportsThroughputBenchmark'}.
+ * The report cache is disabled in both, since a cached report never reaches
+ * either stack's queries.
+ */
+@Tag("benchmark")
+public abstract class ReportStackThroughputBenchmark {
+
+    private static final int THREADS = 512;
+    private static final int USERS = 64;
+    private static final Duration RUN = Duration.ofSeconds(15);
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    /** Names the stack in the printed results. */
+    protected abstract String stack();
+
+    @Test
+    void reportsUnderBurstLoad() throws Exception {
+        List<Long> categoryIds = categoryCatalog.listDefaults().stream().map(CategoryEntry::id).toList();
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            String token = TestUsers.register();
+            List<Map<String, Object>> items = new ArrayList<>();
+            for (int n = 0; n < 200; n++) {
+                items.add(Map.of("amount", "6.50", "categoryId", categoryIds.get(n % categoryIds.size()),
+                        "date", LocalDate.of(2026, 1, 1).plusDays(n).toString()));
+            }
+            as(token).body(items).post("/api/expenses/batch").then().body("succeeded", equalTo(items.size()));
+            as(token).body(Map.of("month", 3, "year", 2026, "amount", "400.00")).put("/api/budgets/monthly").then().statusCode(200);
+            tokens.add(token);
+        }
+
+        Throughput.measure(stack() + ": summary", THREADS, RUN,
+                i -> as(tokens.get(i % USERS)).queryParam("month", 3).queryParam("year", 2026).get("/api/reports/summary")
+                        .then().statusCode(200));
+        Throughput.measure(stack() + ": dashboard", THREADS, RUN,
+                i -> as(tokens.get(i % USERS)).queryParam("month", 3).queryParam("year", 2026).get("/api/reports/dashboard")
+                        .then().statusCode(200));
+        Throughput.measure(stack() + ": monthly trend", THREADS, RUN,
+                i -> as(tokens.get(i % USERS)).queryParam("year", 2026).get("/api/reports/monthly-trend")
+                        .then().statusCode(200));
+    }
+}
@@ -0,0 +1,80 @@
+package com.expense.report;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.expense.TestUsers;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.junit.jupiter.api.Test;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A user may hold at most {@code reports.stream.max-per-user} report streams;
+ * one more is refused with 429 while the others stay open, and other users
+ * are not affected.
+ */
+@QuarkusTest
+class ReportStreamLimitTest {
+
+    @TestHTTPResource("/api/reports/stream?month=5&year=2026")
+    URI streamUri;
+
+    @ConfigProperty(name = "reports.stream.max-per-user")
+    int maxPerUser;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void streamBeyondTheLimitIsRefused() throws Exception {
+        String token = TestUsers.register();
+        List<Stream<String>> open = new ArrayList<>();
+        try {
+            for (int i = 0; i < maxPerUser; i++) {
+                HttpResponse<Stream<String>> stream = client.send(request(token), HttpResponse.BodyHandlers.ofLines());
+                assertEquals(200, stream.statusCode());
+                open.add(stream.body());
+                assertTrue(readsSummary(stream.body()), "Stream " + i + " ended before sending the summary");
+            }
+
+            HttpResponse<String> refused = client.send(request(token), HttpResponse.BodyHandlers.ofString());
+            assertEquals(429, refused.statusCode(), refused::body);
+            assertTrue(refused.body().contains("TOO_MANY_REQUESTS"), refused::body);
+
+            // The limit is per user
+            HttpResponse<Stream<String>> other = client.send(request(TestUsers.register()), HttpResponse.BodyHandlers.ofLines());
+            open.add(other.body());
+            assertEquals(200, other.statusCode());
+            assertTrue(readsSummary(other.body()));
+        } finally {
+            open.forEach(Stream::close);
+        }
+    }
+
+    private HttpRequest request(String token) {
+        return HttpRequest.newBuilder(streamUri)
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "text/event-stream")
+                .build();
+    }
+
+    /** Reads up to the first summary event, leaving the stream open. */
+    private static boolean readsSummary(Stream<String> lines) {
+        Iterator<String> it = lines.iterator();
+        while (it.hasNext()) {
+            String line = it.next();
+            if (line.startsWith("event:") && line.contains("summary")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
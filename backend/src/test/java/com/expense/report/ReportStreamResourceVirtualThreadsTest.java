@@ -0,0 +1,57 @@
+package com.expense.report;
+
+import static com.expense.PinningDetector.assertNoPinning;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.expense.Concurrently;
+import com.expense.TestUsers;
+import com.expense.VirtualThreadsProfile;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.stream.Stream;
+
+/**
+ * Opening report streams and sending their first figures run on virtual
+ * threads without pinning their carriers.
+ */
+@QuarkusTest
+@TestProfile(VirtualThreadsProfile.class)
+class ReportStreamResourceVirtualThreadsTest {
+
+    private static final int THREADS = 32;
+
+    @TestHTTPResource("/api/reports/stream?month=5&year=2026")
+    URI streamUri;
+
+    @Test
+    void openingStreamsDoesNotPin() throws Exception {
+        String token = TestUsers.register();
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(streamUri)
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "text/event-stream")
+                .build();
+
+        assertNoPinning(() -> Concurrently.run(THREADS, i -> {
+            // Read up to the first summary event, then hang up
+            try (Stream<String> lines = client.send(request, HttpResponse.BodyHandlers.ofLines()).body()) {
+                boolean summary = lines.anyMatch(line -> line.startsWith("event:") && line.contains("summary"));
+                assertTrue(summary, "The stream ended before sending the summary");
+                return summary;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }));
+    }
+}
@@ -0,0 +1,41 @@
+package com.expense.sync;
+
+import static com.expense.PinningDetector.assertNoPinning;
+import static com.expense.TestUsers.as;
+
+import com.expense.Concurrently;
+import com.expense.TestUsers;
+import com.expense.VirtualThreadsProfile;
+import com.expense.category.CategoryCatalog;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import java.util.Map;
+
+/**
+ * Change feeds read alongside writes run on virtual threads without pinning
+ * their carriers.
+ */
+@QuarkusTest
+@TestProfile(VirtualThreadsProfile.class)
+class SyncResourceVirtualThreadsTest {
+
+    private static final int THREADS = 32;
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    @Test
+    void changesDoNotPin() throws Exception {
+        String token = TestUsers.register();
+        long categoryId = categoryCatalog.listDefaults().get(0).id();
+
+        assertNoPinning(() -> Concurrently.run(THREADS, i -> {
+            as(token).body(Map.of("amount", "2.00", "categoryId", categoryId, "date", "2026-08-01"))
+                    .post("/api/expenses")
+                    .then().statusCode(201);
+            return as(token).queryParam("since", 0).get("/api/sync").then().statusCode(200).extract().statusCode();
+        }));
+    }
+}
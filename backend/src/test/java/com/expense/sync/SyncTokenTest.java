@@ -0,0 +1,180 @@
+package com.expense.sync;
+
+import static com.expense.TestUsers.as;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.expense.TestUsers;
+import com.expense.category.CategoryCatalog;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The sync token contract: a client that applies every page in order and
+ * keeps the last token ends up with the server's data, whatever the page
+ * size; deletions reach it only on incremental syncs; and a token it cannot
+ * continue from is answered with a full copy and {@code reset=true}.
+ */
+@QuarkusTest
+class SyncTokenTest {
+
+    private static final int LIMIT = 2;
+
+    @Inject
+    CategoryCatalog categoryCatalog;
+
+    @Inject
+    TombstonePurger tombstonePurger;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    private String token;
+    private long userId;
+    private long categoryId;
+
+    @BeforeEach
+    void register() {
+        token = TestUsers.register();
+        userId = TestUsers.id(token);
+        categoryId = categoryCatalog.listDefaults().get(0).id();
+        // A new user is at position 0, which asks for a full copy; move past it
+        as(token).body(Map.of("name", "Baseline", "icon", "📌")).post("/api/categories").then().statusCode(201);
+    }
+
+    @Test
+    void pagingThroughMixedChangesSkipsNothing() {
+        Response full = sync(0, 1000);
+        assertFalse(full.<Boolean>path("reset"));
+        assertFalse(full.<Boolean>path("hasMore"));
+        assertEquals(categoryCatalog.listDefaults().size() + 1, full.<List<?>>path("categories").size());
+        long since = full.<Number>path("token").longValue();
+
+        // Interleave the kinds so pages have to be cut inside each of them
+        Set<Integer> categories = new HashSet<>();
+        Set<Integer> budgets = new HashSet<>();
+        Map<Integer, String> expenses = new HashMap<>();
+        for (int i = 0; i < 4; i++) {
+            categories.add(as(token).body(Map.of("name", "Sync " + i, "icon", "🔁")).post("/api/categories")
+                    .then().statusCode(201).extract().path("id"));
+            budgets.add(as(token).body(Map.of("month", 1 + i, "year", 2026, "amount", "100.00")).put("/api/budgets/monthly")
+                    .then().statusCode(200).extract().path("id"));
+            for (int n = 0; n < 2; n++) {
+                int id = as(token).body(Map.of("amount", "5.00", "categoryId", categoryId, "date", "2026-01-1" + i))
+                        .post("/api/expenses").then().statusCode(201).extract().path("id");
+                expenses.put(id, "5.00");
+            }
+        }
+        List<Integer> ids = List.copyOf(expenses.keySet());
+        as(token).body(Map.of("amount", "6.50", "categoryId", categoryId, "date", "2026-01-10"))
+                .put("/api/expenses/" + ids.get(0)).then().statusCode(200);
+        expenses.put(ids.get(0), "6.50");
+        for (int deleted : ids.subList(1, 3)) {
+            as(token).delete("/api/expenses/" + deleted).then().statusCode(204);
+            expenses.remove(deleted);
+        }
+
+        Set<Integer> seenCategories = new HashSet<>();
+        Set<Integer> seenBudgets = new HashSet<>();
+        Map<Integer, String> seenExpenses = new HashMap<>();
+        Set<Integer> deletions = new HashSet<>();
+        int pages = 0;
+        boolean hasMore = true;
+        while (hasMore) {
+            Response page = sync(since, LIMIT);
+            assertFalse(page.<Boolean>path("reset"));
+            long next = page.<Number>path("token").longValue();
+            assertTrue(next > since, () -> "Token did not advance: " + page.asString());
+            seenCategories.addAll(page.<List<Integer>>path("categories.id"));
+            seenBudgets.addAll(page.<List<Integer>>path("budgets.id"));
+            List<Integer> pageExpenses = page.path("expenses.id");
+            List<Object> amounts = page.path("expenses.amount");
+            for (int i = 0; i < pageExpenses.size(); i++) {
+                seenExpenses.put(pageExpenses.get(i), String.valueOf(amounts.get(i)));
+            }
+            // Applied after the page's upserts, as a client would
+            List<Integer> pageDeletions = page.path("deletedExpenses");
+            pageDeletions.forEach(seenExpenses::remove);
+            deletions.addAll(pageDeletions);
+            since = next;
+            hasMore = page.path("hasMore");
+            pages++;
+        }
+
+        assertTrue(pages > 1, "Changes fit in one page; the limit did not cut any");
+        assertEquals(categories, seenCategories);
+        assertEquals(budgets, seenBudgets);
+        assertEquals(Set.copyOf(ids.subList(1, 3)), deletions);
+        assertEquals(expenses.keySet(), seenExpenses.keySet());
+        assertTrue(seenExpenses.get(ids.get(0)).contains("6.5"), seenExpenses::toString);
+        // Caught up: nothing more after the last token
+        Response caughtUp = sync(since, LIMIT);
+        assertEquals(since, caughtUp.<Number>path("token").longValue());
+        assertTrue(caughtUp.<List<?>>path("expenses").isEmpty());
+    }
+
+    @Test
+    void fullCopyCarriesNoDeletions() {
+        int id = as(token).body(Map.of("amount", "5.00", "categoryId", categoryId, "date", "2026-02-01"))
+                .post("/api/expenses").then().statusCode(201).extract().path("id");
+        as(token).delete("/api/expenses/" + id).then().statusCode(204);
+
+        Response full = sync(0, 1000);
+        assertTrue(full.<List<?>>path("deletedExpenses").isEmpty());
+        assertTrue(full.<List<?>>path("expenses").isEmpty());
+    }
+
+    @Test
+    void purgedTokenGetsAReset() throws SQLException {
+        long before = sync(0, 1000).<Number>path("token").longValue();
+        int id = as(token).body(Map.of("amount", "5.00", "categoryId", categoryId, "date", "2026-02-01"))
+                .post("/api/expenses").then().statusCode(201).extract().path("id");
+        as(token).delete("/api/expenses/" + id).then().statusCode(204);
+        assertEquals(List.of(id), sync(before, LIMIT).path("deletedExpenses"));
+
+        // Age this user's tombstone past the retention and let the purger raise the floor
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement age = connection.prepareStatement(
+                     "UPDATE sync_tombstones SET deleted_at = deleted_at - INTERVAL '10 years' WHERE user_id = ?")) {
+            age.setLong(1, userId);
+            assertEquals(1, age.executeUpdate());
+        }
+        tombstonePurger.purge();
+
+        Response reset = sync(before, LIMIT);
+        assertTrue(reset.<Boolean>path("reset"));
+        // A full copy: defaults included, deletions left out
+        assertEquals(categoryCatalog.listDefaults().size() + 1, reset.<List<?>>path("categories").size());
+        assertTrue(reset.<List<?>>path("deletedExpenses").isEmpty());
+        // A token from after the purge continues normally
+        long current = reset.<Number>path("token").longValue();
+        assertFalse(sync(current, LIMIT).<Boolean>path("reset"));
+    }
+
+    @Test
+    void tokenAheadOfTheServerGetsAReset() {
+        long current = sync(0, 1000).<Number>path("token").longValue();
+
+        Response reset = sync(current + 1000, LIMIT);
+        assertTrue(reset.<Boolean>path("reset"));
+        assertEquals(current, reset.<Number>path("token").longValue());
+    }
+
+    private Response sync(long since, int limit) {
+        return as(token).queryParam("since", since).queryParam("limit", limit).get("/api/sync")
+                .then().statusCode(200).extract().response();
+    }
+}
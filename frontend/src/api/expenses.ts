@@ -13,6 +13,9 @@ export const expensesApi = {
     endDate?: string;
     page?: number;
     size?: number;
+    cursor?: string;
+    count?: 'exact' | 'estimate' | 'none';
+    q?: string;
   }): Promise<PaginatedResponse<Expense>> {
     return apiClient.get<PaginatedResponse<Expense>>('/expenses', params as Record<string, string | number | undefined>);
   },
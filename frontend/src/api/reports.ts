@@ -1,7 +1,11 @@
 import { apiClient } from './client';
-import type { MonthlySummary, CategoryBreakdown, MonthlyTrend } from '../types';
+import type { MonthlySummary, CategoryBreakdown, MonthlyTrend, Dashboard } from '../types';
 
 export const reportsApi = {
+  dashboard(params?: { month?: number; year?: number }): Promise<Dashboard> {
+    return apiClient.get<Dashboard>('/reports/dashboard', params as Record<string, number>);
+  },
+
   summary(params?: { month?: number; year?: number }): Promise<MonthlySummary> {
     return apiClient.get<MonthlySummary>('/reports/summary', params as Record<string, number>);
   },
@@ -32,52 +32,24 @@ export function DashboardPage() {
   const [trendData, setTrendData] = useState<MonthlyTrend[]>([]);
   const [recentExpenses, setRecentExpenses] = useState<Expense[]>([]);
 
-  const [loadingSummary, setLoadingSummary] = useState(true);
-  const [loadingCategory, setLoadingCategory] = useState(true);
-  const [loadingTrend, setLoadingTrend] = useState(true);
+  const [loadingReport, setLoadingReport] = useState(true);
   const [loadingRecent, setLoadingRecent] = useState(true);
 
-  const [errorSummary, setErrorSummary] = useState(false);
-  const [errorCategory, setErrorCategory] = useState(false);
-  const [errorTrend, setErrorTrend] = useState(false);
+  const [errorReport, setErrorReport] = useState(false);
   const [errorRecent, setErrorRecent] = useState(false);
 
-  const fetchSummary = async () => {
-    setLoadingSummary(true);
-    setErrorSummary(false);
+  const fetchReport = async () => {
+    setLoadingReport(true);
+    setErrorReport(false);
     try {
-      const data = await reportsApi.summary({ month, year });
-      setSummary(data);
+      const data = await reportsApi.dashboard({ month, year });
+      setSummary(data.summary);
+      setCategoryData(data.byCategory);
+      setTrendData(data.monthlyTrend);
     } catch {
-      setErrorSummary(true);
+      setErrorReport(true);
     } finally {
-      setLoadingSummary(false);
-    }
-  };
-
-  const fetchCategory = async () => {
-    setLoadingCategory(true);
-    setErrorCategory(false);
-    try {
-      const data = await reportsApi.byCategory({ month, year });
-      setCategoryData(data);
-    } catch {
-      setErrorCategory(true);
-    } finally {
-      setLoadingCategory(false);
-    }
-  };
-
-  const fetchTrend = async () => {
-    setLoadingTrend(true);
-    setErrorTrend(false);
-    try {
-      const data = await reportsApi.monthlyTrend({ year });
-      setTrendData(data);
-    } catch {
-      setErrorTrend(true);
-    } finally {
-      setLoadingTrend(false);
+      setLoadingReport(false);
     }
   };
 
@@ -95,9 +67,7 @@ export function DashboardPage() {
   };
 
   useEffect(() => {
-    fetchSummary();
-    fetchCategory();
-    fetchTrend();
+    fetchReport();
     fetchRecent();
   }, [month, year]);
 
@@ -131,17 +101,17 @@ export function DashboardPage() {
 
       {/* Summary cards */}
       <div style={{ display: 'grid', gridTemplateColumns: 'repeat(auto-fit, minmax(200px, 1fr))', gap: 16, marginBottom: 24 }}>
-        {loadingSummary ? (
+        {loadingReport ? (
           <>
             <CardSkeleton />
             <CardSkeleton />
             <CardSkeleton />
             <CardSkeleton />
           </>
-        ) : errorSummary ? (
+        ) : errorReport ? (
           <div style={{ ...cardStyle, gridColumn: '1 / -1' }}>
             <p style={{ color: 'var(--color-danger)' }}>Failed to load summary.</p>
-            <Button variant="secondary" onClick={fetchSummary} style={{ marginTop: 8 }}>Retry</Button>
+            <Button variant="secondary" onClick={fetchReport} style={{ marginTop: 8 }}>Retry</Button>
           </div>
         ) : summary ? (
           <>
@@ -186,14 +156,14 @@ export function DashboardPage() {
         {/* Category Breakdown */}
         <div style={cardStyle}>
           <h3 style={{ marginBottom: 16 }}>Category Breakdown</h3>
-          {loadingCategory ? (
+          {loadingReport ? (
             <div style={{ height: 250, display: 'flex', alignItems: 'center', justifyContent: 'center' }}>
               <p style={{ color: 'var(--color-text-secondary)' }}>Loading...</p>
             </div>
-          ) : errorCategory ? (
+          ) : errorReport ? (
             <div>
               <p style={{ color: 'var(--color-danger)' }}>Failed to load.</p>
-              <Button variant="secondary" onClick={fetchCategory} style={{ marginTop: 8 }}>Retry</Button>
+              <Button variant="secondary" onClick={fetchReport} style={{ marginTop: 8 }}>Retry</Button>
             </div>
           ) : categoryData.length === 0 ? (
             <div style={{ height: 200, display: 'flex', alignItems: 'center', justifyContent: 'center' }}>
@@ -231,14 +201,14 @@ export function DashboardPage() {
         {/* Monthly Trend */}
         <div style={cardStyle}>
           <h3 style={{ marginBottom: 16 }}>Monthly Trend</h3>
-          {loadingTrend ? (
+          {loadingReport ? (
             <div style={{ height: 250, display: 'flex', alignItems: 'center', justifyContent: 'center' }}>
               <p style={{ color: 'var(--color-text-secondary)' }}>Loading...</p>
             </div>
-          ) : errorTrend ? (
+          ) : errorReport ? (
             <div>
               <p style={{ color: 'var(--color-danger)' }}>Failed to load.</p>
-              <Button variant="secondary" onClick={fetchTrend} style={{ marginTop: 8 }}>Retry</Button>
+              <Button variant="secondary" onClick={fetchReport} style={{ marginTop: 8 }}>Retry</Button>
             </div>
           ) : (
             <ResponsiveContainer width="100%" height={280}>
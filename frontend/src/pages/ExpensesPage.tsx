@@ -23,17 +23,19 @@ export function ExpensesPage() {
   const [filterCategory, setFilterCategory] = useState('');
   const [filterStartDate, setFilterStartDate] = useState('');
   const [filterEndDate, setFilterEndDate] = useState('');
+  const [filterQuery, setFilterQuery] = useState('');
   const [appliedFilters, setAppliedFilters] = useState<{
     category?: number;
     startDate?: string;
     endDate?: string;
+    q?: string;
   }>({});
 
   // Delete
   const [deleteTarget, setDeleteTarget] = useState<Expense | null>(null);
   const [deleting, setDeleting] = useState(false);
 
-  const hasActiveFilters = appliedFilters.category || appliedFilters.startDate || appliedFilters.endDate;
+  const hasActiveFilters = appliedFilters.category || appliedFilters.startDate || appliedFilters.endDate || appliedFilters.q;
 
   const fetchExpenses = async () => {
     setLoading(true);
@@ -66,6 +68,7 @@ export function ExpensesPage() {
       category: filterCategory ? Number(filterCategory) : undefined,
       startDate: filterStartDate || undefined,
       endDate: filterEndDate || undefined,
+      q: filterQuery.trim() || undefined,
     });
   };
 
@@ -73,6 +76,7 @@ export function ExpensesPage() {
     setFilterCategory('');
     setFilterStartDate('');
     setFilterEndDate('');
+    setFilterQuery('');
     setPage(0);
     setAppliedFilters({});
   };
@@ -93,13 +97,15 @@ export function ExpensesPage() {
   };
 
   const renderPagination = () => {
-    if (!expenses || expenses.totalPages <= 1) return null;
+    if (!expenses || expenses.totalPages === undefined || expenses.totalElements === undefined) return null;
+    const { totalPages, totalElements } = expenses;
+    if (totalPages <= 1) return null;
     const start = page * pageSize + 1;
-    const end = Math.min((page + 1) * pageSize, expenses.totalElements);
+    const end = Math.min((page + 1) * pageSize, totalElements);
     return (
       <div style={{ display: 'flex', justifyContent: 'space-between', alignItems: 'center', marginTop: 16, flexWrap: 'wrap', gap: 8 }}>
         <span style={{ color: 'var(--color-text-secondary)', fontSize: 13 }}>
-          Showing {start}-{end} of {expenses.totalElements}
+          Showing {start}-{end} of {totalElements}
         </span>
         <div style={{ display: 'flex', gap: 4 }}>
           <button
@@ -116,7 +122,7 @@ export function ExpensesPage() {
           >
             Previous
           </button>
-          {Array.from({ length: expenses.totalPages }, (_, i) => (
+          {Array.from({ length: totalPages }, (_, i) => (
             <button
               key={i}
               onClick={() => setPage(i)}
@@ -133,15 +139,15 @@ export function ExpensesPage() {
             </button>
           ))}
           <button
-            disabled={page >= expenses.totalPages - 1}
+            disabled={page >= totalPages - 1}
             onClick={() => setPage(page + 1)}
             style={{
               padding: '6px 12px',
               border: '1px solid var(--color-border)',
               borderRadius: 'var(--radius-btn)',
               background: 'var(--color-surface)',
-              cursor: page >= expenses.totalPages - 1 ? 'not-allowed' : 'pointer',
-              opacity: page >= expenses.totalPages - 1 ? 0.5 : 1,
+              cursor: page >= totalPages - 1 ? 'not-allowed' : 'pointer',
+              opacity: page >= totalPages - 1 ? 0.5 : 1,
             }}
           >
             Next
@@ -173,6 +179,22 @@ export function ExpensesPage() {
           marginBottom: 16,
         }}
       >
+        <div>
+          <label style={{ display: 'block', fontSize: 12, color: 'var(--color-text-secondary)', marginBottom: 4 }}>Search</label>
+          <input
+            type="search"
+            value={filterQuery}
+            placeholder="Description"
+            onChange={(e) => setFilterQuery(e.target.value)}
+            onKeyDown={(e) => e.key === 'Enter' && applyFilters()}
+            style={{
+              height: 36,
+              padding: '0 8px',
+              border: '1px solid var(--color-border)',
+              borderRadius: 'var(--radius-input)',
+            }}
+          />
+        </div>
         <div>
           <label style={{ display: 'block', fontSize: 12, color: 'var(--color-text-secondary)', marginBottom: 4 }}>Category</label>
           <select
@@ -248,7 +270,7 @@ export function ExpensesPage() {
           <p style={{ color: 'var(--color-danger)', marginBottom: 12 }}>Could not load expenses. Please try again.</p>
           <Button variant="secondary" onClick={fetchExpenses}>Retry</Button>
         </div>
-      ) : !expenses || expenses.totalElements === 0 ? (
+      ) : !expenses || expenses.content.length === 0 ? (
         <div style={{ padding: 60, textAlign: 'center' }}>
           {hasActiveFilters ? (
             <>
@@ -60,8 +60,13 @@ export interface PaginatedResponse<T> {
   content: T[];
   page: number;
   size: number;
-  totalElements: number;
-  totalPages: number;
+  // Omitted when countMode is 'none'
+  totalElements?: number;
+  totalPages?: number;
+  countMode: 'exact' | 'estimate' | 'none';
+  hasNext: boolean;
+  // Omitted on the last page
+  nextCursor?: string;
 }
 
 export interface Budget {
@@ -103,6 +108,13 @@ export interface MonthlyTrend {
   transactionCount: number;
 }
 
+export interface Dashboard {
+  summary: MonthlySummary;
+  byCategory: CategoryBreakdown[];
+  monthlyTrend: MonthlyTrend[];
+  budget: Budget;
+}
+
 export interface ApiError {
   error: string;
   message: string;